@@ -0,0 +1,4 @@
+-- Шаг последовательности совпадает с allocationSize в BillingEntity (оптимизатор pooled-lo):
+-- Hibernate получает значение последовательности и сам выдаёт следующие 49 ключей без обращения к базе.
+-- Значение по умолчанию (nextval) у колонки сохраняется для вставок в обход Hibernate.
+ALTER SEQUENCE IF EXISTS billing_billing_id_seq INCREMENT BY 50;
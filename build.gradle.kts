@@ -187,10 +187,13 @@ project(":core") {
         implementation("org.springframework.cloud:spring-cloud-starter-stream-kafka")
         implementation("org.springframework.kafka:spring-kafka")
 
+        // Caffeine Cache
+        implementation("com.github.ben-manes.caffeine:caffeine:${Version.CAFFEINE}")
+
         // База данных
         implementation("org.flywaydb:flyway-core")
         implementation("org.flywaydb:flyway-database-postgresql")
-        runtimeOnly("org.postgresql:postgresql:${Version.POSTGRESQL}")
+        implementation("org.postgresql:postgresql:${Version.POSTGRESQL}")
     }
 }
 
@@ -0,0 +1,30 @@
+package ru.hofftech.core.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Конфигурация пула потоков для отправки событий outbox в сервис биллинга.
+ */
+@Configuration
+public class BillingOutboxConfig {
+
+    /**
+     * Создаёт пул потоков для параллельных обработчиков outbox.
+     * <p>
+     * Каждый обработчик захватывает свои пачки событий, поэтому размер пула
+     * определяет, сколько пачек отправляется одновременно.
+     *
+     * @param billingOutboxProperties свойства отправки событий
+     * @return пул потоков обработчиков outbox
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService billingOutboxRelayExecutor(BillingOutboxProperties billingOutboxProperties) {
+        return Executors.newFixedThreadPool(
+                Math.max(1, billingOutboxProperties.getRelayWorkers()),
+                Thread.ofPlatform().name("billing-outbox-relay-", 0).daemon(true).factory());
+    }
+}
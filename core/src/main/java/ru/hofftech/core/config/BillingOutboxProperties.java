@@ -33,4 +33,53 @@ public class BillingOutboxProperties {
      * CRON выражение для периодического запуска задания.
      */
     private String interval;
+
+    /**
+     * Количество событий, захватываемых обработчиком за одну транзакцию.
+     */
+    private int chunkSize = 100;
+
+    /**
+     * Количество параллельных обработчиков в одном экземпляре сервиса.
+     */
+    private int relayWorkers = 4;
+
+    /**
+     * Время ожидания подтверждений брокера для пачки событий в миллисекундах.
+     * События без подтверждения остаются неотправленными.
+     */
+    private long ackTimeoutMs = 10000;
+
+    /**
+     * Признак немедленной отправки событий после фиксации транзакции.
+     * Планировщик в любом случае отправляет пропущенные события.
+     */
+    private boolean immediateRelayEnabled = true;
+
+    /**
+     * Ёмкость очереди немедленной отправки; при переполнении события отправляет планировщик.
+     */
+    private int relayQueueCapacity = 10000;
+
+    /**
+     * Признак запуска отправки по оповещениям PostgreSQL о новых событиях.
+     */
+    private boolean notifyListenerEnabled = true;
+
+    /**
+     * Время ожидания оповещений за один опрос соединения в миллисекундах.
+     */
+    private long notifyPollTimeoutMs = 1000;
+
+    /**
+     * Пауза перед повторным подключением слушателя оповещений в миллисекундах.
+     */
+    private long notifyReconnectDelayMs = 5000;
+
+    /**
+     * Глубина выборки неотправленных событий в днях при немедленной отправке и отправке по оповещениям:
+     * запрос затрагивает только свежие секции таблицы. Планировщик отправляет события без ограничения.
+     * 0 - без ограничения.
+     */
+    private int relayLookbackDays = 7;
 }
@@ -0,0 +1,46 @@
+package ru.hofftech.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Свойства конфигурации для задания обслуживания секций outbox таблицы биллинга.
+ * <p>
+ * Содержит настройки периодичности запуска, блокировки, срока хранения
+ * отправленных событий и количества заранее создаваемых секций.
+ */
+@Configuration
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "scheduler.billing-outbox-retention")
+public class BillingOutboxRetentionProperties {
+
+    /**
+     * Название задания в планировщике.
+     * Используется для идентификации в ShedLock.
+     */
+    private String nameScheduler;
+
+    /**
+     * Интервал блокировки задания в минутах.
+     */
+    private int lockIntervalMinutes;
+
+    /**
+     * CRON выражение для периодического запуска задания.
+     */
+    private String interval;
+
+    /**
+     * Срок хранения секций в днях. Секция удаляется, если её день закончился
+     * раньше этого срока и все события в ней отправлены.
+     */
+    private int retentionDays = 30;
+
+    /**
+     * Количество дней вперёд, на которые секции создаются заранее.
+     */
+    private int precreateDays = 7;
+}
@@ -0,0 +1,31 @@
+package ru.hofftech.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Свойства конфигурации стратегии оптимизации погрузки локальным поиском.
+ * <p>
+ * Задают бюджет времени по умолчанию для инсталляции и верхнюю границу
+ * бюджета, который можно запросить в отдельном запросе.
+ */
+@Configuration
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "load.optimizer")
+public class LoadOptimizerProperties {
+
+    /**
+     * Бюджет времени на оптимизацию по умолчанию в миллисекундах.
+     * Используется, если бюджет не указан в запросе.
+     */
+    private long defaultTimeBudgetMs = 500;
+
+    /**
+     * Максимальный бюджет времени на оптимизацию в миллисекундах.
+     * Бюджет из запроса ограничивается этим значением.
+     */
+    private long maxTimeBudgetMs = 5000;
+}
@@ -0,0 +1,34 @@
+package ru.hofftech.core.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Конфигурация пула потоков для параллельного запуска стратегий погрузки.
+ */
+@Configuration
+public class LoadPortfolioConfig {
+
+    /**
+     * Создаёт пул потоков фиксированного размера для стратегий портфеля.
+     * <p>
+     * Размер пула ограничен, чтобы расчёты погрузки не занимали больше заданного числа ядер,
+     * но не меньше количества стратегий одного запроса: иначе стратегии запроса ждали бы
+     * друг друга в очереди и не успевали к сроку. При остановке приложения выполняющиеся
+     * стратегии прерываются.
+     *
+     * @param loadPortfolioProperties свойства портфеля стратегий
+     * @return пул потоков для стратегий
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService loadPortfolioExecutor(LoadPortfolioProperties loadPortfolioProperties) {
+        return Executors.newFixedThreadPool(
+                Math.max(
+                        Math.max(1, loadPortfolioProperties.getParallelism()),
+                        loadPortfolioProperties.strategiesPerRequest()),
+                Thread.ofPlatform().name("load-portfolio-", 0).daemon(true).factory());
+    }
+}
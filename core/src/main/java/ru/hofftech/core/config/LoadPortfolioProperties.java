@@ -0,0 +1,55 @@
+package ru.hofftech.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import ru.hofftech.shared.model.enums.LoadStrategyType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Свойства конфигурации портфеля стратегий погрузки.
+ * <p>
+ * Задают размер пула потоков, в котором стратегии выполняются параллельно,
+ * общий срок ожидания результатов и набор участвующих стратегий.
+ */
+@Configuration
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "load.portfolio")
+public class LoadPortfolioProperties {
+
+    /**
+     * Количество потоков пула для параллельного запуска стратегий.
+     * Пул не бывает меньше количества стратегий одного запроса.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Срок ожидания результатов стратегий в миллисекундах.
+     * Стратегии, не успевшие завершиться, отменяются.
+     */
+    private long timeoutMs = 3000;
+
+    /**
+     * Запас времени в миллисекундах, на который стратегии завершаются раньше срока портфеля,
+     * чтобы результат успел попасть в выбор лучшего.
+     */
+    private long budgetMarginMs = 100;
+
+    /**
+     * Стратегии, участвующие в портфеле. Пустой список - все зарегистрированные стратегии.
+     */
+    private List<LoadStrategyType> strategies = new ArrayList<>();
+
+    /**
+     * Возвращает наибольшее количество стратегий, запускаемых в одном запросе.
+     *
+     * @return количество стратегий из настроек или всех типов, кроме самого портфеля
+     */
+    public int strategiesPerRequest() {
+        return strategies.isEmpty() ? LoadStrategyType.values().length - 1 : strategies.size();
+    }
+}
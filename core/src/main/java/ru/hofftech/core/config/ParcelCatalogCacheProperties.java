@@ -0,0 +1,35 @@
+package ru.hofftech.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Свойства конфигурации кэша каталога посылок.
+ * <p>
+ * Задают размер кэша и время жизни записей для найденных
+ * и для отсутствующих в каталоге названий.
+ */
+@Configuration
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "parcel.catalog-cache")
+public class ParcelCatalogCacheProperties {
+
+    /**
+     * Максимальное количество названий в кэше.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Время жизни записи о найденной посылке в минутах.
+     */
+    private long expireAfterWriteMinutes = 60;
+
+    /**
+     * Время жизни записи об отсутствующей посылке в секундах.
+     * Короткое, чтобы посылка, созданная на другом экземпляре сервиса, быстро стала доступна.
+     */
+    private long negativeExpireAfterWriteSeconds = 30;
+}
@@ -0,0 +1,21 @@
+package ru.hofftech.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Свойства конфигурации массового импорта посылок.
+ */
+@Configuration
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "parcel.import")
+public class ParcelImportProperties {
+
+    /**
+     * Количество записей в одном запросе вставки.
+     */
+    private int batchSize = 500;
+}
@@ -3,13 +3,17 @@ package ru.hofftech.core.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.messaging.MessageChannel;
+import ru.hofftech.core.service.KafkaSendTracker;
 
 import java.util.Map;
 
 /**
  * Конфигурация Kafka producers для отправки сообщений.
  * <p>
- * Предоставляет маппинг между типами событий и именами топиков Kafka.
+ * Предоставляет маппинг между типами событий и именами топиков Kafka
+ * и канал подтверждений асинхронных отправок.
  */
 @Configuration
 public class ProducerConfig {
@@ -25,4 +29,18 @@ public class ProducerConfig {
     public Map<String, String> topics() {
         return Map.of("billingOutbox-out-0", billingOutboxTopic);
     }
+
+    /**
+     * Создаёт канал, в который биндер публикует подтверждённые брокером сообщения
+     * (свойство {@code record-metadata-channel} привязки producer).
+     *
+     * @param kafkaSendTracker реестр ожидающих подтверждения отправок
+     * @return канал подтверждений отправки
+     */
+    @Bean
+    public MessageChannel billingOutboxRecordMetadata(KafkaSendTracker kafkaSendTracker) {
+        DirectChannel channel = new DirectChannel();
+        channel.subscribe(kafkaSendTracker::onRecordMetadata);
+        return channel;
+    }
 }
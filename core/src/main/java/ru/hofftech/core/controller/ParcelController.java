@@ -4,9 +4,12 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,14 +20,23 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.hofftech.core.service.ParcelExportService;
+import ru.hofftech.core.service.ParcelImportService;
 import ru.hofftech.core.service.ParcelService;
 import ru.hofftech.core.util.ResponseWrapperUtil;
 import ru.hofftech.shared.model.common.Response;
+import ru.hofftech.shared.model.dto.CacheStatsDto;
+import ru.hofftech.shared.model.dto.CursorPageDto;
 import ru.hofftech.shared.model.dto.PageDto;
 import ru.hofftech.shared.model.dto.ParcelDto;
 import ru.hofftech.shared.model.dto.ParcelFormRequestDto;
+import ru.hofftech.shared.model.dto.ParcelImportRequestDto;
+import ru.hofftech.shared.model.dto.ParcelImportResponseDto;
 import ru.hofftech.shared.model.dto.ParcelNameRequestDto;
+import ru.hofftech.shared.model.enums.ParcelImportConflictPolicy;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -40,6 +52,8 @@ import java.util.List;
 @NullMarked
 public class ParcelController {
     private final ParcelService parcelService;
+    private final ParcelExportService parcelExportService;
+    private final ParcelImportService parcelImportService;
 
     /**
      * Создаёт новую посылку.
@@ -68,6 +82,39 @@ public class ParcelController {
         return ResponseWrapperUtil.ok(parcelService.update(parcelFormDto));
     }
 
+    /**
+     * Массово импортирует посылки.
+     *
+     * @param parcelImportRequestDto DTO со списком посылок и политикой для существующих посылок
+     * @return ответ с результатами по каждой записи
+     */
+    @PutMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Метод массового импорта посылок")
+    public ResponseEntity<Response<ParcelImportResponseDto>> importParcels(
+            @Valid @RequestBody ParcelImportRequestDto parcelImportRequestDto) {
+
+        return ResponseWrapperUtil.ok(parcelImportService.importParcels(
+                parcelImportRequestDto.parcels(), parcelImportRequestDto.conflictPolicy()));
+    }
+
+    /**
+     * Массово импортирует посылки из потока NDJSON (одна посылка на строку).
+     *
+     * @param inputStream    тело запроса в формате NDJSON
+     * @param conflictPolicy политика для существующих посылок
+     * @return ответ с результатами по каждой записи
+     */
+    @PutMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Метод массового импорта посылок из NDJSON")
+    public ResponseEntity<Response<ParcelImportResponseDto>> importParcelsNdjson(
+            InputStream inputStream,
+            @Parameter(description = "Политика для существующих посылок")
+                    @RequestParam(defaultValue = "SKIP")
+                    ParcelImportConflictPolicy conflictPolicy) {
+
+        return ResponseWrapperUtil.ok(parcelImportService.importNdjson(inputStream, conflictPolicy));
+    }
+
     /**
      * Удаляет посылку по названию.
      *
@@ -116,4 +163,51 @@ public class ParcelController {
 
         return ResponseWrapperUtil.ok(parcelService.readAllPaginated(page, size));
     }
+
+    /**
+     * Возвращает список посылок с курсорной пагинацией.
+     * <p>
+     * Следующая страница запрашивается по токену {@code nextCursor} из предыдущего ответа.
+     *
+     * @param cursor токен страницы (без токена возвращается первая страница)
+     * @param size   размер страницы (от 1 до {@link ParcelService#MAX_CURSOR_PAGE_SIZE})
+     * @return страница посылок с токеном следующей страницы
+     */
+    @GetMapping(value = "/scroll")
+    @Operation(summary = "Метод получения списка посылок с курсорной пагинацией")
+    public ResponseEntity<Response<CursorPageDto<ParcelDto>>> readParcelsByCursor(
+            @Parameter(description = "Токен страницы из предыдущего ответа") @RequestParam(required = false) @Nullable
+                    String cursor,
+            @Parameter(description = "Размер страницы") @RequestParam(defaultValue = "20") @Positive
+                    @Max(ParcelService.MAX_CURSOR_PAGE_SIZE) int size) {
+
+        return ResponseWrapperUtil.ok(parcelService.readAllByCursor(cursor, size));
+    }
+
+    /**
+     * Выгружает весь каталог посылок потоком в формате NDJSON (одна посылка на строку).
+     * <p>
+     * Ответ формируется по мере чтения из базы данных, без загрузки каталога в память.
+     *
+     * @return потоковый ответ с посылками
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Метод потоковой выгрузки каталога посылок (NDJSON)")
+    public ResponseEntity<StreamingResponseBody> exportParcels() {
+        StreamingResponseBody body = parcelExportService::exportAll;
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Возвращает статистику кэша каталога посылок.
+     *
+     * @return ответ со статистикой попаданий и промахов
+     */
+    @GetMapping(value = "/cache/stats")
+    @Operation(summary = "Метод получения статистики кэша каталога посылок")
+    public ResponseEntity<Response<CacheStatsDto>> readCacheStats() {
+
+        return ResponseWrapperUtil.ok(parcelService.cacheStats());
+    }
 }
@@ -6,7 +6,9 @@ import org.mapstruct.MappingConstants;
 import org.mapstruct.Named;
 import ru.hofftech.core.model.core.LoadStrategyParcelInvalid;
 import ru.hofftech.core.model.core.Machine;
+import ru.hofftech.core.model.core.OccupancyGrid;
 import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.model.core.ParcelShape;
 import ru.hofftech.core.model.core.PlacedParcel;
 import ru.hofftech.shared.model.dto.CoordinateDto;
 import ru.hofftech.shared.model.dto.LoadParcelInvalidDto;
@@ -15,7 +17,9 @@ import ru.hofftech.shared.model.dto.ParcelDto;
 import ru.hofftech.shared.model.dto.PlacedParcelDto;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Центральный маппер для преобразования между core-сущностями и DTO.
@@ -69,12 +73,24 @@ public interface CoreMapper {
 
     /**
      * Преобразует ParcelDto обратно в Parcel.
+     * <p>
+     * Скомпилированная форма берётся из интернированных по восстановленной сетке и символу.
      *
      * @param parcelDto DTO посылки
      * @return сущность посылки
      */
-    @Mapping(target = "grid", source = "parcelDto", qualifiedByName = "parcelDtoToGrid")
-    Parcel parcelDtoToParcel(ParcelDto parcelDto);
+    default Parcel parcelDtoToParcel(ParcelDto parcelDto) {
+        ParcelShape shape = ParcelShape.of(parcelDtoToGrid(parcelDto), parcelDto.symbol());
+
+        return Parcel.builder()
+                .grid(shape.grid())
+                .name(parcelDto.name())
+                .symbol(shape.symbol())
+                .height(shape.height())
+                .width(shape.width())
+                .shape(shape)
+                .build();
+    }
 
     /**
      * Восстанавливает grid из координат ParcelDto.
@@ -166,41 +182,34 @@ public interface CoreMapper {
     }
 
     /**
-     * Преобразует MachineDto в Machine с восстановлением grid.
+     * Преобразует MachineDto в Machine с восстановлением карты занятости.
      *
      * @param machineDto DTO машины
      * @return сущность машины
      */
-    @Mapping(target = "grid", source = "machineDto", qualifiedByName = "buildGridFromDto")
+    @Mapping(target = "occupancy", source = "machineDto", qualifiedByName = "buildOccupancyFromDto")
     Machine machineDtoToMachine(MachineDto machineDto);
 
     /**
-     * Строит grid машины из DTO на основе размещённых посылок.
+     * Строит карту занятости машины из DTO на основе размещённых посылок.
      *
      * @param machineDto DTO машины
-     * @return двумерный массив с состоянием машины
+     * @return битовая карта занятости машины
      */
-    @Named("buildGridFromDto")
-    default char[][] buildGridFromDto(MachineDto machineDto) {
+    @Named("buildOccupancyFromDto")
+    default OccupancyGrid buildOccupancyFromDto(MachineDto machineDto) {
         int width = machineDto.width();
         int height = machineDto.height();
 
         // Сначала преобразуем DTO в core-объекты
         List<PlacedParcel> placedParcels = placedParcelDtoListToPlacedParcelList(machineDto.parcels());
 
-        // Создаём пустой grid
-        char[][] grid = new char[height][width];
-
-        // Заполняем пустотой
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                grid[i][j] = ' ';
-            }
-        }
+        // Создаём пустую карту занятости
+        OccupancyGrid occupancy = new OccupancyGrid(width, height);
 
         // Размещаем посылки
         if (placedParcels == null) {
-            return grid;
+            return occupancy;
         }
 
         for (PlacedParcel placed : placedParcels) {
@@ -208,7 +217,6 @@ public interface CoreMapper {
 
             int startX = placed.x();
             int startY = placed.y();
-            char symbol = parcel.symbol();
             boolean[][] parcelGrid = parcel.grid();
 
             for (int i = 0; i < parcel.getHeight(); i++) {
@@ -218,14 +226,14 @@ public interface CoreMapper {
                         int targetY = startY + i;
 
                         if (targetX >= 0 && targetX < width && targetY >= 0 && targetY < height) {
-                            grid[targetY][targetX] = symbol;
+                            occupancy.occupy(targetX, targetY);
                         }
                     }
                 }
             }
         }
 
-        return grid;
+        return occupancy;
     }
 
     /**
@@ -248,16 +256,33 @@ public interface CoreMapper {
      * Преобразует LoadStrategyParcelInvalid в LoadParcelInvalidDto.
      *
      * @param loadStrategyParcelInvalid сущность проблемной посылки
+     * @param quantity                  количество одинаковых проблемных посылок
      * @return DTO проблемной посылки
      */
-    LoadParcelInvalidDto loadStrategyParcelInvalidToDto(LoadStrategyParcelInvalid loadStrategyParcelInvalid);
+    @Mapping(target = "parcel", source = "loadStrategyParcelInvalid.parcel")
+    @Mapping(target = "causeType", source = "loadStrategyParcelInvalid.causeType")
+    @Mapping(target = "quantity", source = "quantity")
+    LoadParcelInvalidDto loadStrategyParcelInvalidToDto(
+            LoadStrategyParcelInvalid loadStrategyParcelInvalid, int quantity);
 
     /**
      * Преобразует список LoadStrategyParcelInvalid в список LoadParcelInvalidDto.
+     * <p>
+     * Одинаковые посылки с одной причиной объединяются в одну запись с количеством,
+     * порядок групп соответствует первому появлению.
      *
      * @param loadStrategyParcelInvalids список сущностей проблемных посылок
      * @return список DTO проблемных посылок
      */
-    List<LoadParcelInvalidDto> loadStrategyParcelInvalidListToDto(
-            List<LoadStrategyParcelInvalid> loadStrategyParcelInvalids);
+    default List<LoadParcelInvalidDto> loadStrategyParcelInvalidListToDto(
+            List<LoadStrategyParcelInvalid> loadStrategyParcelInvalids) {
+        Map<LoadStrategyParcelInvalid, Integer> groups = new LinkedHashMap<>();
+        for (LoadStrategyParcelInvalid loadStrategyParcelInvalid : loadStrategyParcelInvalids) {
+            groups.merge(loadStrategyParcelInvalid, 1, Integer::sum);
+        }
+
+        List<LoadParcelInvalidDto> result = new ArrayList<>(groups.size());
+        groups.forEach((invalid, quantity) -> result.add(loadStrategyParcelInvalidToDto(invalid, quantity)));
+        return result;
+    }
 }
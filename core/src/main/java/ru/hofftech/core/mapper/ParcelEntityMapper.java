@@ -6,9 +6,12 @@ import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Component;
 import ru.hofftech.core.exception.ParcelException;
 import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.model.core.ParcelShape;
 import ru.hofftech.core.model.core.ParserParcelProcessorResult;
 import ru.hofftech.core.model.entity.ParcelEntity;
+import ru.hofftech.core.service.parcer.ParserParcelBuilder;
 import ru.hofftech.core.service.parcer.ParserParcelService;
+import ru.hofftech.core.util.BitMaskUtil;
 import ru.hofftech.shared.model.dto.ParcelDto;
 import ru.hofftech.shared.model.dto.ParcelFormRequestDto;
 
@@ -17,13 +20,15 @@ import java.util.List;
 /**
  * Маппер для преобразования между ParcelEntity и связанными DTO.
  * <p>
- * Использует ParserParcelService для сложного преобразования формы в grid.
+ * Использует ParserParcelService для разбора формы из запросов. При чтении из БД форма
+ * не разбирается: сетка восстанавливается из сохранённой упакованной маски.
  */
 @NullMarked
 @Component
 @RequiredArgsConstructor
 public class ParcelEntityMapper {
     private final ParserParcelService parserParcelProcessor;
+    private final ParserParcelBuilder parserParcelBuilder;
     private final CoreMapper coreMapper;
 
     /**
@@ -33,10 +38,11 @@ public class ParcelEntityMapper {
      * @return сущность посылки для бизнес-логики
      */
     public Parcel toParcel(ParcelEntity entity) {
-        // Разбираем form в список строк
-        List<String> lines = entity.getForm().lines().toList();
+        // Сетка распаковывается из маски только если форма ещё не интернирована
+        ParcelShape shape = ParcelShape.fromMask(
+                entity.getMask(), entity.getWidth(), entity.getHeight(), entity.getSymbol());
 
-        return parserParcelProcessor.buildParcel(entity.getName(), lines, String.valueOf(entity.getSymbol()));
+        return parserParcelBuilder.buildFromShape(entity.getName(), shape);
     }
 
     /**
@@ -46,7 +52,17 @@ public class ParcelEntityMapper {
      * @return DTO посылки
      */
     public ParcelDto toDto(ParcelEntity entity) {
-        return coreMapper.parcelToParcelDto(toParcel(entity));
+        return toDto(toParcel(entity));
+    }
+
+    /**
+     * Преобразует Parcel в ParcelDto.
+     *
+     * @param parcel посылка
+     * @return DTO посылки
+     */
+    public ParcelDto toDto(Parcel parcel) {
+        return coreMapper.parcelToParcelDto(parcel);
     }
 
     /**
@@ -82,9 +98,19 @@ public class ParcelEntityMapper {
                     .name(parcel.name())
                     .form(parcel.getForm())
                     .symbol(parcel.symbol())
+                    .width(parcel.width())
+                    .height(parcel.height())
+                    .filledCount(parcel.getFilledCellsCount())
+                    .mask(BitMaskUtil.packGrid(parcel.grid()))
                     .build();
         }
-        return entity.withName(parcel.name()).withForm(parcel.getForm()).withSymbol(parcel.symbol());
+        return entity.withName(parcel.name())
+                .withForm(parcel.getForm())
+                .withSymbol(parcel.symbol())
+                .withWidth(parcel.width())
+                .withHeight(parcel.height())
+                .withFilledCount(parcel.getFilledCellsCount())
+                .withMask(BitMaskUtil.packGrid(parcel.grid()));
     }
 
     /**
@@ -0,0 +1,59 @@
+package ru.hofftech.core.model.core;
+
+import lombok.Builder;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Свободный прямоугольник в кузове машины.
+ * Все клетки прямоугольника гарантированно свободны.
+ *
+ * @param x      координата X левого нижнего угла
+ * @param y      координата Y левого нижнего угла
+ * @param width  ширина прямоугольника
+ * @param height высота прямоугольника
+ */
+@NullMarked
+@Builder
+public record FreeRectangle(
+        int x, // Координата X левого нижнего угла
+        int y, // Координата Y левого нижнего угла
+        int width,
+        int height) {
+
+    /**
+     * Проверяет, помещается ли прямоугольник указанного размера внутрь этого.
+     *
+     * @param rectWidth  ширина
+     * @param rectHeight высота
+     * @return true если прямоугольник помещается
+     */
+    public boolean fits(int rectWidth, int rectHeight) {
+        return rectWidth <= width && rectHeight <= height;
+    }
+
+    /**
+     * Проверяет, пересекается ли этот прямоугольник с указанным.
+     *
+     * @param other другой прямоугольник (не может быть null)
+     * @return true если у прямоугольников есть общая клетка
+     */
+    public boolean intersects(FreeRectangle other) {
+        return x < other.x + other.width
+                && other.x < x + width
+                && y < other.y + other.height
+                && other.y < y + height;
+    }
+
+    /**
+     * Проверяет, содержит ли этот прямоугольник указанный целиком.
+     *
+     * @param other другой прямоугольник (не может быть null)
+     * @return true если другой прямоугольник целиком лежит внутри этого
+     */
+    public boolean contains(FreeRectangle other) {
+        return other.x >= x
+                && other.y >= y
+                && other.x + other.width <= x + width
+                && other.y + other.height <= y + height;
+    }
+}
@@ -0,0 +1,157 @@
+package ru.hofftech.core.model.core;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Индекс максимальных свободных прямоугольников кузова (алгоритм MaxRects).
+ * <p>
+ * Хранит список свободных прямоугольников, ни один из которых не содержится в другом.
+ * При размещении посылки её заполненные клетки (для прямоугольной посылки - весь габарит,
+ * для непрямоугольной - отрезки заполненных клеток по строкам) вычитаются из всех
+ * пересекающихся свободных прямоугольников, после чего вложенные прямоугольники отбрасываются.
+ * Стоимость операций зависит от количества свободных прямоугольников, а не от площади кузова.
+ */
+@NullMarked
+public final class FreeRectangles {
+    private final List<FreeRectangle> rectangles = new ArrayList<>();
+
+    /**
+     * Создаёт индекс по слоту машины.
+     * Уже размещённые в машине посылки вычитаются из свободного пространства.
+     *
+     * @param slot слот машины (не может быть null)
+     */
+    public FreeRectangles(MachineSlot slot) {
+        rectangles.add(FreeRectangle.builder()
+                .x(0)
+                .y(0)
+                .width(slot.width())
+                .height(slot.height())
+                .build());
+
+        for (PlacedParcel placed : slot.parcels()) {
+            place(placed.parcel(), placed.x(), placed.y());
+        }
+    }
+
+    /**
+     * @return текущие максимальные свободные прямоугольники (только для чтения, не может быть null)
+     */
+    public List<FreeRectangle> rectangles() {
+        return Collections.unmodifiableList(rectangles);
+    }
+
+    /**
+     * Вычитает клетки размещённой посылки из свободного пространства.
+     *
+     * @param parcel посылка (не может быть null)
+     * @param startX координата X левого нижнего угла
+     * @param startY координата Y левого нижнего угла
+     */
+    public void place(Parcel parcel, int startX, int startY) {
+        if (parcel.shape().isRectangular()) {
+            occupy(startX, startY, parcel.getWidth(), parcel.getHeight());
+            return;
+        }
+
+        // Для непрямоугольной посылки вычитаем отрезки заполненных клеток каждой строки
+        boolean[][] grid = parcel.grid();
+        for (int i = 0; i < parcel.getHeight(); i++) {
+            int j = 0;
+            while (j < parcel.getWidth()) {
+                if (!grid[i][j]) {
+                    j++;
+                    continue;
+                }
+                int runStart = j;
+                while (j < parcel.getWidth() && grid[i][j]) {
+                    j++;
+                }
+                occupy(startX + runStart, startY + i, j - runStart, 1);
+            }
+        }
+    }
+
+    /**
+     * Вычитает занятый прямоугольник из свободного пространства.
+     *
+     * @param x      координата X левого нижнего угла
+     * @param y      координата Y левого нижнего угла
+     * @param width  ширина
+     * @param height высота
+     */
+    public void occupy(int x, int y, int width, int height) {
+        FreeRectangle used = FreeRectangle.builder()
+                .x(x)
+                .y(y)
+                .width(width)
+                .height(height)
+                .build();
+
+        List<FreeRectangle> split = new ArrayList<>();
+        for (int i = rectangles.size() - 1; i >= 0; i--) {
+            FreeRectangle free = rectangles.get(i);
+            if (free.intersects(used)) {
+                rectangles.remove(i);
+                splitAround(free, used, split);
+            }
+        }
+
+        rectangles.addAll(split);
+        pruneContained();
+    }
+
+    /**
+     * Разбивает свободный прямоугольник на части, не пересекающиеся с занятым.
+     *
+     * @param free   свободный прямоугольник (не может быть null)
+     * @param used   занятый прямоугольник (не может быть null)
+     * @param result список для добавления частей (не может быть null)
+     */
+    private static void splitAround(FreeRectangle free, FreeRectangle used, List<FreeRectangle> result) {
+        int freeRight = free.x() + free.width();
+        int freeTop = free.y() + free.height();
+        int usedRight = used.x() + used.width();
+        int usedTop = used.y() + used.height();
+
+        // Часть слева от занятого
+        if (used.x() > free.x()) {
+            result.add(new FreeRectangle(free.x(), free.y(), used.x() - free.x(), free.height()));
+        }
+        // Часть справа от занятого
+        if (usedRight < freeRight) {
+            result.add(new FreeRectangle(usedRight, free.y(), freeRight - usedRight, free.height()));
+        }
+        // Часть под занятым
+        if (used.y() > free.y()) {
+            result.add(new FreeRectangle(free.x(), free.y(), free.width(), used.y() - free.y()));
+        }
+        // Часть над занятым
+        if (usedTop < freeTop) {
+            result.add(new FreeRectangle(free.x(), usedTop, free.width(), freeTop - usedTop));
+        }
+    }
+
+    /**
+     * Удаляет прямоугольники, целиком содержащиеся в других.
+     */
+    private void pruneContained() {
+        for (int i = 0; i < rectangles.size(); i++) {
+            for (int j = i + 1; j < rectangles.size(); j++) {
+                if (rectangles.get(j).contains(rectangles.get(i))) {
+                    rectangles.remove(i);
+                    i--;
+                    break;
+                }
+                if (rectangles.get(i).contains(rectangles.get(j))) {
+                    rectangles.remove(j);
+                    j--;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ru.hofftech.core.model.core;
+
+import lombok.Builder;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Параметры выполнения стратегии погрузки для одного запроса.
+ *
+ * @param timeBudget бюджет времени на оптимизацию (null - значение по умолчанию сервиса)
+ * @param deadline   абсолютный срок завершения по {@link System#nanoTime()} (null - без срока);
+ *                   бюджет отсчитывается от старта стратегии, но не может выходить за этот срок
+ */
+@NullMarked
+@Builder
+public record LoadOptions(
+        @Nullable Duration timeBudget, // Бюджет времени на оптимизацию
+        @Nullable Long deadline // Абсолютный срок завершения (System.nanoTime())
+        ) {
+
+    /**
+     * Возвращает параметры по умолчанию.
+     *
+     * @return параметры без явно заданных значений (не может быть null)
+     */
+    public static LoadOptions defaults() {
+        return LoadOptions.builder().build();
+    }
+}
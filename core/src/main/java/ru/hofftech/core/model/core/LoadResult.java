@@ -16,6 +16,8 @@ import java.util.List;
  * @param loadStrategyParcelInvalids   посылки, которые не удалось обработать (с указанием причины)
  * @param machines                     машины с успешно упакованными посылками
  * @param errors                       общие ошибки обработки, не привязанные к конкретным посылкам
+ * @param iterations                   количество итераций оптимизации (null - стратегия без оптимизации)
+ * @param winnerStrategy               название стратегии, результат которой выбран (null - стратегия без выбора)
  */
 @Builder
 @NullMarked
@@ -25,7 +27,9 @@ public record LoadResult(
                 List<LoadStrategyParcelInvalid>
                         loadStrategyParcelInvalids, // Посылки, которые не удалось обработать (с указанием причины)
         @Nullable List<Machine> machines, // Машины с успешно упакованными посылками
-        @Nullable List<String> errors // Общие ошибки обработки, не привязанные к конкретным посылкам
+        @Nullable List<String> errors, // Общие ошибки обработки, не привязанные к конкретным посылкам
+        @Nullable Integer iterations, // Количество итераций оптимизации
+        @Nullable String winnerStrategy // Стратегия, результат которой выбран
         ) {
 
     /**
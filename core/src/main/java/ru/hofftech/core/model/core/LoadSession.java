@@ -0,0 +1,219 @@
+package ru.hofftech.core.model.core;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Сессия погрузки в рамках одного запроса.
+ * <p>
+ * Хранит изменяемые слоты машин ({@link MachineSlot}) с идентификаторами,
+ * совпадающими с индексом исходной машины. Стратегии размещают посылки
+ * в слотах на месте, а список неизменяемых машин строится один раз в конце.
+ * <p>
+ * Слоты проиндексированы по габаритам и состоянию: пустые машины хранятся в очередях
+ * по размеру кузова, частично заполненные - в отдельном упорядоченном наборе,
+ * полностью заполненные в индексы не входят. Пустые машины одного размера неразличимы,
+ * поэтому проверки по габаритам и поиск пустой машины выполняются по числу различных размеров,
+ * а не по числу машин. Сессия не потокобезопасна и не должна переживать запрос.
+ */
+@NullMarked
+public final class LoadSession {
+    private final List<MachineSlot> slots;
+    private final Map<MachineSize, ArrayDeque<MachineSlot>> emptySlotsBySize = new LinkedHashMap<>();
+    private final TreeMap<Integer, MachineSlot> partialSlots = new TreeMap<>();
+
+    private LoadSession(List<Machine> machines) {
+        this.slots = new ArrayList<>(machines.size());
+        for (int i = 0; i < machines.size(); i++) {
+            MachineSlot slot = new MachineSlot(i, machines.get(i), this::onSlotStateChanged);
+            slots.add(slot);
+
+            // Очередь создаётся для каждого размера, даже если пустых машин этого размера нет
+            ArrayDeque<MachineSlot> emptySlots =
+                    emptySlotsBySize.computeIfAbsent(slot.size(), size -> new ArrayDeque<>());
+            if (slot.isEmpty()) {
+                emptySlots.add(slot);
+            } else if (!slot.isFull()) {
+                partialSlots.put(slot.id(), slot);
+            }
+        }
+    }
+
+    /**
+     * Открывает сессию по списку машин.
+     *
+     * @param machines исходные машины (не может быть null)
+     * @return новая сессия (не может быть null)
+     */
+    public static LoadSession open(List<Machine> machines) {
+        return new LoadSession(machines);
+    }
+
+    /**
+     * Возвращает слот по идентификатору.
+     *
+     * @param id идентификатор слота
+     * @return слот машины (не может быть null)
+     */
+    public MachineSlot slot(int id) {
+        return slots.get(id);
+    }
+
+    /**
+     * @return все слоты сессии в порядке идентификаторов (только для чтения, не может быть null)
+     */
+    public List<MachineSlot> slots() {
+        return Collections.unmodifiableList(slots);
+    }
+
+    /**
+     * @return частично заполненные слоты в порядке идентификаторов (только для чтения, не может быть null)
+     */
+    public Collection<MachineSlot> partialSlots() {
+        return Collections.unmodifiableCollection(partialSlots.values());
+    }
+
+    /**
+     * Возвращает частично заполненные слоты, начиная с указанного идентификатора.
+     *
+     * @param fromId наименьший идентификатор слота (включительно)
+     * @return частично заполненные слоты в порядке идентификаторов (только для чтения, не может быть null)
+     */
+    public Collection<MachineSlot> partialSlots(int fromId) {
+        return Collections.unmodifiableCollection(partialSlots.tailMap(fromId, true).values());
+    }
+
+    /**
+     * @return количество слотов в сессии
+     */
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * @return true если в сессии нет ни одной машины
+     */
+    public boolean isEmpty() {
+        return slots.isEmpty();
+    }
+
+    /**
+     * Проверяет, влезает ли посылка хотя бы в одну машину по габаритам.
+     * Проверка выполняется по различным размерам машин.
+     *
+     * @param parcel посылка для проверки (не может быть null)
+     * @return true если посылка по размерам помещается хотя бы в одну машину
+     */
+    public boolean fitsInAnyMachine(Parcel parcel) {
+        for (MachineSize size : emptySlotsBySize.keySet()) {
+            if (size.fits(parcel)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true если в сессии осталась хотя бы одна пустая машина
+     */
+    public boolean hasEmptySlot() {
+        for (ArrayDeque<MachineSlot> emptySlots : emptySlotsBySize.values()) {
+            if (!emptySlots.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Возвращает пустую машину с наименьшим идентификатором, в которую посылка влезает по габаритам.
+     *
+     * @param parcel посылка для размещения (не может быть null)
+     * @return пустой слот или null, если подходящих пустых машин нет
+     */
+    @Nullable
+    public MachineSlot firstEmptySlot(Parcel parcel) {
+        MachineSlot first = null;
+        for (Map.Entry<MachineSize, ArrayDeque<MachineSlot>> entry : emptySlotsBySize.entrySet()) {
+            MachineSlot candidate = entry.getValue().peekFirst();
+            if (candidate != null
+                    && entry.getKey().fits(parcel)
+                    && (first == null || candidate.id() < first.id())) {
+                first = candidate;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Возвращает по одной пустой машине (с наименьшим идентификатором) каждого размера,
+     * в который посылка влезает по габаритам. Все пустые машины одного размера равнозначны,
+     * поэтому проверять размещение достаточно в одной из них.
+     *
+     * @param parcel посылка для размещения (не может быть null)
+     * @return пустые слоты в порядке идентификаторов (не может быть null)
+     */
+    public List<MachineSlot> firstEmptySlotPerSize(Parcel parcel) {
+        return firstEmptySlotPerSize(parcel, 0);
+    }
+
+    /**
+     * Возвращает по одной пустой машине каждого подходящего размера, если её идентификатор
+     * не меньше указанного. Если первая пустая машина размера имеет меньший идентификатор,
+     * размер пропускается целиком: все пустые машины размера равнозначны.
+     *
+     * @param parcel посылка для размещения (не может быть null)
+     * @param fromId наименьший идентификатор слота (включительно)
+     * @return пустые слоты в порядке идентификаторов (не может быть null)
+     */
+    public List<MachineSlot> firstEmptySlotPerSize(Parcel parcel, int fromId) {
+        List<MachineSlot> result = new ArrayList<>(emptySlotsBySize.size());
+        for (Map.Entry<MachineSize, ArrayDeque<MachineSlot>> entry : emptySlotsBySize.entrySet()) {
+            MachineSlot candidate = entry.getValue().peekFirst();
+            if (candidate != null && candidate.id() >= fromId && entry.getKey().fits(parcel)) {
+                result.add(candidate);
+            }
+        }
+        result.sort(Comparator.comparingInt(MachineSlot::id));
+        return result;
+    }
+
+    /**
+     * Строит список неизменяемых машин по текущему состоянию слотов.
+     *
+     * @return машины в порядке идентификаторов слотов (не может быть null)
+     */
+    public List<Machine> toMachines() {
+        List<Machine> machines = new ArrayList<>(slots.size());
+        for (MachineSlot slot : slots) {
+            machines.add(slot.toMachine());
+        }
+        return machines;
+    }
+
+    /**
+     * Переносит слот между индексами при смене состояния.
+     *
+     * @param slot слот, в который размещена посылка (не может быть null)
+     */
+    private void onSlotStateChanged(MachineSlot slot) {
+        // Обработчик вызывается только при выходе из пустого состояния или при полном заполнении;
+        // слоты заполняются преимущественно по порядку, поэтому удаление обычно происходит из головы очереди
+        emptySlotsBySize.get(slot.size()).remove(slot);
+        if (slot.isFull()) {
+            partialSlots.remove(slot.id());
+        } else {
+            partialSlots.put(slot.id(), slot);
+        }
+    }
+}
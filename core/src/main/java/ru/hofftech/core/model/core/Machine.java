@@ -14,16 +14,18 @@ import java.util.Objects;
  * <p>
  * Представляет собой двумерную сетку заданного размера,
  * в которой можно размещать посылки с проверкой пересечений.
+ * Занятость клеток хранится в битовой карте, символьное представление
+ * строится только при выводе результата (см. {@link #getLines()}).
  *
- * @param grid    текущее состояние для быстрой проверки
- * @param parcels список размещённых посылок с координатами
- * @param width   ширина машины
- * @param height  высота машины
+ * @param occupancy битовая карта занятости для быстрой проверки
+ * @param parcels   список размещённых посылок с координатами
+ * @param width     ширина машины
+ * @param height    высота машины
  */
 @NullMarked
 @Builder
 public record Machine(
-        char[][] grid, // Текущее состояние для быстрой проверки
+        OccupancyGrid occupancy, // Битовая карта занятости для быстрой проверки
         List<PlacedParcel> parcels, // Список размещённых посылок с координатами
         int width,
         int height) {
@@ -37,14 +39,14 @@ public record Machine(
      * @param height высота машины
      */
     public Machine(int width, int height) {
-        this(createEmptyGrid(width, height), new ArrayList<>(), width, height);
+        this(new OccupancyGrid(width, height), new ArrayList<>(), width, height);
     }
 
     /**
      * Конструктор для создания машины с размерами по умолчанию (6x6).
      */
     public Machine() {
-        this(createEmptyGrid(DEFAULT_WIDTH, DEFAULT_HEIGHT), new ArrayList<>(), DEFAULT_WIDTH, DEFAULT_HEIGHT);
+        this(DEFAULT_WIDTH, DEFAULT_HEIGHT);
     }
 
     /**
@@ -55,13 +57,11 @@ public record Machine(
      * @return список строк, представляющих сетку машины
      */
     public List<String> getLines() {
+        char[][] grid = renderGrid();
+
         List<String> lines = new ArrayList<>();
         for (int i = height - 1; i >= 0; i--) {
-            StringBuilder line = new StringBuilder();
-            for (int j = 0; j < width; j++) {
-                line.append(grid[i][j]);
-            }
-            lines.add(line.toString());
+            lines.add(new String(grid[i]));
         }
         return lines;
     }
@@ -77,24 +77,7 @@ public record Machine(
      * @return true если место занято или выходит за границы
      */
     public boolean isPlaceOccupied(Parcel parcel, int startX, int startY) {
-        int parcelHeight = parcel.getHeight();
-        int parcelWidth = parcel.getWidth();
-
-        // Проверка границ
-        if (startX + parcelWidth > width || startY + parcelHeight > height) {
-            return true;
-        }
-
-        // Проверка, что все клетки свободны
-        for (int i = 0; i < parcelHeight; i++) {
-            for (int j = 0; j < parcelWidth; j++) {
-                if (parcel.grid()[i][j] && grid[startY + i][startX + j] != ' ') {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        return occupancy.isPlaceOccupied(parcel, startX, startY);
     }
 
     /**
@@ -113,22 +96,12 @@ public record Machine(
             throw new IllegalArgumentException("Невозможно разместить посылку в указанной позиции");
         }
 
-        // Создаём копию grid
-        char[][] newGrid = copyGrid();
+        // Создаём копию карты занятости
+        OccupancyGrid newOccupancy = occupancy.copy();
         List<PlacedParcel> newPlacedParcels = new ArrayList<>(parcels);
 
-        // Размещаем посылку в grid
-        int parcelHeight = parcel.getHeight();
-        int parcelWidth = parcel.getWidth();
-        char symbol = parcel.symbol();
-
-        for (int i = 0; i < parcelHeight; i++) {
-            for (int j = 0; j < parcelWidth; j++) {
-                if (parcel.grid()[i][j]) {
-                    newGrid[startY + i][startX + j] = symbol;
-                }
-            }
-        }
+        // Размещаем посылку в карте занятости
+        newOccupancy.place(parcel, startX, startY);
 
         // Добавляем информацию о размещённой посылке
         PlacedParcel placedParcel =
@@ -136,7 +109,7 @@ public record Machine(
         newPlacedParcels.add(placedParcel);
 
         return Machine.builder()
-                .grid(newGrid)
+                .occupancy(newOccupancy)
                 .parcels(newPlacedParcels)
                 .width(width)
                 .height(height)
@@ -183,8 +156,8 @@ public record Machine(
         // Сравниваем списки посылок
         if (!Objects.equals(parcels, machine.parcels)) return false;
 
-        // Сравниваем содержимое двумерного массива
-        return Arrays.deepEquals(grid, machine.grid);
+        // Сравниваем карты занятости
+        return Objects.equals(occupancy, machine.occupancy);
     }
 
     /**
@@ -194,38 +167,37 @@ public record Machine(
      */
     @Override
     public int hashCode() {
-        int result = Objects.hash(parcels, width, height);
-        result = 31 * result + Arrays.deepHashCode(grid);
-        return result;
+        return Objects.hash(occupancy, parcels, width, height);
     }
 
     /**
-     * Создаёт пустую сетку указанного размера.
+     * Строит символьную сетку машины по размещённым посылкам.
      *
-     * @param width ширина сетки
-     * @param height высота сетки
-     * @return пустая сетка (не может быть null)
+     * @return сетка символов, строки идут снизу вверх (не может быть null)
      */
-    private static char[][] createEmptyGrid(int width, int height) {
+    private char[][] renderGrid() {
         char[][] grid = new char[height][width];
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                grid[i][j] = ' ';
-            }
+        for (char[] row : grid) {
+            Arrays.fill(row, ' ');
         }
-        return grid;
-    }
 
-    /**
-     * Создаёт копию текущей сетки.
-     *
-     * @return копия сетки (не может быть null)
-     */
-    private char[][] copyGrid() {
-        char[][] copy = new char[height][width];
-        for (int i = 0; i < height; i++) {
-            System.arraycopy(grid[i], 0, copy[i], 0, width);
+        for (PlacedParcel placed : parcels) {
+            Parcel parcel = placed.parcel();
+            boolean[][] parcelGrid = parcel.grid();
+            char symbol = parcel.symbol();
+
+            for (int i = 0; i < parcel.getHeight(); i++) {
+                for (int j = 0; j < parcel.getWidth(); j++) {
+                    int targetX = placed.x() + j;
+                    int targetY = placed.y() + i;
+
+                    if (parcelGrid[i][j] && targetX >= 0 && targetX < width && targetY >= 0 && targetY < height) {
+                        grid[targetY][targetX] = symbol;
+                    }
+                }
+            }
         }
-        return copy;
+
+        return grid;
     }
 }
@@ -0,0 +1,24 @@
+package ru.hofftech.core.model.core;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Габариты кузова машины.
+ * Используется как ключ группировки машин одинакового размера в сессии погрузки.
+ *
+ * @param width  ширина кузова
+ * @param height высота кузова
+ */
+@NullMarked
+public record MachineSize(int width, int height) {
+
+    /**
+     * Проверяет, влезает ли посылка в кузов этого размера по габаритам.
+     *
+     * @param parcel посылка для проверки (не может быть null)
+     * @return true если посылка по размерам помещается в кузов
+     */
+    public boolean fits(Parcel parcel) {
+        return parcel.getWidth() <= width && parcel.getHeight() <= height;
+    }
+}
@@ -0,0 +1,211 @@
+package ru.hofftech.core.model.core;
+
+import org.jspecify.annotations.NullMarked;
+import ru.hofftech.shared.model.enums.ParcelOrientationType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Изменяемый слот машины внутри сессии погрузки.
+ * <p>
+ * В отличие от {@link Machine}, посылки размещаются на месте без копирования
+ * карты занятости и списка посылок. Слот имеет стабильный идентификатор
+ * (порядковый номер в сессии), по которому его можно получить за O(1).
+ * Неизменяемая {@link Machine} строится только по окончании погрузки.
+ * Слот ведёт счётчик свободных клеток и сообщает сессии о смене состояния
+ * (пустой - частично заполненный - заполненный полностью).
+ */
+@NullMarked
+public final class MachineSlot {
+    private final int id;
+    private final MachineSize size;
+    private final OccupancyGrid occupancy;
+    private final List<PlacedParcel> parcels;
+    private final Consumer<MachineSlot> stateListener;
+    private int freeCells;
+
+    /**
+     * Создаёт слот по исходной машине.
+     *
+     * @param id      идентификатор слота в сессии
+     * @param machine исходная машина (не может быть null)
+     */
+    public MachineSlot(int id, Machine machine) {
+        this(id, machine, slot -> {});
+    }
+
+    /**
+     * Создаёт слот по исходной машине с обработчиком смены состояния.
+     *
+     * @param id            идентификатор слота в сессии
+     * @param machine       исходная машина (не может быть null)
+     * @param stateListener вызывается при переходе слота из пустого в заполненный и при полном заполнении
+     */
+    MachineSlot(int id, Machine machine, Consumer<MachineSlot> stateListener) {
+        this.id = id;
+        this.size = new MachineSize(machine.width(), machine.height());
+        this.occupancy = machine.occupancy().copy();
+        this.parcels = new ArrayList<>(machine.parcels());
+        this.stateListener = stateListener;
+
+        int occupied = 0;
+        for (PlacedParcel placed : parcels) {
+            occupied += placed.parcel().getFilledCellsCount();
+        }
+        this.freeCells = machine.width() * machine.height() - occupied;
+    }
+
+    /**
+     * @return идентификатор слота в сессии
+     */
+    public int id() {
+        return id;
+    }
+
+    /**
+     * @return ширина машины
+     */
+    public int width() {
+        return size.width();
+    }
+
+    /**
+     * @return высота машины
+     */
+    public int height() {
+        return size.height();
+    }
+
+    /**
+     * @return габариты машины (не может быть null)
+     */
+    public MachineSize size() {
+        return size;
+    }
+
+    /**
+     * @return количество свободных клеток в машине
+     */
+    public int freeCells() {
+        return freeCells;
+    }
+
+    /**
+     * @return true если в машине не осталось свободных клеток
+     */
+    public boolean isFull() {
+        return freeCells == 0;
+    }
+
+    /**
+     * @return карта занятости слота (не может быть null)
+     */
+    public OccupancyGrid occupancy() {
+        return occupancy;
+    }
+
+    /**
+     * @return размещённые в слоте посылки (только для чтения, не может быть null)
+     */
+    public List<PlacedParcel> parcels() {
+        return Collections.unmodifiableList(parcels);
+    }
+
+    /**
+     * @return true если в слоте нет ни одной посылки
+     */
+    public boolean isEmpty() {
+        return parcels.isEmpty();
+    }
+
+    /**
+     * Проверяет, влезает ли посылка в машину по габаритам.
+     *
+     * @param parcel посылка для проверки (не может быть null)
+     * @return true если посылка по размерам помещается в машину
+     */
+    public boolean fitsInMachine(Parcel parcel) {
+        return size.fits(parcel);
+    }
+
+    /**
+     * Быстрая проверка: влезает ли посылка по габаритам и хватает ли свободных клеток.
+     * Не гарантирует, что для посылки найдётся место.
+     *
+     * @param parcel посылка для проверки (не может быть null)
+     * @return false если посылку заведомо невозможно разместить
+     */
+    public boolean canAccept(Parcel parcel) {
+        return size.fits(parcel) && parcel.getFilledCellsCount() <= freeCells;
+    }
+
+    /**
+     * Размещает посылку в указанной позиции на месте, без создания копий.
+     *
+     * @param parcel посылка для размещения (не может быть null)
+     * @param startX координата X левого нижнего угла
+     * @param startY координата Y левого нижнего угла
+     * @throws IllegalArgumentException если место занято или выходит за границы
+     */
+    public void placeParcel(Parcel parcel, int startX, int startY) {
+        placeParcel(parcel, startX, startY, ParcelOrientationType.ORIGINAL);
+    }
+
+    /**
+     * Размещает посылку в указанной позиции и ориентации на месте, без создания копий.
+     *
+     * @param parcel      посылка в той ориентации, в которой размещается (не может быть null)
+     * @param startX      координата X левого нижнего угла
+     * @param startY      координата Y левого нижнего угла
+     * @param orientation ориентация посылки (не может быть null)
+     * @throws IllegalArgumentException если место занято или выходит за границы
+     */
+    public void placeParcel(Parcel parcel, int startX, int startY, ParcelOrientationType orientation) {
+        if (occupancy.isPlaceOccupied(parcel, startX, startY)) {
+            throw new IllegalArgumentException("Невозможно разместить посылку в указанной позиции");
+        }
+
+        boolean wasEmpty = parcels.isEmpty();
+
+        occupancy.place(parcel, startX, startY);
+        parcels.add(PlacedParcel.builder()
+                .parcel(parcel)
+                .x(startX)
+                .y(startY)
+                .orientation(orientation)
+                .build());
+        freeCells -= parcel.getFilledCellsCount();
+
+        if (wasEmpty || isFull()) {
+            stateListener.accept(this);
+        }
+    }
+
+    /**
+     * Строит неизменяемую машину по текущему состоянию слота.
+     *
+     * @return машина с размещёнными посылками (не может быть null)
+     */
+    public Machine toMachine() {
+        return Machine.builder()
+                .occupancy(occupancy.copy())
+                .parcels(new ArrayList<>(parcels))
+                .width(size.width())
+                .height(size.height())
+                .build();
+    }
+
+    /**
+     * Возвращает строковое представление слота для отладки.
+     *
+     * @return строковое представление слота
+     */
+    @Override
+    public String toString() {
+        return String.format(
+                "MachineSlot{id=%d, parcels=%d, size=%dx%d}", id, parcels.size(), size.width(), size.height());
+    }
+}
@@ -0,0 +1,243 @@
+package ru.hofftech.core.model.core;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import ru.hofftech.core.util.BitMaskUtil;
+
+import java.util.Arrays;
+
+/**
+ * Битовая карта занятости кузова машины.
+ * <p>
+ * Каждая строка машины хранится как массив long, где бит x означает занятую клетку с координатой X.
+ * Проверка пересечения с посылкой выполняется операциями AND над строками,
+ * а не посимвольным сравнением клеток.
+ * <p>
+ * Дополнительно поддерживается профиль высот (skyline): высота каждого столбца
+ * и максимальная высота заполнения. Профиль обновляется инкрементально при размещении
+ * и позволяет поиску позиции не рассматривать строки выше заполненной части кузова.
+ */
+@NullMarked
+public final class OccupancyGrid {
+    private final int width;
+    private final int height;
+    private final long[][] rows;
+    private final int[] columnHeights;
+    private int skylineHeight;
+
+    /**
+     * Создаёт пустую карту занятости указанного размера.
+     *
+     * @param width  ширина машины
+     * @param height высота машины
+     */
+    public OccupancyGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.rows = new long[height][BitMaskUtil.wordCount(width)];
+        this.columnHeights = new int[width];
+    }
+
+    /**
+     * Создаёт копию карты занятости.
+     *
+     * @param source исходная карта (не может быть null)
+     */
+    private OccupancyGrid(OccupancyGrid source) {
+        this.width = source.width;
+        this.height = source.height;
+        this.rows = new long[source.height][];
+        for (int y = 0; y < source.height; y++) {
+            this.rows[y] = source.rows[y].clone();
+        }
+        this.columnHeights = source.columnHeights.clone();
+        this.skylineHeight = source.skylineHeight;
+    }
+
+    /**
+     * Возвращает независимую копию карты занятости.
+     *
+     * @return копия карты (не может быть null)
+     */
+    public OccupancyGrid copy() {
+        return new OccupancyGrid(this);
+    }
+
+    /**
+     * @return ширина машины
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * @return высота машины
+     */
+    public int height() {
+        return height;
+    }
+
+    /**
+     * Возвращает высоту столбца: номер строки над самой верхней занятой клеткой столбца.
+     *
+     * @param x координата X
+     * @return высота столбца (0 для пустого столбца)
+     */
+    public int columnHeight(int x) {
+        return columnHeights[x];
+    }
+
+    /**
+     * Возвращает максимальную высоту заполнения кузова.
+     * <p>
+     * Все строки, начиная с этой, гарантированно пусты.
+     *
+     * @return максимальная высота среди всех столбцов
+     */
+    public int skylineHeight() {
+        return skylineHeight;
+    }
+
+    /**
+     * Возвращает координату X ближайшей занятой клетки строки, начиная с указанной.
+     *
+     * @param y     координата Y строки
+     * @param fromX координата X, с которой начинается поиск
+     * @return координата X занятой клетки или -1, если правее занятых клеток нет
+     */
+    public int nextOccupied(int y, int fromX) {
+        return BitMaskUtil.nextSetBit(rows[y], fromX);
+    }
+
+    /**
+     * Подсчитывает занятые клетки строки под маской, сдвинутой на координату X.
+     *
+     * @param y    координата Y строки
+     * @param mask битовая маска (не может быть null)
+     * @param x    координата X левого края маски
+     * @return количество занятых клеток под маской
+     */
+    public int countOccupied(int y, long[] mask, int x) {
+        return BitMaskUtil.countIntersection(rows[y], mask, x);
+    }
+
+    /**
+     * Проверяет, занята ли клетка.
+     *
+     * @param x координата X
+     * @param y координата Y
+     * @return true если клетка занята
+     */
+    public boolean isOccupied(int x, int y) {
+        return BitMaskUtil.isSet(rows[y], x);
+    }
+
+    /**
+     * Отмечает клетку как занятую.
+     *
+     * @param x координата X
+     * @param y координата Y
+     */
+    public void occupy(int x, int y) {
+        BitMaskUtil.set(rows[y], x);
+        raiseColumn(x, y + 1);
+    }
+
+    /**
+     * Проверяет, занято ли место под посылку в указанной позиции.
+     * <p>
+     * Учитывает выход за границы и пересечение с уже занятыми клетками.
+     *
+     * @param parcel посылка (не может быть null)
+     * @param startX координата X левого нижнего угла
+     * @param startY координата Y левого нижнего угла
+     * @return true если место занято или выходит за границы
+     */
+    public boolean isPlaceOccupied(Parcel parcel, int startX, int startY) {
+        // Проверка границ
+        if (startX + parcel.getWidth() > width || startY + parcel.getHeight() > height) {
+            return true;
+        }
+
+        // Проверка, что все клетки свободны
+        return intersects(parcel, startX, startY);
+    }
+
+    /**
+     * Проверяет, пересекается ли посылка в указанной позиции с занятыми клетками.
+     * <p>
+     * Границы машины не проверяются: посылка должна помещаться по габаритам.
+     *
+     * @param parcel посылка (не может быть null)
+     * @param startX координата X левого нижнего угла
+     * @param startY координата Y левого нижнего угла
+     * @return true если есть хотя бы одна общая клетка
+     */
+    public boolean intersects(Parcel parcel, int startX, int startY) {
+        long[][] masks = parcel.rowMasks();
+        for (int i = 0; i < masks.length; i++) {
+            if (BitMaskUtil.intersects(rows[startY + i], masks[i], startX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Отмечает клетки посылки в указанной позиции как занятые.
+     *
+     * @param parcel посылка (не может быть null)
+     * @param startX координата X левого нижнего угла
+     * @param startY координата Y левого нижнего угла
+     */
+    public void place(Parcel parcel, int startX, int startY) {
+        long[][] masks = parcel.rowMasks();
+        for (int i = 0; i < masks.length; i++) {
+            BitMaskUtil.or(rows[startY + i], masks[i], startX);
+
+            // Обновляем профиль высот по заполненным клеткам строки посылки
+            for (int j = BitMaskUtil.nextSetBit(masks[i], 0); j >= 0; j = BitMaskUtil.nextSetBit(masks[i], j + 1)) {
+                raiseColumn(startX + j, startY + i + 1);
+            }
+        }
+    }
+
+    /**
+     * Поднимает высоту столбца до указанной, если она больше текущей.
+     *
+     * @param x         координата X столбца
+     * @param newHeight новая высота столбца
+     */
+    private void raiseColumn(int x, int newHeight) {
+        if (x < width && columnHeights[x] < newHeight) {
+            columnHeights[x] = newHeight;
+            if (skylineHeight < newHeight) {
+                skylineHeight = newHeight;
+            }
+        }
+    }
+
+    /**
+     * Сравнивает карты занятости по содержимому.
+     *
+     * @param o объект для сравнения
+     * @return true если объекты равны
+     */
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OccupancyGrid that = (OccupancyGrid) o;
+        return width == that.width && height == that.height && Arrays.deepEquals(rows, that.rows);
+    }
+
+    /**
+     * Вычисляет хеш-код карты занятости.
+     *
+     * @return хеш-код
+     */
+    @Override
+    public int hashCode() {
+        return 31 * (31 * width + height) + Arrays.deepHashCode(rows);
+    }
+}
@@ -7,7 +7,6 @@ import org.jspecify.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -15,11 +14,29 @@ import java.util.Objects;
  * Модель посылки, содержащая её двумерное представление.
  * Посылка представляет собой фигуру, составленную из клеток,
  * заполненных определённым символом.
+ * <p>
+ * Производные данные формы (битовые маски строк, нижний ряд, количество клеток)
+ * хранятся в интернированной {@link ParcelShape} и вычисляются один раз на форму.
  */
 @NullMarked
 @Builder
 public record Parcel(
-        boolean[][] grid, @Getter String name, @Getter char symbol, @Getter int height, @Getter int width) {
+        boolean[][] grid,
+        @Getter String name,
+        @Getter char symbol,
+        @Getter int height,
+        @Getter int width,
+        ParcelShape shape // Скомпилированная форма (интернированная, см. ParcelShape.of)
+        ) {
+
+    /**
+     * Возвращает битовые маски строк посылки.
+     *
+     * @return битовые маски строк (не может быть null)
+     */
+    public long[][] rowMasks() {
+        return shape.rowMasks();
+    }
 
     /**
      * Возвращает строковое представление посылки в виде списка строк.
@@ -52,9 +69,7 @@ public record Parcel(
      * @return строковое представление посылки
      */
     public String getForm() {
-        List<String> lines = new ArrayList<>(getLines());
-        Collections.reverse(lines);
-        return String.join("\n", lines);
+        return shape.form();
     }
 
     /**
@@ -63,15 +78,7 @@ public record Parcel(
      * @return количество заполненных клеток
      */
     public int getFilledCellsCount() {
-        int count = 0;
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                if (grid[i][j]) {
-                    count++;
-                }
-            }
-        }
-        return count;
+        return shape.filledCount();
     }
 
     /**
@@ -0,0 +1,54 @@
+package ru.hofftech.core.model.core;
+
+import org.jspecify.annotations.NullMarked;
+import ru.hofftech.core.exception.ParcelException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Позиция курсорной пагинации каталога посылок.
+ * <p>
+ * Указывает на последнюю посылку страницы по ключу сортировки (дата создания, первичный ключ).
+ * Клиенту передаётся в виде непрозрачного токена.
+ *
+ * @param createdDt дата создания последней посылки страницы
+ * @param parcelKey первичный ключ последней посылки страницы
+ */
+@NullMarked
+public record ParcelCursor(LocalDateTime createdDt, long parcelKey) {
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Кодирует позицию в токен.
+     *
+     * @return токен страницы (не может быть null)
+     */
+    public String toToken() {
+        String raw = createdDt + SEPARATOR + parcelKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Восстанавливает позицию из токена.
+     *
+     * @param token токен страницы (не может быть null)
+     * @return позиция курсора (не может быть null)
+     * @throws ParcelException если токен некорректен
+     */
+    public static ParcelCursor fromToken(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ParcelException("Некорректный токен страницы: %s".formatted(token));
+            }
+            return new ParcelCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ParcelException("Некорректный токен страницы: %s".formatted(token), e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ru.hofftech.core.model.core;
+
+import lombok.Builder;
+import org.jspecify.annotations.NullMarked;
+import ru.hofftech.shared.model.enums.ParcelOrientationType;
+
+/**
+ * Одна из различных ориентаций формы посылки.
+ *
+ * @param type  тип ориентации (поворот и/или отражение)
+ * @param shape скомпилированная форма в этой ориентации
+ */
+@NullMarked
+@Builder
+public record ParcelOrientation(
+        ParcelOrientationType type, // Тип ориентации
+        ParcelShape shape // Форма в этой ориентации
+        ) {
+
+    /**
+     * Возвращает посылку в этой ориентации.
+     * <p>
+     * Название и символ сохраняются, сетка и габариты берутся из формы ориентации.
+     *
+     * @param parcel посылка в исходной ориентации (не может быть null)
+     * @return посылка в этой ориентации (не может быть null)
+     */
+    public Parcel apply(Parcel parcel) {
+        return Parcel.builder()
+                .grid(shape.grid())
+                .name(parcel.name())
+                .symbol(parcel.symbol())
+                .height(shape.height())
+                .width(shape.width())
+                .shape(shape)
+                .build();
+    }
+}
@@ -0,0 +1,402 @@
+package ru.hofftech.core.model.core;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import ru.hofftech.core.util.BitMaskUtil;
+import ru.hofftech.shared.model.enums.ParcelOrientationType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Скомпилированная форма посылки.
+ * <p>
+ * Неизменяемый объект с производными данными формы, которые нужны при погрузке:
+ * битовые маски строк, клетки нижнего ряда (по которым проверяется опора),
+ * количество заполненных клеток и габариты. Формы интернируются по каноническому ключу
+ * (габариты, упакованная маска клеток {@link BitMaskUtil#packGrid(boolean[][])}, символ),
+ * который не зависит от способа получения формы (разбор текста, сетка или маска из базы данных),
+ * поэтому одна и та же посылка каталога компилируется один раз и разделяется всеми запросами.
+ * <p>
+ * Массивы формы общие для всех посылок с этой формой и не должны изменяться.
+ */
+@NullMarked
+public final class ParcelShape {
+    /**
+     * Максимальное количество интернированных форм.
+     * <p>
+     * Каталог посылок небольшой; ограничение защищает от роста памяти
+     * при разборе произвольных форм из файлов и запросов.
+     */
+    static final int MAX_INTERNED_SHAPES = 10_000;
+
+    private static final Map<ShapeKey, ParcelShape> INTERNED = new ConcurrentHashMap<>();
+
+    private final String form;
+    private final char symbol;
+    private final boolean[][] grid;
+    private final long[][] rowMasks;
+    private final int[] bottomCells;
+    private final long[] bottomMask;
+    private final int filledCount;
+    private final int width;
+    private final int height;
+
+    @Nullable
+    private volatile List<ParcelOrientation> orientations;
+
+    private ParcelShape(boolean[][] grid, char symbol) {
+        this.grid = grid;
+        this.symbol = symbol;
+        this.height = grid.length;
+        this.width = height == 0 ? 0 : grid[0].length;
+        this.form = renderForm(grid, symbol);
+
+        this.rowMasks = new long[height][];
+        int count = 0;
+        for (int i = 0; i < height; i++) {
+            rowMasks[i] = BitMaskUtil.toMask(grid[i]);
+            for (boolean cell : grid[i]) {
+                if (cell) {
+                    count++;
+                }
+            }
+        }
+        this.filledCount = count;
+        this.bottomCells = height == 0 ? new int[0] : collectCells(grid[height - 1]);
+        this.bottomMask = height == 0 ? new long[0] : rowMasks[height - 1];
+    }
+
+    /**
+     * Возвращает интернированную форму для заданной сетки.
+     *
+     * @param grid   сетка посылки, строки снизу вверх (не может быть null)
+     * @param symbol символ посылки
+     * @return скомпилированная форма (не может быть null)
+     */
+    public static ParcelShape of(boolean[][] grid, char symbol) {
+        int height = grid.length;
+        int width = height == 0 ? 0 : grid[0].length;
+        return intern(new ShapeKey(width, height, BitMaskUtil.packGrid(grid), symbol), () -> grid);
+    }
+
+    /**
+     * Возвращает интернированную форму по упакованной маске клеток.
+     * <p>
+     * Сетка распаковывается только если форма ещё не скомпилирована.
+     *
+     * @param mask   упакованная маска клеток (не может быть null)
+     * @param width  ширина габаритного прямоугольника
+     * @param height высота габаритного прямоугольника
+     * @param symbol символ посылки
+     * @return скомпилированная форма (не может быть null)
+     */
+    public static ParcelShape fromMask(byte[] mask, int width, int height, char symbol) {
+        return intern(
+                new ShapeKey(width, height, mask, symbol), () -> BitMaskUtil.unpackGrid(mask, width, height));
+    }
+
+    /**
+     * Возвращает интернированную форму по ключу.
+     *
+     * @param key          канонический ключ формы (не может быть null)
+     * @param gridSupplier поставщик сетки посылки, вызывается только для новой формы (не может быть null)
+     * @return скомпилированная форма (не может быть null)
+     */
+    private static ParcelShape intern(ShapeKey key, Supplier<boolean[][]> gridSupplier) {
+        ParcelShape shape = INTERNED.get(key);
+        if (shape != null) {
+            return shape;
+        }
+
+        if (INTERNED.size() >= MAX_INTERNED_SHAPES) {
+            return new ParcelShape(gridSupplier.get(), key.symbol());
+        }
+
+        return INTERNED.computeIfAbsent(key, k -> new ParcelShape(gridSupplier.get(), k.symbol()));
+    }
+
+    /**
+     * @return текст формы, строки сверху вниз (не может быть null)
+     */
+    public String form() {
+        return form;
+    }
+
+    /**
+     * @return символ посылки
+     */
+    public char symbol() {
+        return symbol;
+    }
+
+    /**
+     * @return сетка посылки, строки снизу вверх (не может быть null, не изменять)
+     */
+    public boolean[][] grid() {
+        return grid;
+    }
+
+    /**
+     * @return битовые маски строк посылки (не может быть null, не изменять)
+     */
+    public long[][] rowMasks() {
+        return rowMasks;
+    }
+
+    /**
+     * Возвращает координаты X заполненных клеток нижнего ряда, по которому проверяется опора.
+     *
+     * @return координаты X относительно левого края посылки (не может быть null, не изменять)
+     */
+    public int[] bottomCells() {
+        return bottomCells;
+    }
+
+    /**
+     * Возвращает битовую маску нижнего ряда, по которому проверяется опора.
+     *
+     * @return битовая маска нижнего ряда (не может быть null, не изменять)
+     */
+    public long[] bottomMask() {
+        return bottomMask;
+    }
+
+    /**
+     * @return количество заполненных клеток
+     */
+    public int filledCount() {
+        return filledCount;
+    }
+
+    /**
+     * @return true если форма полностью заполняет габаритный прямоугольник
+     */
+    public boolean isRectangular() {
+        return filledCount == width * height;
+    }
+
+    /**
+     * @return ширина габаритного прямоугольника
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * @return высота габаритного прямоугольника
+     */
+    public int height() {
+        return height;
+    }
+
+    /**
+     * Возвращает различные ориентации формы (повороты и отражения).
+     * <p>
+     * Ориентации вычисляются один раз на форму; симметричные дубликаты отбрасываются,
+     * первой всегда идёт исходная ориентация.
+     *
+     * @return список различных ориентаций (не может быть null)
+     */
+    public List<ParcelOrientation> orientations() {
+        List<ParcelOrientation> result = orientations;
+        if (result == null) {
+            result = buildOrientations();
+            orientations = result;
+        }
+        return result;
+    }
+
+    /**
+     * Сравнивает формы по тексту и символу.
+     *
+     * @param o объект для сравнения
+     * @return true если объекты равны
+     */
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ParcelShape that = (ParcelShape) o;
+        return symbol == that.symbol && form.equals(that.form);
+    }
+
+    /**
+     * Вычисляет хеш-код формы.
+     *
+     * @return хеш-код
+     */
+    @Override
+    public int hashCode() {
+        return 31 * form.hashCode() + symbol;
+    }
+
+    /**
+     * Строит текст формы по сетке: строки сверху вниз, пустые клетки - пробелы.
+     *
+     * @param grid   сетка посылки (не может быть null)
+     * @param symbol символ посылки
+     * @return текст формы (не может быть null)
+     */
+    private static String renderForm(boolean[][] grid, char symbol) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = grid.length - 1; i >= 0; i--) {
+            for (boolean cell : grid[i]) {
+                sb.append(cell ? symbol : ' ');
+            }
+            if (i > 0) {
+                sb.append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Строит все ориентации формы без симметричных дубликатов.
+     *
+     * @return список различных ориентаций (не может быть null)
+     */
+    private List<ParcelOrientation> buildOrientations() {
+        Set<ParcelShape> seen = new LinkedHashSet<>();
+        List<ParcelOrientation> result = new ArrayList<>();
+
+        for (ParcelOrientationType type : ParcelOrientationType.values()) {
+            ParcelShape oriented = type == ParcelOrientationType.ORIGINAL ? this : of(orient(grid, type), symbol);
+            if (seen.add(oriented)) {
+                result.add(ParcelOrientation.builder().type(type).shape(oriented).build());
+            }
+        }
+
+        return List.copyOf(result);
+    }
+
+    /**
+     * Строит сетку посылки в указанной ориентации.
+     *
+     * @param grid сетка посылки, строки снизу вверх (не может быть null)
+     * @param type тип ориентации (не может быть null)
+     * @return новая сетка в указанной ориентации (не может быть null)
+     */
+    private static boolean[][] orient(boolean[][] grid, ParcelOrientationType type) {
+        boolean[][] result = switch (type) {
+            case MIRROR, MIRROR_ROTATE_90, MIRROR_ROTATE_180, MIRROR_ROTATE_270 -> mirror(grid);
+            default -> grid;
+        };
+
+        int turns = switch (type) {
+            case ROTATE_90, MIRROR_ROTATE_90 -> 1;
+            case ROTATE_180, MIRROR_ROTATE_180 -> 2;
+            case ROTATE_270, MIRROR_ROTATE_270 -> 3;
+            default -> 0;
+        };
+
+        for (int i = 0; i < turns; i++) {
+            result = rotateClockwise(result);
+        }
+        return result;
+    }
+
+    /**
+     * Отражает сетку слева направо.
+     *
+     * @param grid исходная сетка (не может быть null)
+     * @return отражённая сетка (не может быть null)
+     */
+    private static boolean[][] mirror(boolean[][] grid) {
+        int h = grid.length;
+        int w = h == 0 ? 0 : grid[0].length;
+
+        boolean[][] result = new boolean[h][w];
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                result[y][w - 1 - x] = grid[y][x];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Поворачивает сетку на 90° по часовой стрелке (строки снизу вверх).
+     *
+     * @param grid исходная сетка (не может быть null)
+     * @return повёрнутая сетка (не может быть null)
+     */
+    private static boolean[][] rotateClockwise(boolean[][] grid) {
+        int h = grid.length;
+        int w = h == 0 ? 0 : grid[0].length;
+
+        boolean[][] result = new boolean[w][h];
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                result[w - 1 - x][y] = grid[y][x];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Собирает координаты заполненных клеток строки.
+     *
+     * @param row строка сетки (не может быть null)
+     * @return координаты X заполненных клеток (не может быть null)
+     */
+    private static int[] collectCells(boolean[] row) {
+        int count = 0;
+        for (boolean cell : row) {
+            if (cell) {
+                count++;
+            }
+        }
+
+        int[] cells = new int[count];
+        int index = 0;
+        for (int x = 0; x < row.length; x++) {
+            if (row[x]) {
+                cells[index++] = x;
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Канонический ключ интернирования формы.
+     *
+     * @param width  ширина габаритного прямоугольника
+     * @param height высота габаритного прямоугольника
+     * @param mask   упакованная маска клеток
+     * @param symbol символ посылки
+     */
+    private record ShapeKey(int width, int height, byte[] mask, char symbol) {
+        /**
+         * Сравнивает ключи по габаритам, содержимому маски и символу.
+         *
+         * @param o объект для сравнения
+         * @return true если ключи равны
+         */
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ShapeKey that)) return false;
+            return width == that.width
+                    && height == that.height
+                    && symbol == that.symbol
+                    && Arrays.equals(mask, that.mask);
+        }
+
+        /**
+         * Вычисляет хеш-код ключа.
+         *
+         * @return хеш-код
+         */
+        @Override
+        public int hashCode() {
+            return 31 * (31 * (31 * width + height) + symbol) + Arrays.hashCode(mask);
+        }
+    }
+}
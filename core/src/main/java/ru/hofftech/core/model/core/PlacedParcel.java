@@ -2,18 +2,33 @@ package ru.hofftech.core.model.core;
 
 import lombok.Builder;
 import org.jspecify.annotations.NullMarked;
+import ru.hofftech.shared.model.enums.ParcelOrientationType;
 
 /**
  * Информация о размещённой в машине посылке.
- * Содержит саму посылку и её координаты левого нижнего угла.
+ * Содержит саму посылку (в той ориентации, в которой она размещена),
+ * её координаты левого нижнего угла и ориентацию.
  */
 @NullMarked
 @Builder
 public record PlacedParcel(
         Parcel parcel, // Сама посылка
         int x, // Координата X (от 0)
-        int y // Координата Y (от 0)
+        int y, // Координата Y (от 0)
+        ParcelOrientationType orientation // Ориентация посылки (по умолчанию - исходная)
         ) {
+
+    /**
+     * Канонический конструктор.
+     * <p>
+     * Если ориентация не указана, посылка считается размещённой в исходной ориентации.
+     */
+    public PlacedParcel {
+        if (orientation == null) {
+            orientation = ParcelOrientationType.ORIGINAL;
+        }
+    }
+
     /**
      * Возвращает максимальную X координату, занимаемую посылкой.
      *
@@ -4,6 +4,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -35,7 +36,8 @@ import java.time.LocalDateTime;
 public class BillingOutboxEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_key_seq")
+    @SequenceGenerator(name = "outbox_key_seq", sequenceName = "billing_outbox_outbox_key_seq", allocationSize = 50)
     private Long outboxKey;
 
     @NotNull
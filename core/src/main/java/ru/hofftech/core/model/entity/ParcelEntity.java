@@ -4,6 +4,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -23,6 +24,8 @@ import java.time.LocalDateTime;
  * Сущность для хранения посылок в базе данных.
  * <p>
  * Содержит название, форму и символ посылки, а также временные метки.
+ * Рядом с формой хранится разобранная геометрия (габариты, количество клеток и упакованная маска),
+ * чтобы при чтении не разбирать текст формы заново.
  */
 @NullMarked
 @Builder
@@ -37,7 +40,8 @@ import java.time.LocalDateTime;
 public class ParcelEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "parcel_key_seq")
+    @SequenceGenerator(name = "parcel_key_seq", sequenceName = "parcel_parcel_key_seq", allocationSize = 50)
     private Long parcelKey;
 
     @NotNull
@@ -49,6 +53,21 @@ public class ParcelEntity {
     @NotNull
     private Character symbol;
 
+    @NotNull
+    private Integer width;
+
+    @NotNull
+    private Integer height;
+
+    @NotNull
+    private Integer filledCount;
+
+    /**
+     * Упакованная маска клеток (см. {@link ru.hofftech.core.util.BitMaskUtil#packGrid(boolean[][])}).
+     */
+    @NotNull
+    private byte[] mask;
+
     @CreationTimestamp
     private LocalDateTime createdDt;
 
@@ -0,0 +1,95 @@
+package ru.hofftech.core.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Репозиторий обслуживания секций outbox таблицы биллинга через JDBC.
+ * <p>
+ * Секции создаются функциями базы данных ({@code billing_outbox_create_partitions}),
+ * список секций читается из системного каталога. Имена секций подставляются в DDL,
+ * поэтому принимаются только имена вида {@code billing_outbox_pYYYYMMDD}.
+ */
+@NullMarked
+@Repository
+@RequiredArgsConstructor
+public class BillingOutboxPartitionRepository {
+    /**
+     * Шаблон имени дневной секции.
+     */
+    public static final Pattern PARTITION_NAME = Pattern.compile("billing_outbox_p(\\d{8})");
+
+    private static final String LIST_PARTITIONS_SQL =
+            """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'billing_outbox'::regclass
+            ORDER BY c.relname
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Создаёт недостающие секции с текущего дня на указанное количество дней вперёд
+     * и секции для дней, события которых лежат в секции по умолчанию.
+     *
+     * @param daysAhead количество дней вперёд
+     */
+    public void createPartitions(int daysAhead) {
+        jdbcTemplate.queryForObject("SELECT billing_outbox_create_partitions(?)", Integer.class, daysAhead);
+    }
+
+    /**
+     * Возвращает имена дневных секций (без секции по умолчанию).
+     *
+     * @return имена секций в порядке дат
+     */
+    public List<String> findDailyPartitions() {
+        return jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class).stream()
+                .filter(name -> PARTITION_NAME.matcher(name).matches())
+                .toList();
+    }
+
+    /**
+     * Проверяет, есть ли в секции неотправленные события.
+     *
+     * @param partitionName имя дневной секции
+     * @return true если в секции есть неотправленные события
+     */
+    public boolean hasUnsent(String partitionName) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + checked(partitionName) + " WHERE sent_dt IS NULL)", Boolean.class);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    /**
+     * Отсоединяет секцию от таблицы и удаляет её.
+     *
+     * @param partitionName имя дневной секции
+     */
+    public void detachAndDrop(String partitionName) {
+        String name = checked(partitionName);
+        jdbcTemplate.execute("ALTER TABLE billing_outbox DETACH PARTITION " + name);
+        jdbcTemplate.execute("DROP TABLE " + name);
+    }
+
+    /**
+     * Проверяет имя секции перед подстановкой в запрос.
+     *
+     * @param partitionName имя секции
+     * @return то же имя
+     * @throws IllegalArgumentException если имя не является именем дневной секции
+     */
+    private String checked(String partitionName) {
+        if (!PARTITION_NAME.matcher(partitionName).matches()) {
+            throw new IllegalArgumentException("Недопустимое имя секции outbox: " + partitionName);
+        }
+        return partitionName;
+    }
+}
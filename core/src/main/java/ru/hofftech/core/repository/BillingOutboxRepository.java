@@ -2,9 +2,14 @@ package ru.hofftech.core.repository;
 
 import org.jspecify.annotations.NullMarked;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.hofftech.core.model.entity.BillingOutboxEntity;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,12 +21,69 @@ import java.util.UUID;
 public interface BillingOutboxRepository extends JpaRepository<BillingOutboxEntity, UUID> {
 
     /**
-     * Находит все неотправленные события.
+     * Захватывает пачку неотправленных событий для отправки.
      * <p>
-     * Возвращает записи, у которых sentDt = NULL,
-     * отсортированные по дате создания по возрастанию.
+     * Строки блокируются до конца транзакции; строки, уже заблокированные другими
+     * обработчиками или экземплярами сервиса, пропускаются. Поэтому несколько
+     * обработчиков могут разбирать таблицу одновременно, не получая одни и те же события.
+     * Ограничение по дате создания отсекает старые секции таблицы.
      *
-     * @return список неотправленных событий
+     * @param limit максимальный размер пачки
+     * @param since наименьшая дата создания события
+     * @return заблокированные события в порядке создания
      */
-    List<BillingOutboxEntity> findBySentDtIsNullOrderByCreatedDtAsc();
+    @Query(
+            value =
+                    """
+                    SELECT * FROM billing_outbox
+                    WHERE sent_dt IS NULL AND created_dt >= :since
+                    ORDER BY created_dt, outbox_key
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED
+                    """,
+            nativeQuery = true)
+    List<BillingOutboxEntity> lockUnsentChunk(@Param("limit") int limit, @Param("since") LocalDateTime since);
+
+    /**
+     * Захватывает указанные неотправленные события для немедленной отправки.
+     * <p>
+     * Уже отправленные и заблокированные другими обработчиками события пропускаются.
+     *
+     * @param outboxKeys ключи событий
+     * @param since      наименьшая дата создания события
+     * @return заблокированные события в порядке создания
+     */
+    @Query(
+            value =
+                    """
+                    SELECT * FROM billing_outbox
+                    WHERE outbox_key IN (:outboxKeys) AND sent_dt IS NULL AND created_dt >= :since
+                    ORDER BY created_dt, outbox_key
+                    FOR UPDATE SKIP LOCKED
+                    """,
+            nativeQuery = true)
+    List<BillingOutboxEntity> lockUnsentByKeys(
+            @Param("outboxKeys") Collection<Long> outboxKeys, @Param("since") LocalDateTime since);
+
+    /**
+     * Отмечает события как отправленные одним запросом.
+     * <p>
+     * Граница по дате создания позволяет не обращаться к секциям, в которых событий пачки нет.
+     *
+     * @param outboxKeys ключи отправленных событий
+     * @param sentDt     время отправки
+     * @param since      наименьшая дата создания среди отправленных событий
+     * @return количество обновлённых строк
+     */
+    @Modifying
+    @Query(
+            """
+            UPDATE BillingOutboxEntity e
+            SET e.sentDt = :sentDt, e.modifiedDt = :sentDt
+            WHERE e.outboxKey IN :outboxKeys AND e.createdDt >= :since
+            """)
+    int markSent(
+            @Param("outboxKeys") Collection<Long> outboxKeys,
+            @Param("sentDt") LocalDateTime sentDt,
+            @Param("since") LocalDateTime since);
 }
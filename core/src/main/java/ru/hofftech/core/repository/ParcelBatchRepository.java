@@ -0,0 +1,120 @@
+package ru.hofftech.core.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.util.BitMaskUtil;
+import ru.hofftech.shared.model.enums.ParcelImportConflictPolicy;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Репозиторий пакетной записи посылок через JDBC.
+ * <p>
+ * Вставка выполняется многострочными запросами, без обращения к контексту персистентности.
+ * JDBC используется ради upsert {@code INSERT ... ON CONFLICT}, который Hibernate не поддерживает:
+ * конфликт по уникальному названию обрабатывается самой базой данных, а фактический результат
+ * по каждой посылке возвращается через {@code RETURNING}.
+ */
+@NullMarked
+@Repository
+@RequiredArgsConstructor
+public class ParcelBatchRepository {
+    /**
+     * Количество параметров в одной строке вставки.
+     */
+    private static final int PARAMS_PER_ROW = 7;
+
+    /**
+     * Максимальное количество строк в одном запросе (ограничение протокола PostgreSQL на число параметров).
+     */
+    private static final int MAX_ROWS_PER_STATEMENT = Short.MAX_VALUE / PARAMS_PER_ROW;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO parcel (name, form, symbol, width, height, filled_count, mask) VALUES ";
+
+    private static final String ROW_SQL = "(?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String ON_CONFLICT_SKIP_SQL = " ON CONFLICT (name) DO NOTHING";
+
+    private static final String ON_CONFLICT_UPDATE_SQL =
+            """
+             ON CONFLICT (name) DO UPDATE SET
+                form = EXCLUDED.form,
+                symbol = EXCLUDED.symbol,
+                width = EXCLUDED.width,
+                height = EXCLUDED.height,
+                filled_count = EXCLUDED.filled_count,
+                mask = EXCLUDED.mask,
+                modified_dt = (now() AT TIME ZONE 'UTC')::TIMESTAMP
+            """;
+
+    /**
+     * Строка вставлена, если у неё нет удалившей транзакции ({@code xmax = 0}), иначе обновлена.
+     */
+    private static final String RETURNING_SQL = " RETURNING name, (xmax = 0) AS inserted";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Записывает посылки пакетами.
+     * <p>
+     * При политике {@link ParcelImportConflictPolicy#FAIL} конфликт по названию
+     * приводит к ошибке базы данных и откату транзакции.
+     *
+     * @param parcels        посылки с уникальными названиями (не может быть null)
+     * @param conflictPolicy политика для уже существующих посылок (не может быть null)
+     * @param batchSize      количество записей в одном запросе
+     * @return названия вставленных и обновлённых посылок; остальные пропущены из-за конфликта
+     */
+    public UpsertResult upsertAll(List<Parcel> parcels, ParcelImportConflictPolicy conflictPolicy, int batchSize) {
+        String conflictSql = switch (conflictPolicy) {
+            case SKIP -> ON_CONFLICT_SKIP_SQL;
+            case UPDATE -> ON_CONFLICT_UPDATE_SQL;
+            case FAIL -> "";
+        };
+
+        int chunkSize = Math.clamp(batchSize, 1, MAX_ROWS_PER_STATEMENT);
+        Set<String> inserted = new HashSet<>();
+        Set<String> updated = new HashSet<>();
+
+        for (int from = 0; from < parcels.size(); from += chunkSize) {
+            List<Parcel> chunk = parcels.subList(from, Math.min(from + chunkSize, parcels.size()));
+            String sql = INSERT_SQL + String.join(", ", Collections.nCopies(chunk.size(), ROW_SQL)) + conflictSql
+                    + RETURNING_SQL;
+
+            jdbcTemplate.query(
+                    sql,
+                    ps -> {
+                        int index = 1;
+                        for (Parcel parcel : chunk) {
+                            ps.setString(index++, parcel.name());
+                            ps.setString(index++, parcel.getForm());
+                            ps.setString(index++, String.valueOf(parcel.symbol()));
+                            ps.setInt(index++, parcel.width());
+                            ps.setInt(index++, parcel.height());
+                            ps.setInt(index++, parcel.getFilledCellsCount());
+                            ps.setBytes(index++, BitMaskUtil.packGrid(parcel.grid()));
+                        }
+                    },
+                    rs -> {
+                        (rs.getBoolean("inserted") ? inserted : updated).add(rs.getString("name"));
+                    });
+        }
+
+        return new UpsertResult(inserted, updated);
+    }
+
+    /**
+     * Результат пакетной записи посылок.
+     *
+     * @param inserted названия вставленных посылок
+     * @param updated  названия обновлённых посылок
+     */
+    public record UpsertResult(Set<String> inserted, Set<String> updated) {}
+}
@@ -1,13 +1,25 @@
 package ru.hofftech.core.repository;
 
+import jakarta.persistence.QueryHint;
 import org.jspecify.annotations.NullMarked;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.hofftech.core.model.entity.ParcelEntity;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Репозиторий для работы с сущностью ParcelEntity.
@@ -24,6 +36,23 @@ public interface ParcelRepository extends JpaRepository<ParcelEntity, Long> {
      */
     Optional<ParcelEntity> findByName(String name);
 
+    /**
+     * Находит посылки по набору названий одним запросом.
+     *
+     * @param names названия посылок
+     * @return найденные посылки (отсутствующие названия пропускаются)
+     */
+    List<ParcelEntity> findByNameIn(Collection<String> names);
+
+    /**
+     * Находит уже существующие названия из набора одним запросом.
+     *
+     * @param names названия посылок
+     * @return существующие названия
+     */
+    @Query("SELECT p.name FROM ParcelEntity p WHERE p.name IN :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+
     /**
      * Находит все посылки с пагинацией.
      *
@@ -31,4 +60,47 @@ public interface ParcelRepository extends JpaRepository<ParcelEntity, Long> {
      * @return страница с посылками
      */
     Page<ParcelEntity> findAll(Pageable pageable);
+
+    /**
+     * Находит первую страницу посылок для курсорной пагинации (сначала новые).
+     *
+     * @param limit размер выборки
+     * @return посылки, упорядоченные по дате создания и первичному ключу по убыванию
+     */
+    List<ParcelEntity> findAllByOrderByCreatedDtDescParcelKeyDesc(Limit limit);
+
+    /**
+     * Находит страницу посылок, следующую за указанной позицией (сначала новые).
+     * <p>
+     * Поиск выполняется по индексу (created_dt, parcel_key) без OFFSET и без подсчёта общего количества.
+     *
+     * @param createdDt дата создания последней посылки предыдущей страницы
+     * @param parcelKey первичный ключ последней посылки предыдущей страницы
+     * @param limit     размер выборки
+     * @return посылки, упорядоченные по дате создания и первичному ключу по убыванию
+     */
+    @Query(
+            value =
+                    """
+                    SELECT * FROM parcel
+                    WHERE (created_dt, parcel_key) < (:createdDt, :parcelKey)
+                    ORDER BY created_dt DESC, parcel_key DESC
+                    """,
+            nativeQuery = true)
+    List<ParcelEntity> findPageBefore(
+            @Param("createdDt") LocalDateTime createdDt,
+            @Param("parcelKey") long parcelKey,
+            Limit limit);
+
+    /**
+     * Читает все посылки потоком через серверный курсор.
+     * <p>
+     * Записи выбираются из базы данных пачками по размеру выборки, а не целиком в память.
+     * Поток должен потребляться внутри транзакции и закрываться после чтения.
+     *
+     * @return поток посылок, упорядоченных по первичному ключу
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT p FROM ParcelEntity p ORDER BY p.parcelKey")
+    Stream<ParcelEntity> streamAll();
 }
@@ -0,0 +1,170 @@
+package ru.hofftech.core.schedule;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import ru.hofftech.core.config.BillingOutboxProperties;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Слушатель оповещений PostgreSQL о новых событиях outbox.
+ * <p>
+ * Держит выделенное соединение (вне пула) с подпиской {@code LISTEN} на канал
+ * {@value #CHANNEL}, в который пишет триггер вставки в {@code billing_outbox}.
+ * Оповещения получают все экземпляры сервиса; каждый из них запускает отправку
+ * через {@link BillingOutboxScheduler#sendRecent()}, поэтому разбор таблицы выполняет только
+ * экземпляр, захвативший блокировку ShedLock. Оповещения объединяются: пока отправка
+ * выполняется, любое количество оповещений приводит не более чем к одному повторному запуску.
+ * При разрыве соединения слушатель переподключается; пропущенные события отправит планировщик.
+ */
+@Slf4j
+@NullMarked
+@Component
+public class BillingOutboxNotificationListener implements SmartLifecycle {
+    /**
+     * Канал оповещений о вставке событий outbox.
+     */
+    public static final String CHANNEL = "billing_outbox_inserted";
+
+    private final BillingOutboxScheduler billingOutboxScheduler;
+    private final BillingOutboxProperties billingOutboxProperties;
+    private final DataSourceProperties dataSourceProperties;
+    private final ExecutorService wakeUpExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("billing-outbox-wake-up").daemon(true).factory());
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    @Nullable
+    private volatile Thread listener;
+
+    /**
+     * Конструктор слушателя.
+     *
+     * @param billingOutboxScheduler  планировщик отправки событий outbox
+     * @param billingOutboxProperties свойства отправки событий
+     * @param dataSourceProperties    параметры подключения к базе данных
+     */
+    public BillingOutboxNotificationListener(
+            BillingOutboxScheduler billingOutboxScheduler,
+            BillingOutboxProperties billingOutboxProperties,
+            DataSourceProperties dataSourceProperties) {
+        this.billingOutboxScheduler = billingOutboxScheduler;
+        this.billingOutboxProperties = billingOutboxProperties;
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void start() {
+        if (!billingOutboxProperties.isNotifyListenerEnabled() || listener != null) {
+            return;
+        }
+        listener = Thread.ofPlatform()
+                .name("billing-outbox-notify-listener")
+                .daemon(true)
+                .start(this::listen);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void stop() {
+        Thread current = listener;
+        listener = null;
+        if (current != null) {
+            current.interrupt();
+        }
+        wakeUpExecutor.shutdownNow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRunning() {
+        return listener != null;
+    }
+
+    /**
+     * Обрабатывает оповещение о новых событиях.
+     * <p>
+     * Если запуск отправки уже ожидает выполнения, оповещение поглощается им.
+     */
+    public void onNotification() {
+        if (wakeUpPending.compareAndSet(false, true)) {
+            wakeUpExecutor.execute(this::wakeUp);
+        }
+    }
+
+    /**
+     * Запускает отправку событий; оповещения, пришедшие во время отправки, запустят её повторно.
+     */
+    private void wakeUp() {
+        wakeUpPending.set(false);
+        try {
+            billingOutboxScheduler.sendRecent();
+        } catch (RuntimeException e) {
+            log.error("Ошибка отправки событий outbox по оповещению: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Слушает канал оповещений, переподключаясь при ошибках, пока поток не будет остановлен.
+     */
+    private void listen() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Подписка на оповещения {} установлена", CHANNEL);
+
+                // Событие могло быть вставлено, пока подписки не было
+                onNotification();
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (!Thread.currentThread().isInterrupted()) {
+                    PGNotification[] notifications =
+                            pgConnection.getNotifications((int) billingOutboxProperties.getNotifyPollTimeoutMs());
+                    if (notifications != null && notifications.length > 0) {
+                        onNotification();
+                    }
+                }
+            } catch (SQLException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                log.warn("Соединение для оповещений {} потеряно: {}", CHANNEL, e.getMessage());
+                pauseBeforeReconnect();
+            }
+        }
+    }
+
+    /**
+     * Выдерживает паузу перед повторным подключением.
+     */
+    private void pauseBeforeReconnect() {
+        try {
+            Thread.sleep(billingOutboxProperties.getNotifyReconnectDelayMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
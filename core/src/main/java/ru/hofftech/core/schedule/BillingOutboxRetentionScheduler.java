@@ -0,0 +1,47 @@
+package ru.hofftech.core.schedule;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.hofftech.core.service.BillingOutboxRetentionService;
+
+/**
+ * Планировщик обслуживания секций outbox таблицы биллинга.
+ * <p>
+ * Использует ShedLock, чтобы секции создавал и удалял только один экземпляр сервиса.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BillingOutboxRetentionScheduler {
+
+    private final BillingOutboxRetentionService billingOutboxRetentionService;
+
+    /**
+     * Создаёт секции при запуске сервиса, не дожидаясь обслуживания по расписанию.
+     * <p>
+     * Создание секций идемпотентно, поэтому блокировка не требуется.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void precreate() {
+        if (billingOutboxRetentionService.createPartitions()) {
+            log.info("Секции outbox созданы при запуске");
+        }
+    }
+
+    /**
+     * Создаёт секции заранее и удаляет устаревшие отправленные секции по расписанию.
+     */
+    @Scheduled(cron = "#{billingOutboxRetentionProperties.interval}")
+    @SchedulerLock(
+            name = "#{billingOutboxRetentionProperties.nameScheduler}",
+            lockAtMostFor = "#{'PT' + billingOutboxRetentionProperties.lockIntervalMinutes + 'M'}")
+    public void maintain() {
+        int dropped = billingOutboxRetentionService.maintain();
+        log.info("Обслуживание секций outbox завершено, удалено секций: {}", dropped);
+    }
+}
@@ -59,6 +59,24 @@ public class BillingOutboxScheduler {
             name = "#{billingOutboxProperties.nameScheduler}",
             lockAtMostFor = "#{'PT' + billingOutboxProperties.lockIntervalMinutes + 'M'}")
     public void send() {
+        try {
+            schedulerLockExtension.startLockExtensionTimer();
+            billingOutboxService.handleAll();
+        } finally {
+            schedulerLockExtension.stopLockExtensionTimer();
+        }
+    }
+
+    /**
+     * Отправляет свежие события outbox по оповещению о новых событиях.
+     * <p>
+     * Выполняется под той же распределённой блокировкой, что и задача по расписанию,
+     * но затрагивает только свежие секции таблицы.
+     */
+    @SchedulerLock(
+            name = "#{billingOutboxProperties.nameScheduler}",
+            lockAtMostFor = "#{'PT' + billingOutboxProperties.lockIntervalMinutes + 'M'}")
+    public void sendRecent() {
         try {
             schedulerLockExtension.startLockExtensionTimer();
             billingOutboxService.handle();
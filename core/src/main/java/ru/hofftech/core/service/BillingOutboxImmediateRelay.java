@@ -0,0 +1,90 @@
+package ru.hofftech.core.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import ru.hofftech.core.config.BillingOutboxProperties;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Немедленная отправка событий outbox из очереди {@link BillingOutboxRelayQueue}.
+ * <p>
+ * Выделенный поток забирает ключи событий пачками и отправляет их сразу после
+ * фиксации транзакции, не дожидаясь планировщика. Ошибки отправки не повторяются:
+ * неотправленные события остаются в таблице, и их отправит планировщик.
+ */
+@Slf4j
+@NullMarked
+@Component
+@RequiredArgsConstructor
+public class BillingOutboxImmediateRelay implements SmartLifecycle {
+    /**
+     * Время ожидания событий, после которого поток проверяет признак остановки.
+     */
+    private static final long POLL_TIMEOUT_MS = 500;
+
+    private final BillingOutboxRelayQueue billingOutboxRelayQueue;
+    private final BillingOutboxService billingOutboxService;
+    private final BillingOutboxProperties billingOutboxProperties;
+
+    @Nullable
+    private volatile Thread worker;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void start() {
+        if (!billingOutboxProperties.isImmediateRelayEnabled() || worker != null) {
+            return;
+        }
+        worker = Thread.ofPlatform()
+                .name("billing-outbox-immediate-relay")
+                .daemon(true)
+                .start(this::run);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void stop() {
+        Thread current = worker;
+        worker = null;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    /**
+     * Забирает события из очереди и отправляет их, пока поток не будет остановлен.
+     */
+    private void run() {
+        int chunkSize = Math.max(1, billingOutboxProperties.getChunkSize());
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<Long> keys = billingOutboxRelayQueue.take(chunkSize, POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (!keys.isEmpty()) {
+                    billingOutboxService.relayKeys(keys);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Ошибка немедленной отправки событий outbox: {}", e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ru.hofftech.core.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.stereotype.Component;
+import ru.hofftech.core.config.BillingOutboxProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Очередь событий outbox для немедленной отправки внутри экземпляра сервиса.
+ * <p>
+ * Ключи событий попадают в очередь после фиксации транзакции, в которой они сохранены.
+ * Очередь ограничена: при переполнении ключ отбрасывается, а событие отправит
+ * планировщик при следующем запуске. Очередь не переживает перезапуск сервиса.
+ */
+@Slf4j
+@NullMarked
+@Component
+public class BillingOutboxRelayQueue {
+    private final BlockingQueue<Long> queue;
+
+    /**
+     * Создаёт очередь немедленной отправки.
+     *
+     * @param billingOutboxProperties свойства отправки событий
+     */
+    public BillingOutboxRelayQueue(BillingOutboxProperties billingOutboxProperties) {
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, billingOutboxProperties.getRelayQueueCapacity()));
+    }
+
+    /**
+     * Добавляет событие в очередь без ожидания.
+     *
+     * @param outboxKey ключ события
+     * @return true если событие добавлено, false если очередь переполнена
+     */
+    public boolean offer(Long outboxKey) {
+        boolean added = queue.offer(outboxKey);
+        if (!added) {
+            log.debug("Очередь немедленной отправки переполнена, событие {} отправит планировщик", outboxKey);
+        }
+        return added;
+    }
+
+    /**
+     * Ожидает хотя бы одно событие и забирает из очереди пачку событий.
+     *
+     * @param maxSize максимальный размер пачки
+     * @param timeout время ожидания первого события
+     * @param unit    единица измерения времени ожидания
+     * @return ключи событий (пустой список, если за время ожидания событий не было)
+     * @throws InterruptedException если ожидание прервано
+     */
+    public List<Long> take(int maxSize, long timeout, TimeUnit unit) throws InterruptedException {
+        Long first = queue.poll(timeout, unit);
+        if (first == null) {
+            return List.of();
+        }
+
+        List<Long> keys = new ArrayList<>(Math.min(maxSize, queue.size() + 1));
+        keys.add(first);
+        queue.drainTo(keys, maxSize - 1);
+        return keys;
+    }
+
+    /**
+     * @return количество событий в очереди
+     */
+    public int size() {
+        return queue.size();
+    }
+}
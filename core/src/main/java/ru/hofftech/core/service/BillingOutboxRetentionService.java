@@ -0,0 +1,103 @@
+package ru.hofftech.core.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.hofftech.core.config.BillingOutboxRetentionProperties;
+import ru.hofftech.core.repository.BillingOutboxPartitionRepository;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.regex.Matcher;
+
+/**
+ * Сервис обслуживания секций outbox таблицы биллинга.
+ * <p>
+ * Заранее создаёт дневные секции и удаляет секции старше срока хранения,
+ * если все события в них отправлены. Секции с неотправленными событиями
+ * сохраняются до их отправки.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@NullMarked
+public class BillingOutboxRetentionService {
+
+    private final BillingOutboxPartitionRepository partitionRepository;
+    private final BillingOutboxRetentionProperties retentionProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Создаёт недостающие секции на текущий и ближайшие дни, а также секции
+     * для дней, события которых попали в секцию по умолчанию.
+     * <p>
+     * Ошибка создания журналируется и не пробрасывается.
+     *
+     * @return true, если секции созданы
+     */
+    public boolean createPartitions() {
+        try {
+            partitionRepository.createPartitions(Math.max(0, retentionProperties.getPrecreateDays()));
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Не удалось создать секции outbox", e);
+            return false;
+        }
+    }
+
+    /**
+     * Создаёт недостающие секции и удаляет устаревшие полностью отправленные секции.
+     * <p>
+     * Удаление выполняется и в случае ошибки создания секций.
+     *
+     * @return количество удалённых секций
+     */
+    public int maintain() {
+        createPartitions();
+
+        // Секция удаляется, если её день целиком закончился раньше срока хранения
+        LocalDate cutoff = LocalDate.now(ZoneOffset.UTC).minusDays(Math.max(0, retentionProperties.getRetentionDays()));
+        int dropped = 0;
+
+        for (String partitionName : partitionRepository.findDailyPartitions()) {
+            LocalDate day = partitionDay(partitionName);
+            if (day.plusDays(1).isAfter(cutoff)) {
+                continue;
+            }
+
+            Boolean purged = transactionTemplate.execute(status -> {
+                if (partitionRepository.hasUnsent(partitionName)) {
+                    return false;
+                }
+                partitionRepository.detachAndDrop(partitionName);
+                return true;
+            });
+
+            if (Boolean.TRUE.equals(purged)) {
+                dropped++;
+                log.info("Удалена секция outbox {}", partitionName);
+            } else {
+                log.warn("Секция outbox {} старше срока хранения, но содержит неотправленные события", partitionName);
+            }
+        }
+
+        return dropped;
+    }
+
+    /**
+     * Определяет день секции по её имени.
+     *
+     * @param partitionName имя дневной секции
+     * @return день секции
+     */
+    private LocalDate partitionDay(String partitionName) {
+        Matcher matcher = BillingOutboxPartitionRepository.PARTITION_NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Недопустимое имя секции outbox: " + partitionName);
+        }
+        return LocalDate.parse(matcher.group(1), DateTimeFormatter.BASIC_ISO_DATE);
+    }
+}
@@ -4,8 +4,13 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.hofftech.core.config.BillingOutboxProperties;
 import ru.hofftech.core.model.entity.BillingOutboxEntity;
 import ru.hofftech.core.repository.BillingOutboxRepository;
 import ru.hofftech.core.util.JsonUtil;
@@ -15,25 +20,45 @@ import ru.hofftech.shared.model.dto.KafkaHeadersDto;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Сервис для работы с outbox таблицей биллинга.
  * <p>
  * Обеспечивает сохранение событий в outbox таблицу в рамках транзакции
- * и их последующую отправку в Kafka через планировщик.
+ * и их последующую отправку в Kafka: сразу после фиксации транзакции через
+ * {@link BillingOutboxRelayQueue} и планировщиком для пропущенных событий.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @NullMarked
 public class BillingOutboxService {
+    /**
+     * Нижняя граница даты создания при неограниченной глубине выборки.
+     */
+    private static final LocalDateTime RELAY_SINCE_UNBOUNDED = LocalDateTime.of(1970, 1, 1, 0, 0);
 
     private final BillingOutboxRepository outboxRepository;
     private final KafkaService kafkaService;
+    private final BillingOutboxProperties billingOutboxProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService billingOutboxRelayExecutor;
+    private final BillingOutboxRelayQueue billingOutboxRelayQueue;
 
     /**
      * Сохраняет событие в outbox таблицу в рамках текущей транзакции.
+     * <p>
+     * После фиксации транзакции ключ события передаётся в очередь немедленной отправки;
+     * при откате транзакции событие в очередь не попадает.
      *
      * @param billingDto DTO с данными для биллинга
      */
@@ -46,40 +71,251 @@ public class BillingOutboxService {
 
         outboxRepository.save(entity);
         log.info("Событие сохранено в outbox: id={}", entity.getOutboxKey());
+
+        if (billingOutboxProperties.isImmediateRelayEnabled()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            Long outboxKey = entity.getOutboxKey();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    billingOutboxRelayQueue.offer(outboxKey);
+                }
+            });
+        }
     }
 
     /**
-     * Обрабатывает неотправленные события из outbox таблицы.
+     * Немедленно отправляет указанные события в отдельной транзакции.
      * <p>
-     * Для каждого неотправленного события:
+     * Уже отправленные события и события, захваченные другим обработчиком, пропускаются.
+     *
+     * @param outboxKeys ключи событий
+     * @return количество отправленных событий
+     */
+    public int relayKeys(Collection<Long> outboxKeys) {
+        LocalDateTime since = relaySince();
+        Integer sent =
+                transactionTemplate.execute(status -> relay(outboxRepository.lockUnsentByKeys(outboxKeys, since)));
+        return sent == null ? 0 : sent;
+    }
+
+    /**
+     * Отправляет неотправленные события из outbox таблицы, пока они не закончатся.
+     * <p>
+     * Параллельные обработчики захватывают пачки событий ({@code FOR UPDATE SKIP LOCKED})
+     * и отправляют их каждую в своей транзакции:
      * <ul>
-     *   <li>Формирует Kafka сообщение с заголовками</li>
-     *   <li>Отправляет сообщение в Kafka</li>
-     *   <li>Отмечает событие как отправленное</li>
+     *   <li>Формирует Kafka сообщения с заголовками</li>
+     *   <li>Отправляет всю пачку в Kafka без ожидания каждого сообщения</li>
+     *   <li>Отмечает подтверждённые брокером события как отправленные одним запросом</li>
      * </ul>
+     * Обработчик завершается, получив неполную пачку или пачку с неподтверждёнными событиями.
+     * Одновременно с этим экземпляром таблицу могут разбирать и другие: заблокированные строки пропускаются.
+     * <p>
+     * Отправляются только события не старше {@code relay-lookback-days}, поэтому затрагиваются
+     * только свежие секции таблицы. Более старые события отправляет {@link #handleAll()}.
      */
     public void handle() {
-        List<BillingOutboxEntity> billingOutboxEntity = outboxRepository.findBySentDtIsNullOrderByCreatedDtAsc();
-        for (BillingOutboxEntity entity : billingOutboxEntity) {
-            BillingDto body = JsonUtil.fromJson(entity.getPayload(), new TypeReference<>() {});
-            KafkaHeadersDto headers = KafkaHeadersDto.builder()
-                    .source("core")
-                    .target("billing")
-                    .created(LocalDateTime.now(ZoneOffset.UTC).toString())
-                    .type("JSON")
-                    .payloadVersion("1.0.0")
-                    .messageId(entity.getOutboxKey().toString())
-                    .eventType("BILLING_CREATE")
-                    .build();
-            BillingKafkaDto billingKafkaDto =
-                    BillingKafkaDto.builder().headers(headers).body(body).build();
-
-            kafkaService.sendMessage("billingOutbox", entity.getOutboxKey().toString(), billingKafkaDto);
-
-            entity.setSentDt(LocalDateTime.now(ZoneOffset.UTC));
-            outboxRepository.save(entity);
-
-            log.info("Сообщение {} было отправлено", entity.getOutboxKey());
+        handle(relaySince());
+    }
+
+    /**
+     * Отправляет все неотправленные события из outbox таблицы, независимо от даты создания.
+     * <p>
+     * Используется планировщиком как страховка: события, не отправленные за время
+     * {@code relay-lookback-days} (например, при длительной недоступности Kafka), не теряются.
+     * Частичный индекс неотправленных событий в каждой секции почти пуст, поэтому
+     * выборка по всем секциям остаётся дешёвой.
+     */
+    public void handleAll() {
+        handle(RELAY_SINCE_UNBOUNDED);
+    }
+
+    /**
+     * Отправляет неотправленные события, созданные не раньше указанной даты.
+     *
+     * @param since наименьшая дата создания события
+     */
+    private void handle(LocalDateTime since) {
+        int workers = Math.max(1, billingOutboxProperties.getRelayWorkers());
+        List<Future<Integer>> futures = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            futures.add(billingOutboxRelayExecutor.submit(() -> drain(since)));
+        }
+
+        int total = 0;
+        for (Future<Integer> future : futures) {
+            try {
+                total += future.get();
+            } catch (ExecutionException e) {
+                log.error("Ошибка обработчика outbox: {}", e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(pending -> pending.cancel(true));
+                log.warn("Отправка событий outbox прервана");
+                return;
+            }
         }
+
+        log.info("Отправлено событий outbox: {}", total);
+    }
+
+    /**
+     * Отправляет пачки событий, пока не будет получена неполная или не полностью подтверждённая пачка.
+     *
+     * @param since наименьшая дата создания события
+     * @return количество отправленных событий
+     */
+    private int drain(LocalDateTime since) {
+        int chunkSize = Math.max(1, billingOutboxProperties.getChunkSize());
+        int total = 0;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            Integer sent = transactionTemplate.execute(status -> relayChunk(chunkSize, since));
+            int count = sent == null ? 0 : sent;
+            total += count;
+            if (count < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Захватывает и отправляет одну пачку событий. Вызывается внутри транзакции.
+     *
+     * @param chunkSize размер пачки
+     * @param since     наименьшая дата создания события
+     * @return количество подтверждённых событий
+     */
+    private int relayChunk(int chunkSize, LocalDateTime since) {
+        return relay(outboxRepository.lockUnsentChunk(chunkSize, since));
+    }
+
+    /**
+     * Определяет наименьшую дату создания отправляемых событий.
+     *
+     * @return начало глубины выборки или начало эпохи, если глубина не ограничена
+     */
+    private LocalDateTime relaySince() {
+        int lookbackDays = billingOutboxProperties.getRelayLookbackDays();
+        if (lookbackDays <= 0) {
+            return RELAY_SINCE_UNBOUNDED;
+        }
+        return LocalDateTime.now(ZoneOffset.UTC).minusDays(lookbackDays);
+    }
+
+    /**
+     * Отправляет захваченные события и отмечает подтверждённые брокером. Вызывается внутри транзакции.
+     * <p>
+     * Все сообщения пачки отправляются без ожидания, затем собираются подтверждения брокера
+     * в пределах общего срока. Подтверждённые события отмечаются одним запросом {@code UPDATE};
+     * события без подтверждения остаются неотправленными и будут захвачены повторно.
+     *
+     * @param chunk заблокированные события
+     * @return количество подтверждённых событий
+     */
+    private int relay(List<BillingOutboxEntity> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        // Шаг 1: Отправляем всю пачку, не дожидаясь подтверждений
+        List<CompletableFuture<Void>> acks = new ArrayList<>(chunk.size());
+        for (BillingOutboxEntity entity : chunk) {
+            acks.add(kafkaService.sendMessageAsync(
+                    "billingOutbox", entity.getOutboxKey().toString(), toKafkaMessage(entity)));
+        }
+
+        // Шаг 2: Собираем подтверждения до общего срока
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(billingOutboxProperties.getAckTimeoutMs());
+        List<Long> acknowledged = new ArrayList<>(chunk.size());
+        LocalDateTime oldestAcknowledged = null;
+        for (int i = 0; i < chunk.size(); i++) {
+            BillingOutboxEntity entity = chunk.get(i);
+            if (awaitAck(entity.getOutboxKey(), acks.get(i), deadline)) {
+                acknowledged.add(entity.getOutboxKey());
+                oldestAcknowledged = earliest(oldestAcknowledged, entity.getCreatedDt());
+            }
+        }
+
+        // Шаг 3: Отмечаем подтверждённые события одним запросом;
+        // граница по дате создания ограничивает обновление секциями пачки
+        if (!acknowledged.isEmpty()) {
+            outboxRepository.markSent(
+                    acknowledged,
+                    LocalDateTime.now(ZoneOffset.UTC),
+                    oldestAcknowledged == null ? RELAY_SINCE_UNBOUNDED : oldestAcknowledged);
+        }
+
+        if (acknowledged.size() < chunk.size()) {
+            log.warn(
+                    "Не подтверждено брокером событий outbox: {} из {}",
+                    chunk.size() - acknowledged.size(),
+                    chunk.size());
+        }
+        return acknowledged.size();
+    }
+
+    /**
+     * Возвращает более раннюю из двух дат.
+     *
+     * @param current текущая наименьшая дата
+     * @param value   очередная дата
+     * @return наименьшая дата или null, если обе даты не заданы
+     */
+    @Nullable
+    private static LocalDateTime earliest(@Nullable LocalDateTime current, @Nullable LocalDateTime value) {
+        if (current == null) {
+            return value;
+        }
+        return value != null && value.isBefore(current) ? value : current;
+    }
+
+    /**
+     * Ожидает подтверждение отправки события до общего срока пачки.
+     * Ошибки и превышение срока логируются, ожидание в этом случае отменяется.
+     *
+     * @param outboxKey ключ события
+     * @param ack       результат отправки
+     * @param deadline  срок ожидания в наносекундах ({@link System#nanoTime()})
+     * @return true если брокер подтвердил отправку
+     */
+    private boolean awaitAck(Long outboxKey, CompletableFuture<Void> ack, long deadline) {
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            ack.get(remaining, TimeUnit.NANOSECONDS);
+            log.debug("Сообщение {} было отправлено", outboxKey);
+            return true;
+        } catch (TimeoutException e) {
+            log.warn("Сообщение {} не подтверждено брокером к сроку", outboxKey);
+        } catch (ExecutionException e) {
+            log.warn("Ошибка отправки сообщения {}: {}", outboxKey, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Ожидание подтверждения сообщения {} прервано", outboxKey);
+        }
+        ack.cancel(false);
+        return false;
+    }
+
+    /**
+     * Формирует Kafka сообщение с заголовками по событию outbox.
+     *
+     * @param entity событие outbox
+     * @return сообщение для отправки в сервис биллинга
+     */
+    private BillingKafkaDto toKafkaMessage(BillingOutboxEntity entity) {
+        BillingDto body = JsonUtil.fromJson(entity.getPayload(), new TypeReference<>() {});
+        KafkaHeadersDto headers = KafkaHeadersDto.builder()
+                .source("core")
+                .target("billing")
+                .created(LocalDateTime.now(ZoneOffset.UTC).toString())
+                .type("JSON")
+                .payloadVersion("1.0.0")
+                .messageId(entity.getOutboxKey().toString())
+                .eventType("BILLING_CREATE")
+                .build();
+        return BillingKafkaDto.builder().headers(headers).body(body).build();
     }
 }
@@ -0,0 +1,119 @@
+package ru.hofftech.core.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.integration.annotation.ServiceActivator;
+import org.springframework.integration.context.IntegrationContextUtils;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.support.ErrorMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Реестр ожидающих подтверждения отправок в Kafka.
+ * <p>
+ * Каждой асинхронной отправке присваивается идентификатор корреляции, который
+ * передаётся в заголовке {@link #CORRELATION_HEADER}. Биндер после подтверждения
+ * брокером публикует отправленное сообщение с метаданными записи в канал
+ * {@code record-metadata-channel}, откуда оно попадает в {@link #onRecordMetadata(Message)}
+ * и завершает соответствующую отправку. Ошибки отправки биндер публикует в канал ошибок привязки
+ * ({@code error-channel-enabled}), связанный с общим каналом {@code errorChannel}; по ним отправка
+ * завершается с ошибкой в {@link #onSendFailure(ErrorMessage)}. Отменённые ожидания удаляются из реестра.
+ */
+@Slf4j
+@NullMarked
+@Component
+public class KafkaSendTracker {
+    /**
+     * Заголовок с идентификатором корреляции отправки.
+     */
+    public static final String CORRELATION_HEADER = "x-send-correlation-id";
+
+    private final Map<String, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Регистрирует новую отправку.
+     *
+     * @return ожидаемая отправка (не может быть null)
+     */
+    public PendingSend register() {
+        String correlationId = UUID.randomUUID().toString();
+        CompletableFuture<Void> ack = new CompletableFuture<>();
+        pending.put(correlationId, ack);
+        ack.whenComplete((result, error) -> pending.remove(correlationId));
+        return new PendingSend(correlationId, ack);
+    }
+
+    /**
+     * Завершает отправку по подтверждению брокера.
+     *
+     * @param message отправленное сообщение с заголовком {@link KafkaHeaders#RECORD_METADATA}
+     */
+    public void onRecordMetadata(Message<?> message) {
+        CompletableFuture<Void> ack = find(message);
+        if (ack != null) {
+            ack.complete(null);
+        }
+    }
+
+    /**
+     * Завершает отправку с ошибкой по сообщению из канала ошибок.
+     * <p>
+     * Сообщения об ошибках без идентификатора корреляции (других привязок и компонентов) пропускаются.
+     *
+     * @param errorMessage сообщение об ошибке с неотправленным сообщением
+     */
+    @ServiceActivator(inputChannel = IntegrationContextUtils.ERROR_CHANNEL_BEAN_NAME)
+    public void onSendFailure(ErrorMessage errorMessage) {
+        if (!(errorMessage.getPayload() instanceof MessagingException exception)
+                || exception.getFailedMessage() == null) {
+            return;
+        }
+
+        CompletableFuture<Void> ack = find(exception.getFailedMessage());
+        if (ack != null) {
+            ack.completeExceptionally(exception);
+        }
+    }
+
+    /**
+     * Находит ожидаемую отправку по заголовку корреляции сообщения.
+     *
+     * @param message отправленное сообщение
+     * @return ожидание отправки или null, если сообщение не отслеживается или ожидание уже завершено
+     */
+    private @Nullable CompletableFuture<Void> find(Message<?> message) {
+        Object correlationId = message.getHeaders().get(CORRELATION_HEADER);
+        if (correlationId == null) {
+            return null;
+        }
+
+        CompletableFuture<Void> ack = pending.get(correlationId.toString());
+        if (ack == null) {
+            log.debug("Результат отправки {} получен после окончания ожидания", correlationId);
+        }
+        return ack;
+    }
+
+    /**
+     * @return количество отправок, ожидающих подтверждения
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Ожидаемая отправка.
+     *
+     * @param correlationId идентификатор корреляции
+     * @param ack           завершается после подтверждения брокером
+     */
+    public record PendingSend(String correlationId, CompletableFuture<Void> ack) {}
+}
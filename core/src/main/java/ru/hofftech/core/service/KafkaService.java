@@ -15,6 +15,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Сервис для отправки сообщений в Kafka.
@@ -27,6 +28,7 @@ import java.util.Map;
 public class KafkaService {
     private final Map<String, String> topics;
     private final StreamBridge streamBridge;
+    private final KafkaSendTracker kafkaSendTracker;
     private static final String X_ORIGINAL_KEY = "x-original-key";
 
     /**
@@ -40,6 +42,36 @@ public class KafkaService {
         publish(eventType, key, payload);
     }
 
+    /**
+     * Отправляет сообщение без ожидания подтверждения брокером.
+     * <p>
+     * Сообщение отправляется через привязку {@code <eventType>-out-0}, чтобы к нему
+     * применялись её настройки producer; подтверждение приходит через канал
+     * {@code record-metadata-channel} привязки. Если сообщение не удалось передать
+     * биндеру, результат завершается с ошибкой сразу. Ожидание подтверждения
+     * ограничивает вызывающий код; после отмены результата отправка перестаёт отслеживаться.
+     *
+     * @param eventType тип события для определения привязки
+     * @param key       ключ сообщения
+     * @param payload   данные сообщения
+     * @return результат, завершающийся после подтверждения брокером
+     */
+    public CompletableFuture<Void> sendMessageAsync(String eventType, Object key, Object payload) {
+        KafkaSendTracker.PendingSend pendingSend = kafkaSendTracker.register();
+        Message<Object> message = MessageBuilder.fromMessage(buildMessage(key, payload))
+                .setHeader(KafkaSendTracker.CORRELATION_HEADER, pendingSend.correlationId())
+                .build();
+
+        try {
+            if (!streamBridge.send(eventType + "-out-0", message)) {
+                pendingSend.ack().completeExceptionally(new IllegalStateException("Биндер не принял сообщение"));
+            }
+        } catch (RuntimeException e) {
+            pendingSend.ack().completeExceptionally(e);
+        }
+        return pendingSend.ack();
+    }
+
     /**
      * Отправляет сообщение в DLQ с сохранением оригинальных заголовков.
      *
@@ -149,7 +181,17 @@ public class KafkaService {
      * @param messageObject объект сообщения
      */
     private void publish(String eventType, Object key, Object messageObject) {
-        String topic = resolveTopic(eventType);
+        streamBridge.send(resolveTopic(eventType), buildMessage(key, messageObject));
+    }
+
+    /**
+     * Формирует сообщение Kafka с ключом и заголовками.
+     *
+     * @param key           ключ сообщения
+     * @param messageObject объект сообщения
+     * @return сообщение для отправки
+     */
+    private Message<Object> buildMessage(Object key, Object messageObject) {
         Map<String, Object> kafkaHeaders = new HashMap<>();
         Object payload;
 
@@ -175,9 +217,7 @@ public class KafkaService {
         });
         messageBuilder.setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON);
 
-        Message<Object> message = messageBuilder.build();
-
-        streamBridge.send(topic, message);
+        return messageBuilder.build();
     }
 
     /**
@@ -7,13 +7,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import ru.hofftech.core.exception.LoadException;
 import ru.hofftech.core.mapper.CoreMapper;
-import ru.hofftech.core.mapper.ParcelEntityMapper;
+import ru.hofftech.core.model.core.LoadOptions;
 import ru.hofftech.core.model.core.LoadResult;
 import ru.hofftech.core.model.core.Machine;
 import ru.hofftech.core.model.core.Parcel;
 import ru.hofftech.core.model.core.ParserMachineProcessorResult;
 import ru.hofftech.core.model.core.ParserParcelProcessorResult;
-import ru.hofftech.core.repository.ParcelRepository;
 import ru.hofftech.core.service.loader.strategy.LoadStrategy;
 import ru.hofftech.core.service.loader.strategy.LoadStrategyService;
 import ru.hofftech.core.service.parcer.ParserMachine;
@@ -26,9 +25,12 @@ import ru.hofftech.shared.model.dto.ParcelNameRequestDto;
 import ru.hofftech.shared.model.enums.BillingOperationType;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -44,20 +46,23 @@ import java.util.Optional;
 public class LoadService {
     private final ParserMachine parserMachine;
     private final LoadStrategyService loadStrategyService;
-    private final ParcelRepository parcelRepository;
+    private final ParcelCatalogCache parcelCatalogCache;
     private final BillingOutboxService billingOutboxService;
-    private final ParcelEntityMapper parcelEntityMapper;
     private final CoreMapper coreMapper;
 
     @Value("${load.price-segment}")
     private BigDecimal priceSegment;
 
+    @Value("${load.max-parcels:100000}")
+    private long maxParcels;
+
     /**
      * Выполняет загрузку посылок в машины.
      *
      * @param loadRequestDto DTO с параметрами загрузки
      * @return DTO с результатами загрузки
-     * @throws LoadException если не найдены машины, посылки или стратегия
+     * @throws LoadException если не найдены машины, посылки или стратегия,
+     *                       а также если посылок в запросе больше допустимого
      */
     public LoadResponseDto load(LoadRequestDto loadRequestDto) {
         // Запуск расчета загрузки машин
@@ -66,6 +71,8 @@ public class LoadService {
                 loadRequestDto.parcels().size(),
                 loadRequestDto.loadStrategy().getDescription());
 
+        long totalInputParcels = countParcels(loadRequestDto.parcels());
+
         ParserMachineProcessorResult machineResult = parserMachine(loadRequestDto.machines());
 
         log.info(
@@ -98,10 +105,14 @@ public class LoadService {
             throw new LoadException("Не найден ни одна посылка. Ошибки: %s".formatted(parcelResult.errors()));
         }
 
-        LoadResult result = loadStrategy.loadParcels(parcelResult.parcels(), machineResult.machines());
+        Long timeBudgetMs = loadRequestDto.timeBudgetMs();
+        LoadOptions loadOptions = LoadOptions.builder()
+                .timeBudget(timeBudgetMs == null ? null : Duration.ofMillis(timeBudgetMs))
+                .build();
+
+        LoadResult result = loadStrategy.loadParcels(parcelResult.parcels(), machineResult.machines(), loadOptions);
 
         Integer totalUsedMachines = result.getUsedMachinesCount();
-        Integer totalInputParcels = loadRequestDto.parcels().size();
         int totalFilledCells = result.getTotalFilledCells();
         BigDecimal totalAmount = BigDecimal.valueOf(totalFilledCells).multiply(priceSegment);
 
@@ -109,7 +120,7 @@ public class LoadService {
                 .userId(loadRequestDto.userId())
                 .operationType(BillingOperationType.LOAD)
                 .machineCount(totalUsedMachines)
-                .parcelCount(totalInputParcels)
+                .parcelCount(Math.toIntExact(totalInputParcels))
                 .totalAmount(totalAmount)
                 .createdDt(LocalDateTime.now())
                 .build();
@@ -119,12 +130,14 @@ public class LoadService {
         LoadStatisticDto loadStatisticDto = LoadStatisticDto.builder()
                 .errors(result.errors())
                 .invalidParcels(coreMapper.loadStrategyParcelInvalidListToDto(result.loadStrategyParcelInvalids()))
-                .totalInputParcels(totalInputParcels)
+                .totalInputParcels(Math.toIntExact(totalInputParcels))
                 .totalSuccessLoadParcels(result.getTotalParcelsProcessed())
                 .totalUsedMachines(totalUsedMachines)
                 .totalSegments(totalFilledCells)
                 .priceSegment(priceSegment)
                 .totalAmount(totalAmount)
+                .iterations(result.iterations())
+                .winnerStrategy(result.winnerStrategy())
                 .build();
 
         return LoadResponseDto.builder()
@@ -133,6 +146,30 @@ public class LoadService {
                 .build();
     }
 
+    /**
+     * Подсчитывает количество посылок в запросе с учётом количества одинаковых посылок.
+     *
+     * @param parcels список DTO с названиями и количеством посылок
+     * @return общее количество посылок
+     * @throws LoadException если посылок больше значения {@code load.max-parcels}
+     */
+    public long countParcels(List<ParcelNameRequestDto> parcels) {
+        long total = 0;
+        try {
+            for (ParcelNameRequestDto parcelDto : parcels) {
+                total = Math.addExact(total, parcelDto.quantity());
+            }
+        } catch (ArithmeticException e) {
+            total = Long.MAX_VALUE;
+        }
+
+        if (total > maxParcels) {
+            throw new LoadException(
+                    "Слишком много посылок в запросе: %d, допустимо не больше %d".formatted(total, maxParcels));
+        }
+        return total;
+    }
+
     /**
      * Парсит список DTO машин в сущности Machine.
      *
@@ -159,20 +196,30 @@ public class LoadService {
 
     /**
      * Находит посылки по названиям в репозитории.
+     * <p>
+     * Посылки берутся из кэша каталога ({@link ParcelCatalogCache}), промахи загружаются
+     * пачками одним запросом {@code WHERE name IN (...)} на пачку.
+     * Список посылок собирается в порядке запроса; одинаковые посылки представлены
+     * одним общим экземпляром, повторённым нужное количество раз. Стратегии размещают
+     * копии по одной, но пропускают оставшиеся копии формы, которая уже никуда не поместилась.
      *
-     * @param parcels список DTO с названиями посылок
+     * @param parcels список DTO с названиями и количеством посылок
      * @return результат поиска с посылками и ошибками
      */
     public ParserParcelProcessorResult findParcel(List<ParcelNameRequestDto> parcels) {
         List<Parcel> allParcels = new ArrayList<>();
         List<String> allErrors = new ArrayList<>();
 
+        Map<String, Parcel> parcelsByName = parcelCatalogCache.getAll(
+                parcels.stream().map(ParcelNameRequestDto::name).toList());
+
         for (ParcelNameRequestDto parcelDto : parcels) {
-            parcelRepository
-                    .findByName(parcelDto.name())
-                    .ifPresentOrElse(
-                            entity -> allParcels.add(parcelEntityMapper.toParcel(entity)),
-                            () -> allErrors.add("Посылка не найдена: %s".formatted(parcelDto.name())));
+            Parcel parcel = parcelsByName.get(parcelDto.name());
+            if (parcel != null) {
+                allParcels.addAll(Collections.nCopies(parcelDto.quantity(), parcel));
+            } else {
+                allErrors.add("Посылка не найдена: %s".formatted(parcelDto.name()));
+            }
         }
 
         return ParserParcelProcessorResult.builder()
@@ -0,0 +1,206 @@
+package ru.hofftech.core.service;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.stereotype.Component;
+import ru.hofftech.core.config.ParcelCatalogCacheProperties;
+import ru.hofftech.core.mapper.ParcelEntityMapper;
+import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.model.entity.ParcelEntity;
+import ru.hofftech.core.repository.ParcelRepository;
+import ru.hofftech.shared.model.dto.CacheStatsDto;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Кэш каталога посылок по названию.
+ * <p>
+ * Хранит уже преобразованные посылки ({@link Parcel}), поэтому повторные запросы
+ * не обращаются к базе данных и не разбирают форму заново. Отсутствующие названия
+ * также кэшируются (на более короткий срок). Промахи при массовом чтении загружаются
+ * одним запросом {@code WHERE name IN (...)} на пачку названий.
+ * Записи инвалидируются синхронно при изменении каталога через {@link ParcelService}.
+ */
+@Slf4j
+@NullMarked
+@Component
+public class ParcelCatalogCache {
+    /**
+     * Максимальное количество названий в одном запросе поиска посылок.
+     */
+    private static final int NAME_LOOKUP_CHUNK_SIZE = 1000;
+
+    private final ParcelRepository parcelRepository;
+    private final ParcelEntityMapper parcelEntityMapper;
+    private final LoadingCache<String, Optional<Parcel>> cache;
+
+    /**
+     * Создаёт кэш каталога посылок.
+     *
+     * @param parcelRepository             репозиторий посылок
+     * @param parcelEntityMapper           маппер сущностей посылок
+     * @param parcelCatalogCacheProperties свойства кэша
+     */
+    public ParcelCatalogCache(
+            ParcelRepository parcelRepository,
+            ParcelEntityMapper parcelEntityMapper,
+            ParcelCatalogCacheProperties parcelCatalogCacheProperties) {
+        this.parcelRepository = parcelRepository;
+        this.parcelEntityMapper = parcelEntityMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(parcelCatalogCacheProperties.getMaximumSize())
+                .expireAfter(new CatalogExpiry(
+                        Duration.ofMinutes(parcelCatalogCacheProperties.getExpireAfterWriteMinutes()),
+                        Duration.ofSeconds(parcelCatalogCacheProperties.getNegativeExpireAfterWriteSeconds())))
+                .recordStats()
+                .build(new CatalogLoader());
+    }
+
+    /**
+     * Возвращает посылку по названию.
+     *
+     * @param name название посылки
+     * @return посылка или пустой Optional, если её нет в каталоге
+     */
+    public Optional<Parcel> get(String name) {
+        return cache.get(name);
+    }
+
+    /**
+     * Возвращает посылки по набору названий; промахи загружаются пачками.
+     *
+     * @param names названия посылок (могут повторяться)
+     * @return посылки по названию (только найденные)
+     */
+    public Map<String, Parcel> getAll(Collection<String> names) {
+        Map<String, Parcel> result = new HashMap<>();
+        cache.getAll(new LinkedHashSet<>(names))
+                .forEach((name, parcel) -> parcel.ifPresent(value -> result.put(name, value)));
+        return result;
+    }
+
+    /**
+     * Удаляет запись о посылке из кэша.
+     * Вызывается после создания, изменения или удаления посылки.
+     *
+     * @param name название посылки
+     */
+    public void invalidate(String name) {
+        cache.invalidate(name);
+        log.debug("Кэш каталога посылок: инвалидирована посылка {}", name);
+    }
+
+    /**
+     * Удаляет записи о посылках из кэша.
+     * Вызывается после массового импорта посылок.
+     *
+     * @param names названия посылок
+     */
+    public void invalidateAll(Collection<String> names) {
+        cache.invalidateAll(names);
+        log.debug("Кэш каталога посылок: инвалидировано посылок {}", names.size());
+    }
+
+    /**
+     * Возвращает статистику кэша.
+     *
+     * @return статистика попаданий и промахов
+     */
+    public CacheStatsDto stats() {
+        CacheStats stats = cache.stats();
+        return CacheStatsDto.builder()
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+
+    /**
+     * Загрузчик записей кэша из репозитория.
+     */
+    private final class CatalogLoader implements CacheLoader<String, Optional<Parcel>> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Optional<Parcel> load(String name) {
+            return parcelRepository.findByName(name).map(parcelEntityMapper::toParcel);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Map<String, Optional<Parcel>> loadAll(Set<? extends String> names) {
+            List<String> distinctNames = List.copyOf(names);
+            Map<String, Optional<Parcel>> loaded = new HashMap<>(distinctNames.size() * 2);
+
+            for (int from = 0; from < distinctNames.size(); from += NAME_LOOKUP_CHUNK_SIZE) {
+                List<String> chunk =
+                        distinctNames.subList(from, Math.min(from + NAME_LOOKUP_CHUNK_SIZE, distinctNames.size()));
+                for (ParcelEntity entity : parcelRepository.findByNameIn(chunk)) {
+                    loaded.put(entity.getName(), Optional.of(parcelEntityMapper.toParcel(entity)));
+                }
+            }
+
+            // Отсутствующие названия кэшируются как пустые записи
+            for (String name : distinctNames) {
+                loaded.putIfAbsent(name, Optional.empty());
+            }
+
+            log.debug("Кэш каталога посылок: загружено {} названий из базы данных", distinctNames.size());
+
+            return loaded;
+        }
+    }
+
+    /**
+     * Время жизни записей: отдельное для найденных и для отсутствующих посылок.
+     *
+     * @param positiveTtl время жизни найденной посылки
+     * @param negativeTtl время жизни отсутствующей посылки
+     */
+    private record CatalogExpiry(Duration positiveTtl, Duration negativeTtl)
+            implements Expiry<String, Optional<Parcel>> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long expireAfterCreate(String name, Optional<Parcel> parcel, long currentTime) {
+            return (parcel.isPresent() ? positiveTtl : negativeTtl).toNanos();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long expireAfterUpdate(
+                String name, Optional<Parcel> parcel, long currentTime, long currentDuration) {
+            return expireAfterCreate(name, parcel, currentTime);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long expireAfterRead(String name, Optional<Parcel> parcel, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
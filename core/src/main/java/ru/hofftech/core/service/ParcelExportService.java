@@ -0,0 +1,70 @@
+package ru.hofftech.core.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.hofftech.core.mapper.ParcelEntityMapper;
+import ru.hofftech.core.model.entity.ParcelEntity;
+import ru.hofftech.core.repository.ParcelRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Сервис потоковой выгрузки каталога посылок.
+ * <p>
+ * Посылки читаются из базы данных серверным курсором, преобразуются по одной
+ * и сразу записываются в выходной поток в формате NDJSON (один JSON-объект на строку).
+ * Прочитанные сущности отсоединяются от контекста персистентности, поэтому
+ * потребление памяти не зависит от размера каталога.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@NullMarked
+public class ParcelExportService {
+    private final ParcelRepository parcelRepository;
+    private final ParcelEntityMapper parcelEntityMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    /**
+     * Выгружает все посылки в выходной поток в формате NDJSON.
+     *
+     * @param outputStream выходной поток (не закрывается)
+     * @return количество выгруженных посылок
+     * @throws IOException если не удалось записать в выходной поток
+     */
+    @Transactional(readOnly = true)
+    public long exportAll(OutputStream outputStream) throws IOException {
+        long count = 0;
+
+        // Закрытие SequenceWriter не должно закрывать выходной поток: им владеет вызывающий код
+        try (Stream<ParcelEntity> entities = parcelRepository.streamAll();
+                SequenceWriter writer = objectMapper
+                        .writer()
+                        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                        .withRootValueSeparator("\n")
+                        .writeValues(outputStream)) {
+            Iterator<ParcelEntity> iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                ParcelEntity entity = iterator.next();
+                writer.write(parcelEntityMapper.toDto(entity));
+                // Сущность больше не нужна: не даём контексту персистентности расти вместе с каталогом
+                entityManager.detach(entity);
+                count++;
+            }
+        }
+
+        log.info("Выгружено посылок: {}", count);
+        return count;
+    }
+}
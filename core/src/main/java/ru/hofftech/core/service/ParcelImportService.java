@@ -0,0 +1,320 @@
+package ru.hofftech.core.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.hofftech.core.config.ParcelImportProperties;
+import ru.hofftech.core.exception.ParcelException;
+import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.model.core.ParserParcelProcessorResult;
+import ru.hofftech.core.repository.ParcelBatchRepository;
+import ru.hofftech.core.repository.ParcelRepository;
+import ru.hofftech.core.service.parcer.ParserParcelService;
+import ru.hofftech.shared.model.dto.ParcelFormRequestDto;
+import ru.hofftech.shared.model.dto.ParcelImportResponseDto;
+import ru.hofftech.shared.model.dto.ParcelImportRowDto;
+import ru.hofftech.shared.model.enums.ParcelImportConflictPolicy;
+import ru.hofftech.shared.model.enums.ParcelImportRowStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Сервис массового импорта посылок.
+ * <p>
+ * Записи валидируются и разбираются параллельно, существующие названия проверяются
+ * одним запросом на пачку, а посылки записываются пакетными вставками JDBC
+ * с обработкой конфликтов по политике из запроса. Результат возвращается по каждой записи.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@NullMarked
+public class ParcelImportService {
+    /**
+     * Максимальное количество названий в одном запросе проверки существования.
+     */
+    private static final int NAME_LOOKUP_CHUNK_SIZE = 1000;
+
+    /**
+     * Максимальное количество конфликтующих названий в тексте ошибки.
+     */
+    private static final int CONFLICT_NAMES_IN_MESSAGE = 10;
+
+    private final ParcelRepository parcelRepository;
+    private final ParcelBatchRepository parcelBatchRepository;
+    private final ParserParcelService parserParcelService;
+    private final ParcelCatalogCache parcelCatalogCache;
+    private final ParcelImportProperties parcelImportProperties;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Импортирует посылки из потока NDJSON (один {@link ParcelFormRequestDto} на строку).
+     *
+     * @param inputStream    входной поток (не закрывается)
+     * @param conflictPolicy политика для уже существующих посылок
+     * @return результаты импорта по каждой записи
+     * @throws ParcelException если поток не удалось разобрать или импорт отменён по политике
+     */
+    @Transactional
+    public ParcelImportResponseDto importNdjson(InputStream inputStream, ParcelImportConflictPolicy conflictPolicy) {
+        List<ParcelFormRequestDto> parcels = new ArrayList<>();
+        try (MappingIterator<ParcelFormRequestDto> iterator =
+                objectMapper.readerFor(ParcelFormRequestDto.class).readValues(inputStream)) {
+            while (iterator.hasNextValue()) {
+                parcels.add(iterator.nextValue());
+            }
+        } catch (IOException e) {
+            throw new ParcelException(
+                    "Ошибка чтения NDJSON после записи #%d: %s".formatted(parcels.size(), e.getMessage()), e);
+        }
+
+        return importParcels(parcels, conflictPolicy);
+    }
+
+    /**
+     * Импортирует посылки.
+     * <p>
+     * Записи с ошибками валидации и повторы названий внутри запроса не прерывают импорт остальных.
+     * При политике {@link ParcelImportConflictPolicy#FAIL} наличие в каталоге хотя бы одной
+     * посылки с тем же названием отменяет импорт целиком.
+     *
+     * @param parcelForms    посылки для импорта
+     * @param conflictPolicy политика для уже существующих посылок
+     * @return результаты импорта по каждой записи
+     * @throws ParcelException если импорт отменён по политике {@link ParcelImportConflictPolicy#FAIL}
+     */
+    @Transactional
+    public ParcelImportResponseDto importParcels(
+            List<ParcelFormRequestDto> parcelForms, ParcelImportConflictPolicy conflictPolicy) {
+        // Шаг 1: Валидируем и разбираем записи параллельно; разбор не зависит от других записей
+        List<RowParseResult> parsed = IntStream.range(0, parcelForms.size())
+                .parallel()
+                .mapToObj(i -> parse(parcelForms.get(i)))
+                .toList();
+
+        // Шаг 2: Отбрасываем повторы названий внутри запроса (остаётся первая запись)
+        ParcelImportRowDto[] rows = new ParcelImportRowDto[parsed.size()];
+        Map<String, Integer> firstRowByName = new HashMap<>();
+        List<Integer> candidates = new ArrayList<>();
+
+        for (int i = 0; i < parsed.size(); i++) {
+            RowParseResult result = parsed.get(i);
+            String name = parcelForms.get(i).name();
+            if (result.parcel() == null) {
+                rows[i] = row(i, name, ParcelImportRowStatus.FAILED, result.error());
+                continue;
+            }
+
+            Integer firstRow = firstRowByName.putIfAbsent(result.parcel().name(), i);
+            if (firstRow != null) {
+                rows[i] = row(
+                        i,
+                        name,
+                        ParcelImportRowStatus.FAILED,
+                        "Название повторяется в запросе (запись #%d)".formatted(firstRow + 1));
+                continue;
+            }
+            candidates.add(i);
+        }
+
+        // Шаг 3: Проверяем существующие названия одним запросом на пачку
+        Set<String> existing = findExistingNames(firstRowByName.keySet());
+        if (conflictPolicy == ParcelImportConflictPolicy.FAIL && !existing.isEmpty()) {
+            throw new ParcelException("Импорт отменён, посылки уже существуют (%d): %s"
+                    .formatted(
+                            existing.size(),
+                            existing.stream()
+                                    .sorted()
+                                    .limit(CONFLICT_NAMES_IN_MESSAGE)
+                                    .collect(Collectors.joining(", "))));
+        }
+
+        // Шаг 4: Пропускаем существующие посылки по политике и собираем посылки для записи
+        List<Integer> toWriteRows = new ArrayList<>(candidates.size());
+        List<Parcel> toWrite = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            Parcel parcel = parsed.get(i).parcel();
+            if (existing.contains(parcel.name()) && conflictPolicy != ParcelImportConflictPolicy.UPDATE) {
+                rows[i] = row(i, parcelForms.get(i).name(), ParcelImportRowStatus.SKIPPED, null);
+            } else {
+                toWriteRows.add(i);
+                toWrite.add(parcel);
+            }
+        }
+
+        // Шаг 5: Записываем пакетами; конфликты с параллельными изменениями разрешает ON CONFLICT,
+        // поэтому результат по каждой записи определяется по фактически записанным строкам
+        if (!toWrite.isEmpty()) {
+            ParcelBatchRepository.UpsertResult written = upsert(toWrite, conflictPolicy);
+            for (int i : toWriteRows) {
+                String parcelName = parsed.get(i).parcel().name();
+                ParcelImportRowStatus status = written.inserted().contains(parcelName)
+                        ? ParcelImportRowStatus.CREATED
+                        : written.updated().contains(parcelName)
+                                ? ParcelImportRowStatus.UPDATED
+                                : ParcelImportRowStatus.SKIPPED;
+                rows[i] = row(i, parcelForms.get(i).name(), status, null);
+            }
+            invalidateAfterCommit(toWrite.stream().map(Parcel::name).toList());
+        }
+
+        ParcelImportResponseDto response = buildResponse(List.of(rows));
+        log.info(
+                "Импорт посылок завершён: создано {}, обновлено {}, пропущено {}, ошибок {}",
+                response.created(),
+                response.updated(),
+                response.skipped(),
+                response.failed());
+        return response;
+    }
+
+    /**
+     * Записывает посылки пакетами.
+     *
+     * @param parcels        посылки для записи
+     * @param conflictPolicy политика для уже существующих посылок
+     * @return названия вставленных и обновлённых посылок
+     * @throws ParcelException если посылка с тем же названием создана параллельно при политике
+     *                         {@link ParcelImportConflictPolicy#FAIL}
+     */
+    private ParcelBatchRepository.UpsertResult upsert(
+            List<Parcel> parcels, ParcelImportConflictPolicy conflictPolicy) {
+        try {
+            return parcelBatchRepository.upsertAll(parcels, conflictPolicy, parcelImportProperties.getBatchSize());
+        } catch (DataIntegrityViolationException e) {
+            throw new ParcelException(
+                    "Импорт отменён, посылки уже существуют: " + e.getMostSpecificCause().getMessage(), e);
+        }
+    }
+
+    /**
+     * Инвалидирует записи кэша каталога после фиксации транзакции.
+     * <p>
+     * До фиксации параллельное чтение могло бы снова загрузить в кэш старые данные;
+     * при откате транзакции каталог не меняется и инвалидация не нужна.
+     *
+     * @param names названия изменённых посылок
+     */
+    private void invalidateAfterCommit(List<String> names) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            parcelCatalogCache.invalidateAll(names);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                parcelCatalogCache.invalidateAll(names);
+            }
+        });
+    }
+
+    /**
+     * Валидирует и разбирает одну запись.
+     *
+     * @param parcelForm запись посылки
+     * @return посылка или текст ошибки
+     */
+    private RowParseResult parse(ParcelFormRequestDto parcelForm) {
+        Set<ConstraintViolation<ParcelFormRequestDto>> violations = validator.validate(parcelForm);
+        if (!violations.isEmpty()) {
+            return new RowParseResult(
+                    null,
+                    violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+        }
+
+        ParserParcelProcessorResult result = parserParcelService.transformSingle(parcelForm);
+        if (result.hasErrors() || result.parcels().isEmpty()) {
+            return new RowParseResult(null, result.getErrorsAsString());
+        }
+        return new RowParseResult(result.parcels().getFirst(), null);
+    }
+
+    /**
+     * Находит существующие в каталоге названия пачками.
+     *
+     * @param names названия для проверки
+     * @return существующие названия
+     */
+    private Set<String> findExistingNames(Collection<String> names) {
+        List<String> distinctNames = List.copyOf(names);
+        Set<String> existing = new HashSet<>();
+
+        for (int from = 0; from < distinctNames.size(); from += NAME_LOOKUP_CHUNK_SIZE) {
+            List<String> chunk =
+                    distinctNames.subList(from, Math.min(from + NAME_LOOKUP_CHUNK_SIZE, distinctNames.size()));
+            existing.addAll(parcelRepository.findExistingNames(chunk));
+        }
+        return existing;
+    }
+
+    /**
+     * Создаёт результат импорта записи.
+     *
+     * @param index   индекс записи в запросе
+     * @param name    название посылки
+     * @param status  результат импорта
+     * @param message описание ошибки
+     * @return результат импорта записи
+     */
+    private ParcelImportRowDto row(
+            int index, @Nullable String name, ParcelImportRowStatus status, @Nullable String message) {
+        return ParcelImportRowDto.builder()
+                .row(index + 1)
+                .name(name)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Собирает ответ с итогами по статусам.
+     *
+     * @param rows результаты по каждой записи
+     * @return ответ на импорт
+     */
+    private ParcelImportResponseDto buildResponse(List<ParcelImportRowDto> rows) {
+        Map<ParcelImportRowStatus, Long> counts =
+                rows.stream().collect(Collectors.groupingBy(ParcelImportRowDto::status, Collectors.counting()));
+
+        return ParcelImportResponseDto.builder()
+                .created(counts.getOrDefault(ParcelImportRowStatus.CREATED, 0L).intValue())
+                .updated(counts.getOrDefault(ParcelImportRowStatus.UPDATED, 0L).intValue())
+                .skipped(counts.getOrDefault(ParcelImportRowStatus.SKIPPED, 0L).intValue())
+                .failed(counts.getOrDefault(ParcelImportRowStatus.FAILED, 0L).intValue())
+                .rows(rows)
+                .build();
+    }
+
+    /**
+     * Результат разбора одной записи.
+     *
+     * @param parcel разобранная посылка (null при ошибке)
+     * @param error  текст ошибки (null при успехе)
+     */
+    private record RowParseResult(@Nullable Parcel parcel, @Nullable String error) {}
+}
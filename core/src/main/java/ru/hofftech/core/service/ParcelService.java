@@ -2,6 +2,8 @@ package ru.hofftech.core.service;
 
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -10,9 +12,12 @@ import org.springframework.stereotype.Service;
 import ru.hofftech.core.exception.ParcelException;
 import ru.hofftech.core.mapper.ParcelEntityMapper;
 import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.model.core.ParcelCursor;
 import ru.hofftech.core.model.entity.ParcelEntity;
 import ru.hofftech.core.repository.ParcelRepository;
 import ru.hofftech.core.util.PageDtoUtil;
+import ru.hofftech.shared.model.dto.CacheStatsDto;
+import ru.hofftech.shared.model.dto.CursorPageDto;
 import ru.hofftech.shared.model.dto.PageDto;
 import ru.hofftech.shared.model.dto.ParcelDto;
 import ru.hofftech.shared.model.dto.ParcelFormRequestDto;
@@ -30,8 +35,14 @@ import java.util.Optional;
 @RequiredArgsConstructor
 @NullMarked
 public class ParcelService {
+    /**
+     * Максимальный размер страницы при курсорной пагинации.
+     */
+    public static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
     private final ParcelRepository parcelRepository;
     private final ParcelEntityMapper parcelEntityMapper;
+    private final ParcelCatalogCache parcelCatalogCache;
 
     /**
      * Создаёт новую посылку.
@@ -49,6 +60,8 @@ public class ParcelService {
                     "Посылка с таким названием уже существует: %s".formatted(parcelFormRequestDto.name()));
         }
         parcelRepository.save(parcelEntityMapper.toParcelEntity(parcel));
+        // Сбрасываем закэшированное отсутствие посылки
+        parcelCatalogCache.invalidate(parcel.name());
 
         return "Создана посылка. Название: %s".formatted(parcel.getName());
     }
@@ -71,6 +84,7 @@ public class ParcelService {
                     "Посылка с таким названием не существует: %s".formatted(parcelFormRequestDto.name()));
         }
         parcelRepository.save(parcelEntityMapper.toParcelEntity(parcel, parcelEntityOptional.get()));
+        parcelCatalogCache.invalidate(parcel.name());
 
         return "Обновлена посылка. Название: %s".formatted(parcel.getName());
     }
@@ -91,6 +105,7 @@ public class ParcelService {
         }
 
         parcelRepository.delete(parcelEntityOptional.get());
+        parcelCatalogCache.invalidate(parcelNameRequestDto.name());
 
         return String.format("Удаление посылки %s завершено", parcelNameRequestDto.name());
     }
@@ -122,17 +137,70 @@ public class ParcelService {
     }
 
     /**
-     * Возвращает посылку по названию.
+     * Возвращает страницу посылок с курсорной пагинацией (сначала новые).
+     * <p>
+     * Страница ищется по индексу от позиции из токена, без OFFSET и без подсчёта общего количества,
+     * поэтому время чтения не зависит от глубины страницы.
+     *
+     * @param cursor токен страницы из предыдущего ответа (null для первой страницы)
+     * @param size   размер страницы
+     * @return страница DTO посылок с токеном следующей страницы
+     * @throws ParcelException если размер страницы или токен некорректны
+     */
+    public CursorPageDto<ParcelDto> readAllByCursor(@Nullable String cursor, int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new ParcelException(
+                    "Размер страницы должен быть от 1 до %d: %d".formatted(MAX_CURSOR_PAGE_SIZE, size));
+        }
+
+        // Запрашиваем на одну запись больше, чтобы определить наличие следующей страницы
+        Limit limit = Limit.of(size + 1);
+        List<ParcelEntity> entities;
+        if (cursor == null || cursor.isBlank()) {
+            entities = parcelRepository.findAllByOrderByCreatedDtDescParcelKeyDesc(limit);
+        } else {
+            ParcelCursor position = ParcelCursor.fromToken(cursor);
+            entities = parcelRepository.findPageBefore(position.createdDt(), position.parcelKey(), limit);
+        }
+
+        boolean hasNext = entities.size() > size;
+        List<ParcelEntity> page = hasNext ? entities.subList(0, size) : entities;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ParcelEntity last = page.getLast();
+            nextCursor = new ParcelCursor(last.getCreatedDt(), last.getParcelKey()).toToken();
+        }
+
+        return CursorPageDto.<ParcelDto>builder()
+                .content(page.stream().map(parcelEntityMapper::toDto).toList())
+                .pageSize(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Возвращает посылку по названию (через кэш каталога).
      *
      * @param name название посылки
      * @return список с одной посылкой
      * @throws ParcelException если посылка не найдена
      */
     public List<ParcelDto> readByName(String name) {
-        ParcelEntity entity = parcelRepository
-                .findByName(name)
+        Parcel parcel = parcelCatalogCache
+                .get(name)
                 .orElseThrow(() -> new ParcelException(String.format("Посылка с названием %s не существует", name)));
 
-        return List.of(parcelEntityMapper.toDto(entity));
+        return List.of(parcelEntityMapper.toDto(parcel));
+    }
+
+    /**
+     * Возвращает статистику кэша каталога посылок.
+     *
+     * @return статистика попаданий и промахов
+     */
+    public CacheStatsDto cacheStats() {
+        return parcelCatalogCache.stats();
     }
 }
@@ -6,12 +6,18 @@ import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Component;
 import ru.hofftech.core.model.core.Machine;
+import ru.hofftech.core.model.core.MachineSlot;
+import ru.hofftech.core.model.core.OccupancyGrid;
 import ru.hofftech.core.model.core.Parcel;
 import ru.hofftech.core.util.SupportUtil;
 
 /**
  * Класс для поиска оптимальной позиции размещения посылки в машине.
  * Реализует стратегию поиска "снизу вверх, слева направо".
+ * <p>
+ * Кандидаты отбираются по профилю высот машины ({@link OccupancyGrid#skylineHeight()})
+ * и по занятым клеткам строки под посылкой, поэтому перебираются только позиции,
+ * где посылка может получить опору.
  */
 @Slf4j
 @NullMarked
@@ -30,58 +36,87 @@ public class LoadStrategyPositionFinder {
      * @return массив [x, y] с координатами или null, если место не найдено
      */
     public int @Nullable [] findBestPosition(Machine machine, Parcel parcel) {
-        int[] bestPosition = null;
+        return findBestPosition(machine.occupancy(), parcel);
+    }
 
-        int maxY = machine.height() - parcel.getHeight();
-        int maxX = machine.width() - parcel.getWidth();
+    /**
+     * Находит наилучшую позицию для размещения посылки в слоте сессии погрузки.
+     *
+     * @param slot   слот машины, в который размещается посылка (не может быть null)
+     * @param parcel посылка для размещения (не может быть null)
+     * @return массив [x, y] с координатами или null, если место не найдено
+     */
+    public int @Nullable [] findBestPosition(MachineSlot slot, Parcel parcel) {
+        return findBestPosition(slot.occupancy(), parcel);
+    }
 
-        log.debug("Поиск позиции для посылки {}x{}", parcel.getWidth(), parcel.getHeight());
+    /**
+     * Находит наилучшую позицию для размещения посылки по карте занятости машины.
+     *
+     * @param occupancy карта занятости машины (не может быть null)
+     * @param parcel    посылка для размещения (не может быть null)
+     * @return массив [x, y] с координатами или null, если место не найдено
+     */
+    private int @Nullable [] findBestPosition(OccupancyGrid occupancy, Parcel parcel) {
+        int parcelWidth = parcel.getWidth();
+        int maxX = occupancy.width() - parcelWidth;
+
+        // Выше профиля высот опоры нет: рассматриваем строки только до skyline включительно
+        int maxY = Math.min(occupancy.height() - parcel.getHeight(), occupancy.skylineHeight());
 
-        // Ищем снизу вверх, слева направо
+        log.debug("Поиск позиции для посылки {}x{}", parcelWidth, parcel.getHeight());
+
+        // Ищем снизу вверх, слева направо: первая подходящая позиция - самая нижняя и левая
         for (int y = 0; y <= maxY; y++) {
-            for (int x = 0; x <= maxX; x++) {
-                if (canPlaceAt(machine, parcel, x, y)) {
-                    log.trace("Найдена позиция ({},{})", x, y);
-                    // Самая нижняя и левая позиция - оптимальна
-                    if (bestPosition == null || y < bestPosition[1] || (y == bestPosition[1] && x < bestPosition[0])) {
-                        bestPosition = new int[] {x, y};
+            int x = 0;
+            while (x <= maxX) {
+                if (y > 0) {
+                    // Под посылкой должна быть хотя бы одна занятая клетка: пропускаем свободный отрезок строки
+                    int supportX = occupancy.nextOccupied(y - 1, x);
+                    if (supportX < 0 || supportX - parcelWidth + 1 > maxX) {
+                        break;
                     }
+                    x = Math.max(x, supportX - parcelWidth + 1);
                 }
-            }
-        }
 
-        if (bestPosition != null) {
-            log.debug("Лучшая позиция: ({},{})", bestPosition[0], bestPosition[1]);
-        } else {
-            log.debug("Место не найдено");
+                if (canPlaceAt(occupancy, parcel, x, y)) {
+                    log.debug("Лучшая позиция: ({},{})", x, y);
+                    return new int[] {x, y};
+                }
+                x++;
+            }
         }
 
-        return bestPosition;
+        log.debug("Место не найдено");
+        return null;
     }
 
     /**
      * Проверяет возможность размещения посылки в указанной позиции.
      * Учитывается пересечение с другими посылками и достаточность опоры.
      *
-     * @param machine машина (не может быть null)
-     * @param parcel  посылка (не может быть null)
-     * @param x       координата X
-     * @param y       координата Y
+     * @param occupancy карта занятости машины (не может быть null)
+     * @param parcel    посылка (не может быть null)
+     * @param x         координата X
+     * @param y         координата Y
      * @return true если размещение возможно
      */
-    private boolean canPlaceAt(Machine machine, Parcel parcel, int x, int y) {
+    private boolean canPlaceAt(OccupancyGrid occupancy, Parcel parcel, int x, int y) {
         // Проверяем, не пересекается ли с другими посылками
-        if (machine.isPlaceOccupied(parcel, x, y)) {
+        if (occupancy.isPlaceOccupied(parcel, x, y)) {
             return false;
         }
 
         // Проверяем достаточность опоры
-        if (!loadStrategySupportChecker.hasEnoughSupport(machine, parcel, x, y)) {
-            log.trace(
-                    "Позиция ({},{}) отклонена - недостаточно опоры: {}",
-                    x,
-                    y,
-                    SupportUtil.getSupportInfo(machine, parcel, x, y));
+        if (!loadStrategySupportChecker.hasEnoughSupport(occupancy, parcel, x, y)) {
+            // Отладочная строка об опоре строится только при включённом trace
+            if (log.isTraceEnabled()) {
+                log.trace(
+                        "Позиция ({},{}) отклонена - недостаточно опоры: {}",
+                        x,
+                        y,
+                        SupportUtil.getSupportInfo(occupancy, parcel, x, y));
+            }
             return false;
         }
 
@@ -0,0 +1,95 @@
+package ru.hofftech.core.service.loader;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.stereotype.Component;
+import ru.hofftech.core.model.core.LoadSession;
+import ru.hofftech.core.model.core.MachineSlot;
+import ru.hofftech.core.model.core.Parcel;
+
+/**
+ * Класс для размещения посылки в первой подходящей машине сессии погрузки.
+ * <p>
+ * Частично заполненные машины проверяются по порядку номеров; пустые машины одного размера
+ * равнозначны, поэтому из них проверяется только первая машина каждого размера.
+ * Позиция внутри машины ищется {@link LoadStrategyPositionFinder} (самое низкое и левое место).
+ */
+@Slf4j
+@NullMarked
+@Component
+@RequiredArgsConstructor
+public class LoadStrategySlotPlacer {
+    /**
+     * Признак того, что посылка не размещена ни в одной машине.
+     */
+    public static final int NO_SLOT = Integer.MAX_VALUE;
+
+    private final LoadStrategyPositionFinder loadStrategyPositionFinder;
+
+    /**
+     * Размещает посылку в машине с наименьшим номером, в которой нашлось место.
+     * <p>
+     * Машины с номером меньше {@code fromId} уже отказали посылке такой же формы
+     * и пропускаются: место в машинах со временем только уменьшается.
+     *
+     * @param session сессия погрузки (не может быть null)
+     * @param parcel  посылка для размещения (не может быть null)
+     * @param fromId  наименьший номер машины, в которой имеет смысл искать место
+     * @return номер машины, в которую размещена посылка, или {@link #NO_SLOT}
+     */
+    public int place(LoadSession session, Parcel parcel, int fromId) {
+        // Пустые машины одного размера равнозначны: проверяем по одной на размер
+        MachineSlot emptySlot = null;
+        int[] emptyPosition = null;
+        for (MachineSlot slot : session.firstEmptySlotPerSize(parcel, fromId)) {
+            emptyPosition = loadStrategyPositionFinder.findBestPosition(slot, parcel);
+            if (emptyPosition != null) {
+                emptySlot = slot;
+                break;
+            }
+        }
+
+        // Частично заполненные машины с меньшим номером имеют приоритет перед пустой
+        for (MachineSlot slot : session.partialSlots(fromId)) {
+            if (emptySlot != null && slot.id() > emptySlot.id()) {
+                break;
+            }
+            // Проверяем габариты и количество свободных клеток
+            if (!slot.canAccept(parcel)) {
+                continue;
+            }
+
+            int[] position = loadStrategyPositionFinder.findBestPosition(slot, parcel);
+
+            if (position != null) {
+                placeParcel(slot, parcel, position);
+                return slot.id();
+            }
+        }
+
+        if (emptySlot != null) {
+            placeParcel(emptySlot, parcel, emptyPosition);
+            return emptySlot.id();
+        }
+
+        return NO_SLOT;
+    }
+
+    /**
+     * Размещает посылку в машине.
+     *
+     * @param slot     слот машины (не может быть null)
+     * @param parcel   посылка для размещения (не может быть null)
+     * @param position координаты [x, y] (не может быть null)
+     */
+    private void placeParcel(MachineSlot slot, Parcel parcel, int[] position) {
+        slot.placeParcel(parcel, position[0], position[1]);
+
+        log.debug(
+                "Посылка размещена в существующей машине #{} в позиции ({},{})",
+                slot.id() + 1,
+                position[0],
+                position[1]);
+    }
+}
@@ -4,11 +4,16 @@ import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NullMarked;
 import org.springframework.stereotype.Component;
 import ru.hofftech.core.model.core.Machine;
+import ru.hofftech.core.model.core.OccupancyGrid;
 import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.model.core.ParcelShape;
 
 /**
  * Класс для проверки достаточности опоры под посылкой.
  * Требование: опора должна составлять более 50% площади основания посылки.
+ * <p>
+ * Количество опорных клеток считается по битовым маскам (AND + popcount по словам),
+ * а не поклеточно.
  */
 @NullMarked
 @Component
@@ -26,28 +31,31 @@ public class LoadStrategySupportChecker {
      * @return true если опоры достаточно (>50% клеток нижнего ряда имеют опору)
      */
     public boolean hasEnoughSupport(Machine machine, Parcel parcel, int x, int y) {
+        return hasEnoughSupport(machine.occupancy(), parcel, x, y);
+    }
+
+    /**
+     * Проверяет, достаточно ли опоры под посылкой в указанной позиции по карте занятости.
+     * Для посылки на полу (y = 0) всегда возвращает true.
+     *
+     * @param occupancy карта занятости машины (не может быть null)
+     * @param parcel    посылка (не может быть null)
+     * @param x         координата X левого нижнего угла посылки
+     * @param y         координата Y левого нижнего угла посылки
+     * @return true если опоры достаточно (>50% клеток нижнего ряда имеют опору)
+     */
+    public boolean hasEnoughSupport(OccupancyGrid occupancy, Parcel parcel, int x, int y) {
         // Если посылка на полу - всегда достаточно опоры
         if (y == 0) {
             return true;
         }
 
-        int width = parcel.getWidth();
-        boolean[][] parcelGrid = parcel.grid();
-
-        // Находим все клетки нижнего ряда посылки, которые реально заполнены
-        int totalBottomCells = 0;
-        int supportedCells = 0;
-
-        for (int i = 0; i < width; i++) {
-            // Проверяем, есть ли клетка в нижнем ряду посылки
-            if (parcelGrid[parcel.getHeight() - 1][i]) {
-                totalBottomCells++;
-                // Проверяем, есть ли опора под этой клеткой
-                if (machine.grid()[y - 1][x + i] != ' ') {
-                    supportedCells++;
-                }
-            }
-        }
+        // Количество заполненных клеток нижнего ряда посылки берём из скомпилированной формы
+        ParcelShape shape = parcel.shape();
+        int totalBottomCells = shape.bottomCells().length;
+
+        // Опору считаем одним AND + popcount по словам строки под посылкой
+        int supportedCells = occupancy.countOccupied(y - 1, shape.bottomMask(), x);
 
         // Рассчитываем необходимый минимум (>50%)
         int neededSupport = (totalBottomCells / 2) + 1;
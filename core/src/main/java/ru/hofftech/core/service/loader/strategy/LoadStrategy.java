@@ -1,6 +1,8 @@
 package ru.hofftech.core.service.loader.strategy;
 
 import org.jspecify.annotations.NullMarked;
+import ru.hofftech.core.exception.LoadException;
+import ru.hofftech.core.model.core.LoadOptions;
 import ru.hofftech.core.model.core.LoadResult;
 import ru.hofftech.core.model.core.Machine;
 import ru.hofftech.core.model.core.Parcel;
@@ -21,6 +23,20 @@ public interface LoadStrategy {
      */
     LoadResult loadParcels(List<Parcel> parcels, List<Machine> machines);
 
+    /**
+     * Упаковывает посылки в машины с параметрами запроса.
+     * <p>
+     * По умолчанию параметры игнорируются; их используют стратегии с оптимизацией.
+     *
+     * @param parcels  список посылок для упаковки
+     * @param machines список машин
+     * @param options  параметры выполнения (бюджет времени и т.п.)
+     * @return результат упаковки с разделением на успешные и проблемные
+     */
+    default LoadResult loadParcels(List<Parcel> parcels, List<Machine> machines, LoadOptions options) {
+        return loadParcels(parcels, machines);
+    }
+
     /**
      * @return название алгоритма
      */
@@ -32,4 +48,17 @@ public interface LoadStrategy {
     default String getAlgorithmName() {
         return this.getAlgorithmType().getDescription();
     }
+
+    /**
+     * Прерывает упаковку, если поток стратегии прерван (например, при отмене в портфеле стратегий).
+     * Стратегии вызывают проверку перед размещением каждой посылки, чтобы отменённая стратегия
+     * не занимала поток пула.
+     *
+     * @throws LoadException если поток прерван
+     */
+    static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new LoadException("Упаковка прервана");
+        }
+    }
 }
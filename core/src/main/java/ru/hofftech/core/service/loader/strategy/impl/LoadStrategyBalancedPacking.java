@@ -5,9 +5,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NullMarked;
 import org.springframework.stereotype.Component;
 import ru.hofftech.core.model.core.LoadResult;
+import ru.hofftech.core.model.core.LoadSession;
 import ru.hofftech.core.model.core.LoadStrategyParcelInvalid;
 import ru.hofftech.core.model.core.Machine;
+import ru.hofftech.core.model.core.MachineSize;
+import ru.hofftech.core.model.core.MachineSlot;
 import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.model.core.ParcelShape;
 import ru.hofftech.core.service.loader.LoadStrategyPositionFinder;
 import ru.hofftech.core.service.loader.strategy.LoadStrategy;
 import ru.hofftech.shared.model.enums.LoadStrategyParcelInvalidCauseType;
@@ -15,7 +19,9 @@ import ru.hofftech.shared.model.enums.LoadStrategyType;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Стратегия равномерной погрузки по машинам.
@@ -46,7 +52,7 @@ public class LoadStrategyBalancedPacking implements LoadStrategy {
     @Override
     public LoadResult loadParcels(List<Parcel> parcels, List<Machine> machines) {
         List<LoadStrategyParcelInvalid> loadStrategyParcelInvalids = new ArrayList<>();
-        List<Machine> resultMachines = new ArrayList<>(machines);
+        LoadSession session = LoadSession.open(machines);
 
         // Шаг 1: Сортируем посылки по убыванию ширины (самые широкие сначала)
         List<Parcel> sortedParcels = sortParcelsByWidth(parcels);
@@ -55,18 +61,25 @@ public class LoadStrategyBalancedPacking implements LoadStrategy {
         int machineIndex = 0;
 
         // Шаг 3: Обрабатываем каждую посылку
+        Set<ParcelShape> rejectedShapes = new HashSet<>();
         for (Parcel parcel : sortedParcels) {
+            LoadStrategy.checkInterrupted();
             log.debug("Упаковка посылки {}x{} с символом '{}'", parcel.getWidth(), parcel.getHeight(), parcel.symbol());
 
             // Пытаемся разместить, начиная с текущей машины
-            boolean placed = tryPlaceInMachinesRoundRobin(resultMachines, parcel, machineIndex);
+            // Место в машинах только уменьшается: если копия формы не поместилась никуда,
+            // остальные копии той же формы не проверяются
+            boolean placed = !rejectedShapes.contains(parcel.shape())
+                    && tryPlaceInMachinesRoundRobin(session, parcel, machineIndex);
 
             if (placed) {
                 // Если разместили, переходим к следующей машине
-                machineIndex = (machineIndex + 1) % resultMachines.size();
+                machineIndex = (machineIndex + 1) % session.size();
             } else {
+                rejectedShapes.add(parcel.shape());
+
                 // Проверяем, влезает ли посылка хотя бы в одну машину по габаритам
-                boolean fitsInAnyMachine = resultMachines.stream().anyMatch(m -> m.fitsInMachine(parcel));
+                boolean fitsInAnyMachine = session.fitsInAnyMachine(parcel);
 
                 if (fitsInAnyMachine) {
                     // Посылка влезает, но не нашлось места ни в одной машине
@@ -86,6 +99,7 @@ public class LoadStrategyBalancedPacking implements LoadStrategy {
             }
         }
 
+        List<Machine> resultMachines = session.toMachines();
         LoadResult result = LoadResult.builder()
                 .machines(resultMachines)
                 .loadStrategyParcelInvalids(loadStrategyParcelInvalids)
@@ -133,34 +147,42 @@ public class LoadStrategyBalancedPacking implements LoadStrategy {
     /**
      * Пытается разместить посылку в машинах по кругу, начиная с указанного индекса.
      *
-     * @param machines   список машин (не может быть null)
+     * @param session    сессия погрузки (не может быть null)
      * @param parcel     посылка для размещения (не может быть null)
-     * @param startIndex индекс машины, с которой начинать поиск
+     * @param startIndex идентификатор слота, с которого начинать поиск
      * @return true если посылка размещена
      */
-    private boolean tryPlaceInMachinesRoundRobin(List<Machine> machines, Parcel parcel, int startIndex) {
-        if (machines.isEmpty()) {
+    private boolean tryPlaceInMachinesRoundRobin(LoadSession session, Parcel parcel, int startIndex) {
+        // Проверка габаритов по различным размерам машин, без обхода всего парка
+        if (session.isEmpty() || !session.fitsInAnyMachine(parcel)) {
             return false;
         }
 
-        int size = machines.size();
+        int size = session.size();
+
+        // Размеры, для которых посылка уже не поместилась в пустую машину:
+        // остальные пустые машины этого размера равнозначны и тоже не подойдут
+        Set<MachineSize> failedEmptySizes = new HashSet<>();
 
         // Проходим по всем машинам, начиная с startIndex
         for (int offset = 0; offset < size; offset++) {
             int index = (startIndex + offset) % size;
-            Machine machine = machines.get(index);
+            MachineSlot slot = session.slot(index);
 
-            // Проверяем, влезает ли посылка в эту машину по габаритам
-            if (!machine.fitsInMachine(parcel)) {
+            // Проверяем габариты и количество свободных клеток
+            if (!slot.canAccept(parcel) || (slot.isEmpty() && failedEmptySizes.contains(slot.size()))) {
                 continue;
             }
 
-            int[] position = loadStrategyPositionFinder.findBestPosition(machine, parcel);
+            int[] position = loadStrategyPositionFinder.findBestPosition(slot, parcel);
+
+            if (position == null && slot.isEmpty()) {
+                failedEmptySizes.add(slot.size());
+            }
 
             if (position != null) {
                 // Размещаем в этой машине
-                Machine updatedMachine = machine.placeParcel(parcel, position[0], position[1]);
-                machines.set(machines.indexOf(machine), updatedMachine);
+                slot.placeParcel(parcel, position[0], position[1]);
 
                 log.debug("Посылка размещена в машине #{} в позиции ({},{})", index + 1, position[0], position[1]);
                 return true;
@@ -5,17 +5,21 @@ import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NullMarked;
 import org.springframework.stereotype.Component;
 import ru.hofftech.core.model.core.LoadResult;
+import ru.hofftech.core.model.core.LoadSession;
 import ru.hofftech.core.model.core.LoadStrategyParcelInvalid;
 import ru.hofftech.core.model.core.Machine;
 import ru.hofftech.core.model.core.Parcel;
-import ru.hofftech.core.service.loader.LoadStrategyPositionFinder;
+import ru.hofftech.core.model.core.ParcelShape;
+import ru.hofftech.core.service.loader.LoadStrategySlotPlacer;
 import ru.hofftech.core.service.loader.strategy.LoadStrategy;
 import ru.hofftech.shared.model.enums.LoadStrategyParcelInvalidCauseType;
 import ru.hofftech.shared.model.enums.LoadStrategyType;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Стратегия плотной упаковки посылок.
@@ -29,7 +33,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class LoadStrategyDensePacking implements LoadStrategy {
 
-    private final LoadStrategyPositionFinder loadStrategyPositionFinder;
+    private final LoadStrategySlotPlacer loadStrategySlotPlacer;
 
     /**
      * {@inheritDoc}
@@ -45,21 +49,29 @@ public class LoadStrategyDensePacking implements LoadStrategy {
     @Override
     public LoadResult loadParcels(List<Parcel> parcels, List<Machine> machines) {
         List<LoadStrategyParcelInvalid> loadStrategyParcelInvalids = new ArrayList<>();
-        List<Machine> resultMachines = new ArrayList<>(machines);
+        LoadSession session = LoadSession.open(machines);
 
         // Шаг 1: Сортируем посылки по убыванию ширины (самые широкие сначала)
         List<Parcel> sortedParcels = sortParcelsByWidth(parcels);
 
-        // Шаг 2: Обрабатываем каждую посылку
+        // Шаг 2: Для каждой формы запоминаем первую машину, в которой имеет смысл искать место.
+        // Одинаковые посылки не проверяются повторно в машинах, которые им уже отказали
+        Map<ParcelShape, Integer> firstCandidateIds = new HashMap<>();
+
+        // Шаг 3: Обрабатываем каждую посылку
         for (Parcel parcel : sortedParcels) {
+            LoadStrategy.checkInterrupted();
             log.debug("Упаковка посылки {}x{} с символом '{}'", parcel.getWidth(), parcel.getHeight(), parcel.symbol());
 
             // Пытаемся разместить в существующих машинах
-            boolean placed = tryPlaceInExistingMachines(resultMachines, parcel);
+            int fromId = firstCandidateIds.getOrDefault(parcel.shape(), 0);
+            int slotId = loadStrategySlotPlacer.place(session, parcel, fromId);
+            firstCandidateIds.put(parcel.shape(), slotId);
+            boolean placed = slotId != LoadStrategySlotPlacer.NO_SLOT;
 
             if (!placed) {
                 // Проверяем, влезает ли посылка хотя бы в одну машину по габаритам
-                boolean fitsInAnyMachine = resultMachines.stream().anyMatch(m -> m.fitsInMachine(parcel));
+                boolean fitsInAnyMachine = session.fitsInAnyMachine(parcel);
 
                 if (fitsInAnyMachine) {
                     // Посылка влезает, но не нашлось места ни в одной машине
@@ -79,6 +91,7 @@ public class LoadStrategyDensePacking implements LoadStrategy {
             }
         }
 
+        List<Machine> resultMachines = session.toMachines();
         LoadResult result = LoadResult.builder()
                 .machines(resultMachines)
                 .loadStrategyParcelInvalids(loadStrategyParcelInvalids)
@@ -123,41 +136,6 @@ public class LoadStrategyDensePacking implements LoadStrategy {
         return loadStrategyParcelInvalid;
     }
 
-    /**
-     * Пытается разместить посылку в одной из существующих машин.
-     *
-     * @param machines список машин (не может быть null)
-     * @param parcel   посылка для размещения (не может быть null)
-     * @return true если посылка размещена
-     */
-    private boolean tryPlaceInExistingMachines(List<Machine> machines, Parcel parcel) {
-        for (int i = 0; i < machines.size(); i++) {
-            Machine machine = machines.get(i);
-
-            // Проверяем, влезает ли посылка в эту машину по габаритам
-            if (!machine.fitsInMachine(parcel)) {
-                continue;
-            }
-
-            int[] position = loadStrategyPositionFinder.findBestPosition(machine, parcel);
-
-            if (position != null) {
-                // Размещаем в этой машине
-                Machine updatedMachine = machine.placeParcel(parcel, position[0], position[1]);
-                machines.set(machines.indexOf(machine), updatedMachine);
-
-                log.debug(
-                        "Посылка размещена в существующей машине #{} в позиции ({},{})",
-                        i + 1,
-                        position[0],
-                        position[1]);
-                return true;
-            }
-        }
-
-        return false;
-    }
-
     /**
      * Сортирует посылки по убыванию ширины (самые широкие сначала).
      *
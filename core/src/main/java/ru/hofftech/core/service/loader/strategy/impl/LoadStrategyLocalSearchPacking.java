@@ -0,0 +1,426 @@
+package ru.hofftech.core.service.loader.strategy.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+import ru.hofftech.core.config.LoadOptimizerProperties;
+import ru.hofftech.core.exception.LoadException;
+import ru.hofftech.core.model.core.LoadOptions;
+import ru.hofftech.core.model.core.LoadResult;
+import ru.hofftech.core.model.core.LoadSession;
+import ru.hofftech.core.model.core.LoadStrategyParcelInvalid;
+import ru.hofftech.core.model.core.Machine;
+import ru.hofftech.core.model.core.MachineSlot;
+import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.model.core.ParcelShape;
+import ru.hofftech.core.model.core.PlacedParcel;
+import ru.hofftech.core.service.loader.LoadStrategySlotPlacer;
+import ru.hofftech.core.service.loader.strategy.LoadStrategy;
+import ru.hofftech.shared.model.enums.LoadStrategyParcelInvalidCauseType;
+import ru.hofftech.shared.model.enums.LoadStrategyType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Стратегия оптимизации погрузки локальным поиском с ограничением по времени.
+ * <p>
+ * Решение задаётся порядком посылок, который упаковывается жадно (как плотная упаковка:
+ * первая машина, самое низкое и левое место). Стартовый порядок - сортировка по ширине,
+ * то есть результат плотной упаковки. Пока не исчерпан бюджет времени, порядок изменяется:
+ * меняются местами две посылки либо посылки наименее заполненной машины переносятся
+ * в начало порядка и укладываются заново. Лучшее найденное решение сохраняется.
+ * <p>
+ * Решения сравниваются по количеству упакованных клеток, затем по количеству использованных машин,
+ * затем по неравномерности заполнения (чем сильнее пустеет последняя машина, тем лучше).
+ */
+@Slf4j
+@NullMarked
+@Component
+@RequiredArgsConstructor
+public class LoadStrategyLocalSearchPacking implements LoadStrategy {
+
+    private final LoadStrategySlotPlacer loadStrategySlotPlacer;
+
+    private final LoadOptimizerProperties loadOptimizerProperties;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LoadStrategyType getAlgorithmType() {
+        return LoadStrategyType.LOCAL_SEARCH_PACKING;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getAlgorithmName() {
+        return "Оптимизация локальным поиском";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LoadResult loadParcels(List<Parcel> parcels, List<Machine> machines) {
+        return loadParcels(parcels, machines, LoadOptions.defaults());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LoadResult loadParcels(List<Parcel> parcels, List<Machine> machines, LoadOptions options) {
+        Duration budget = resolveBudget(options);
+        long deadline = System.nanoTime() + budget.toNanos();
+        // Стратегия могла стартовать позже запроса (например, в очереди пула) - срок запроса важнее
+        if (options.deadline() != null && options.deadline() - deadline < 0) {
+            deadline = options.deadline();
+        }
+
+        // Шаг 1: Стартовое решение - плотная упаковка в порядке убывания ширины
+        List<Parcel> currentOrder = sortParcelsByWidth(parcels);
+        Solution current = pack(currentOrder, machines);
+        if (current == null) {
+            throw new LoadException("Упаковка прервана");
+        }
+        Solution best = current;
+
+        int lowerBound = machinesLowerBound(parcels, machines);
+        SplittableRandom random = new SplittableRandom();
+        int iterations = 0;
+
+        // Шаг 2: Улучшаем решение, пока есть время и есть куда улучшать
+        // Прерывание потока (например, отмена в портфеле стратегий) завершает поиск с лучшим решением;
+        // прерванная упаковка кандидата отбрасывается
+        while (parcels.size() > 1
+                && System.nanoTime() < deadline
+                && !Thread.currentThread().isInterrupted()
+                && !isOptimal(best, lowerBound)) {
+            iterations++;
+
+            List<Parcel> candidateOrder = (iterations % 2 == 0)
+                    ? moveLeastFilledMachineFirst(currentOrder, current)
+                    : swapRandomPair(currentOrder, random);
+
+            Solution candidate = pack(candidateOrder, machines);
+            if (candidate == null) {
+                break;
+            }
+
+            // Принимаем не худшие решения, чтобы уходить с плато
+            if (candidate.compareTo(current) >= 0) {
+                current = candidate;
+                currentOrder = candidateOrder;
+            }
+            if (candidate.compareTo(best) > 0) {
+                best = candidate;
+                log.debug(
+                        "Итерация {}: улучшение, машин {}, упаковано клеток {}",
+                        iterations,
+                        best.usedMachines(),
+                        best.packedCells());
+            }
+        }
+
+        // Шаг 3: Формируем результат по лучшему решению
+        List<LoadStrategyParcelInvalid> loadStrategyParcelInvalids = new ArrayList<>();
+        for (Parcel parcel : best.unplaced()) {
+            loadStrategyParcelInvalids.add(invalidParcel(parcel, best.session()));
+        }
+
+        List<Machine> resultMachines = best.session().toMachines();
+        LoadResult result = LoadResult.builder()
+                .machines(resultMachines)
+                .loadStrategyParcelInvalids(loadStrategyParcelInvalids)
+                .iterations(iterations)
+                .build();
+
+        log.debug(
+                "Упаковано {} посылок в {} машин за {} итераций. Отложено {} посылок",
+                result.getTotalParcelsProcessed(),
+                result.getUsedMachinesCount(),
+                iterations,
+                loadStrategyParcelInvalids.size());
+
+        return result;
+    }
+
+    /**
+     * Определяет бюджет времени: из запроса (не больше максимального) или значение по умолчанию.
+     *
+     * @param options параметры запроса (не может быть null)
+     * @return бюджет времени (не может быть null)
+     */
+    private Duration resolveBudget(LoadOptions options) {
+        Duration max = Duration.ofMillis(loadOptimizerProperties.getMaxTimeBudgetMs());
+        Duration requested = options.timeBudget() != null
+                ? options.timeBudget()
+                : Duration.ofMillis(loadOptimizerProperties.getDefaultTimeBudgetMs());
+
+        return requested.compareTo(max) > 0 ? max : requested;
+    }
+
+    /**
+     * Жадно упаковывает посылки в указанном порядке.
+     *
+     * @param order    порядок посылок (не может быть null)
+     * @param machines исходные машины (не может быть null)
+     * @return решение или null, если упаковка прервана
+     */
+    @Nullable
+    private Solution pack(List<Parcel> order, List<Machine> machines) {
+        LoadSession session = LoadSession.open(machines);
+        List<Parcel> unplaced = new ArrayList<>();
+
+        // Одинаковые посылки не проверяются повторно в машинах, которые им уже отказали
+        Map<ParcelShape, Integer> firstCandidateIds = new HashMap<>();
+
+        for (Parcel parcel : order) {
+            if (Thread.currentThread().isInterrupted()) {
+                return null;
+            }
+            int slotId =
+                    loadStrategySlotPlacer.place(session, parcel, firstCandidateIds.getOrDefault(parcel.shape(), 0));
+            firstCandidateIds.put(parcel.shape(), slotId);
+            if (slotId == LoadStrategySlotPlacer.NO_SLOT) {
+                unplaced.add(parcel);
+            }
+        }
+
+        return Solution.of(session, unplaced);
+    }
+
+    /**
+     * Меняет местами две случайные посылки в порядке.
+     *
+     * @param order  текущий порядок (не может быть null)
+     * @param random генератор случайных чисел (не может быть null)
+     * @return новый порядок (не может быть null)
+     */
+    private List<Parcel> swapRandomPair(List<Parcel> order, SplittableRandom random) {
+        List<Parcel> result = new ArrayList<>(order);
+        int first = random.nextInt(result.size());
+        int second = random.nextInt(result.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        Collections.swap(result, first, second);
+        return result;
+    }
+
+    /**
+     * Освобождает наименее заполненную машину: её посылки переносятся в начало порядка
+     * и при повторной упаковке укладываются первыми, остальные заполняют оставшееся место.
+     *
+     * @param order    текущий порядок (не может быть null)
+     * @param solution решение, соответствующее текущему порядку (не может быть null)
+     * @return новый порядок (не может быть null)
+     */
+    private List<Parcel> moveLeastFilledMachineFirst(List<Parcel> order, Solution solution) {
+        MachineSlot leastFilled = null;
+        int leastCells = Integer.MAX_VALUE;
+
+        for (MachineSlot slot : solution.session().slots()) {
+            int cells = filledCells(slot);
+            if (cells > 0 && cells < leastCells) {
+                leastFilled = slot;
+                leastCells = cells;
+            }
+        }
+
+        if (leastFilled == null) {
+            return order;
+        }
+
+        // Одинаковые посылки могут быть одним общим экземпляром, поэтому переносим
+        // столько копий каждого экземпляра, сколько их лежит в освобождаемой машине
+        Map<Parcel, Integer> toMove = new IdentityHashMap<>();
+        for (PlacedParcel placed : leastFilled.parcels()) {
+            toMove.merge(placed.parcel(), 1, Integer::sum);
+        }
+
+        List<Parcel> result = new ArrayList<>(order.size());
+        List<Parcel> rest = new ArrayList<>(order.size());
+        for (Parcel parcel : order) {
+            Integer remaining = toMove.get(parcel);
+            if (remaining != null && remaining > 0) {
+                toMove.put(parcel, remaining - 1);
+                result.add(parcel);
+            } else {
+                rest.add(parcel);
+            }
+        }
+        result.addAll(rest);
+        return result;
+    }
+
+    /**
+     * Проверяет, что решение уже не может быть улучшено:
+     * все посылки упакованы в минимально возможное количество машин.
+     *
+     * @param solution   решение (не может быть null)
+     * @param lowerBound нижняя оценка количества машин
+     * @return true если решение оптимально
+     */
+    private boolean isOptimal(Solution solution, int lowerBound) {
+        return solution.unplaced().isEmpty() && solution.usedMachines() <= lowerBound;
+    }
+
+    /**
+     * Вычисляет нижнюю оценку количества машин: минимальное число самых вместительных машин,
+     * суммарной площади которых хватает на все клетки посылок (включая уже погруженные в машины).
+     *
+     * @param parcels  посылки (не может быть null)
+     * @param machines машины (не может быть null)
+     * @return нижняя оценка количества машин
+     */
+    private int machinesLowerBound(List<Parcel> parcels, List<Machine> machines) {
+        long cells = parcels.stream().mapToLong(Parcel::getFilledCellsCount).sum()
+                + machines.stream()
+                        .flatMap(machine -> machine.parcels().stream())
+                        .mapToLong(placed -> placed.parcel().getFilledCellsCount())
+                        .sum();
+        List<Integer> capacities = machines.stream()
+                .map(machine -> machine.width() * machine.height())
+                .sorted(Comparator.reverseOrder())
+                .toList();
+
+        int count = 0;
+        long capacity = 0;
+        for (int machineCapacity : capacities) {
+            if (capacity >= cells) {
+                break;
+            }
+            capacity += machineCapacity;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Создаёт объект ошибочной посылки с причиной, определённой по машинам сессии.
+     * Также автоматически логирует предупреждение.
+     *
+     * @param parcel  посылка, которую не удалось обработать (не может быть null)
+     * @param session сессия погрузки (не может быть null)
+     * @return объект с информацией об ошибке (не может быть null)
+     */
+    private LoadStrategyParcelInvalid invalidParcel(Parcel parcel, LoadSession session) {
+        LoadStrategyParcelInvalid loadStrategyParcelInvalid = session.fitsInAnyMachine(parcel)
+                ? LoadStrategyParcelInvalid.builder()
+                        .parcel(parcel)
+                        .causeType(LoadStrategyParcelInvalidCauseType.NO_MACHINE_SPACE)
+                        .cause("Посылка не влезла в существующие машины, так как не нашлось места")
+                        .build()
+                : LoadStrategyParcelInvalid.builder()
+                        .parcel(parcel)
+                        .causeType(LoadStrategyParcelInvalidCauseType.PARCEL_OVERSIZED)
+                        .cause(String.format(
+                                "Посылка %dx%d слишком велика для всех доступных машин и будет отложена",
+                                parcel.getWidth(), parcel.getHeight()))
+                        .build();
+
+        log.warn(loadStrategyParcelInvalid.cause());
+
+        return loadStrategyParcelInvalid;
+    }
+
+    /**
+     * Сортирует посылки по убыванию ширины (самые широкие сначала).
+     *
+     * @param parcels список посылок (не может быть null)
+     * @return отсортированный список (не может быть null)
+     */
+    private List<Parcel> sortParcelsByWidth(List<Parcel> parcels) {
+        return parcels.stream()
+                .sorted(Comparator.comparingInt(Parcel::getWidth).reversed())
+                .toList();
+    }
+
+    /**
+     * Подсчитывает заполненные клетки в машине.
+     *
+     * @param slot слот машины (не может быть null)
+     * @return количество заполненных клеток
+     */
+    private static int filledCells(MachineSlot slot) {
+        int cells = 0;
+        for (PlacedParcel placed : slot.parcels()) {
+            cells += placed.parcel().getFilledCellsCount();
+        }
+        return cells;
+    }
+
+    /**
+     * Решение локального поиска с предвычисленными показателями качества.
+     *
+     * @param session       сессия с упакованными посылками
+     * @param unplaced      посылки, которые не удалось разместить
+     * @param packedCells   количество упакованных клеток
+     * @param usedMachines  количество использованных машин
+     * @param fillSquares   сумма квадратов заполнения машин (больше - заполнение неравномернее)
+     */
+    private record Solution(
+            LoadSession session,
+            List<Parcel> unplaced,
+            long packedCells,
+            int usedMachines,
+            long fillSquares)
+            implements Comparable<Solution> {
+
+        /**
+         * Вычисляет показатели качества по сессии.
+         *
+         * @param session  сессия с упакованными посылками (не может быть null)
+         * @param unplaced посылки, которые не удалось разместить (не может быть null)
+         * @return решение (не может быть null)
+         */
+        static Solution of(LoadSession session, List<Parcel> unplaced) {
+            long packedCells = 0;
+            int usedMachines = 0;
+            long fillSquares = 0;
+
+            for (MachineSlot slot : session.slots()) {
+                int cells = filledCells(slot);
+                packedCells += cells;
+                fillSquares += (long) cells * cells;
+                if (!slot.isEmpty()) {
+                    usedMachines++;
+                }
+            }
+
+            return new Solution(session, unplaced, packedCells, usedMachines, fillSquares);
+        }
+
+        /**
+         * Сравнивает решения: большее значение - лучшее решение.
+         *
+         * @param other другое решение (не может быть null)
+         * @return положительное число, если это решение лучше
+         */
+        @Override
+        public int compareTo(Solution other) {
+            int byCells = Long.compare(packedCells, other.packedCells);
+            if (byCells != 0) {
+                return byCells;
+            }
+            int byMachines = Integer.compare(other.usedMachines, usedMachines);
+            if (byMachines != 0) {
+                return byMachines;
+            }
+            return Long.compare(fillSquares, other.fillSquares);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package ru.hofftech.core.service.loader.strategy.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+import ru.hofftech.core.model.core.FreeRectangle;
+import ru.hofftech.core.model.core.FreeRectangles;
+import ru.hofftech.core.model.core.LoadResult;
+import ru.hofftech.core.model.core.LoadSession;
+import ru.hofftech.core.model.core.LoadStrategyParcelInvalid;
+import ru.hofftech.core.model.core.Machine;
+import ru.hofftech.core.model.core.MachineSlot;
+import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.model.core.ParcelShape;
+import ru.hofftech.core.service.loader.LoadStrategyPositionFinder;
+import ru.hofftech.core.service.loader.LoadStrategySupportChecker;
+import ru.hofftech.core.service.loader.strategy.LoadStrategy;
+import ru.hofftech.shared.model.enums.LoadStrategyParcelInvalidCauseType;
+import ru.hofftech.shared.model.enums.LoadStrategyType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Стратегия упаковки по максимальным свободным прямоугольникам (MaxRects).
+ * Для каждой машины хранится список максимальных свободных прямоугольников,
+ * посылка ставится в левый нижний угол прямоугольника с наилучшим совпадением
+ * по короткой стороне (best short side fit) при условии достаточной опоры (>50%).
+ * Другие углы прямоугольника не проверяются: если в левом нижнем углу опоры недостаточно,
+ * прямоугольник пропускается.
+ * Стоимость размещения не зависит от площади кузова, поэтому стратегия подходит
+ * для очень больших машин. Прямоугольники машины строятся при первой попытке разместить в ней
+ * посылку, поэтому машины, до которых очередь не дошла, не обрабатываются.
+ * Для непрямоугольных посылок выполняется поиск позиции по клеткам,
+ * после чего их заполненные клетки вычитаются из свободных прямоугольников.
+ * Сортирует посылки по площади (большие сначала).
+ */
+@Slf4j
+@NullMarked
+@Component
+@RequiredArgsConstructor
+public class LoadStrategyMaxRectsPacking implements LoadStrategy {
+
+    private final LoadStrategyPositionFinder loadStrategyPositionFinder;
+
+    private final LoadStrategySupportChecker loadStrategySupportChecker;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LoadStrategyType getAlgorithmType() {
+        return LoadStrategyType.MAX_RECTS_PACKING;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LoadResult loadParcels(List<Parcel> parcels, List<Machine> machines) {
+        List<LoadStrategyParcelInvalid> loadStrategyParcelInvalids = new ArrayList<>();
+        LoadSession session = LoadSession.open(machines);
+
+        // Шаг 1: Индексы свободных прямоугольников строятся по мере обращения к машинам
+        // (идентификатор слота = индекс в массиве)
+        @Nullable FreeRectangles[] freeRectangles = new FreeRectangles[session.size()];
+
+        // Шаг 2: Сортируем посылки по убыванию площади (самые большие сначала)
+        List<Parcel> sortedParcels = sortParcelsByArea(parcels);
+
+        // Шаг 3: Обрабатываем каждую посылку
+        Set<ParcelShape> rejectedShapes = new HashSet<>();
+        for (Parcel parcel : sortedParcels) {
+            LoadStrategy.checkInterrupted();
+            log.debug("Упаковка посылки {}x{} с символом '{}'", parcel.getWidth(), parcel.getHeight(), parcel.symbol());
+
+            // Пытаемся разместить в существующих машинах
+            // Место в машинах только уменьшается: если копия формы не поместилась никуда,
+            // остальные копии той же формы не проверяются
+            boolean placed = !rejectedShapes.contains(parcel.shape())
+                    && tryPlaceInExistingMachines(session, freeRectangles, parcel);
+
+            if (!placed) {
+                rejectedShapes.add(parcel.shape());
+                // Проверяем, влезает ли посылка хотя бы в одну машину по габаритам
+                boolean fitsInAnyMachine = session.fitsInAnyMachine(parcel);
+
+                if (fitsInAnyMachine) {
+                    // Посылка влезает, но не нашлось места ни в одной машине
+                    loadStrategyParcelInvalids.add(invalidParcel(
+                            parcel,
+                            LoadStrategyParcelInvalidCauseType.NO_MACHINE_SPACE,
+                            "Посылка не влезла в существующие машины, так как не нашлось места"));
+                } else {
+                    // Посылка не влезает ни в одну машину по габаритам
+                    loadStrategyParcelInvalids.add(invalidParcel(
+                            parcel,
+                            LoadStrategyParcelInvalidCauseType.PARCEL_OVERSIZED,
+                            String.format(
+                                    "Посылка %dx%d слишком велика для всех доступных машин и будет отложена",
+                                    parcel.getWidth(), parcel.getHeight())));
+                }
+            }
+        }
+
+        List<Machine> resultMachines = session.toMachines();
+        LoadResult result = LoadResult.builder()
+                .machines(resultMachines)
+                .loadStrategyParcelInvalids(loadStrategyParcelInvalids)
+                .build();
+
+        log.debug(
+                "Упаковано {} посылок в {} машин. Отложено {} посылок",
+                result.getTotalParcelsProcessed(),
+                resultMachines.size(),
+                loadStrategyParcelInvalids.size());
+
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getAlgorithmName() {
+        return "Укладка по свободным прямоугольникам";
+    }
+
+    /**
+     * Создаёт объект ошибочной посылки с указанной причиной.
+     * Также автоматически логирует предупреждение.
+     *
+     * @param parcel    посылка, которую не удалось обработать (не может быть null)
+     * @param causeType тип ошибки (не может быть null)
+     * @param cause     текстовое описание причины (не может быть null)
+     * @return объект с информацией об ошибке (не может быть null)
+     */
+    private LoadStrategyParcelInvalid invalidParcel(
+            Parcel parcel, LoadStrategyParcelInvalidCauseType causeType, String cause) {
+        LoadStrategyParcelInvalid loadStrategyParcelInvalid = LoadStrategyParcelInvalid.builder()
+                .parcel(parcel)
+                .causeType(causeType)
+                .cause(cause)
+                .build();
+
+        log.warn(cause);
+
+        return loadStrategyParcelInvalid;
+    }
+
+    /**
+     * Пытается разместить посылку в одной из существующих машин.
+     *
+     * @param session        сессия погрузки (не может быть null)
+     * @param freeRectangles индексы свободных прямоугольников по идентификатору слота,
+     *                       ещё не построенные индексы равны null (не может быть null)
+     * @param parcel         посылка для размещения (не может быть null)
+     * @return true если посылка размещена
+     */
+    private boolean tryPlaceInExistingMachines(
+            LoadSession session, @Nullable FreeRectangles[] freeRectangles, Parcel parcel) {
+        for (MachineSlot slot : session.slots()) {
+            // Проверяем, влезает ли посылка в эту машину по габаритам
+            if (!slot.fitsInMachine(parcel)) {
+                continue;
+            }
+
+            // Индекс строится до первого размещения в машине, поэтому учитывает все её посылки
+            FreeRectangles slotRectangles = freeRectangles[slot.id()];
+            if (slotRectangles == null) {
+                slotRectangles = new FreeRectangles(slot);
+                freeRectangles[slot.id()] = slotRectangles;
+            }
+
+            // Прямоугольные посылки - по свободным прямоугольникам, непрямоугольные - поиск по клеткам
+            int[] position = parcel.shape().isRectangular()
+                    ? findBestShortSideFit(slot, slotRectangles, parcel)
+                    : loadStrategyPositionFinder.findBestPosition(slot, parcel);
+
+            if (position != null) {
+                // Размещаем в этой машине и вычитаем клетки посылки из свободного пространства
+                slot.placeParcel(parcel, position[0], position[1]);
+                slotRectangles.place(parcel, position[0], position[1]);
+
+                log.debug(
+                        "Посылка размещена в существующей машине #{} в позиции ({},{})",
+                        slot.id() + 1,
+                        position[0],
+                        position[1]);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Выбирает свободный прямоугольник с наилучшим совпадением по короткой стороне.
+     * Посылка ставится в левый нижний угол прямоугольника; позиция без достаточной опоры пропускается.
+     * При равенстве оценок выбирается более низкая, затем более левая позиция.
+     *
+     * @param slot           слот машины (не может быть null)
+     * @param slotRectangles свободные прямоугольники машины (не может быть null)
+     * @param parcel         посылка для размещения (не может быть null)
+     * @return массив [x, y] с координатами или null, если подходящего прямоугольника нет
+     */
+    private int @Nullable [] findBestShortSideFit(MachineSlot slot, FreeRectangles slotRectangles, Parcel parcel) {
+        int width = parcel.getWidth();
+        int height = parcel.getHeight();
+
+        FreeRectangle best = null;
+        int bestShortSide = Integer.MAX_VALUE;
+        int bestLongSide = Integer.MAX_VALUE;
+
+        for (FreeRectangle rectangle : slotRectangles.rectangles()) {
+            if (!rectangle.fits(width, height)) {
+                continue;
+            }
+
+            int leftoverX = rectangle.width() - width;
+            int leftoverY = rectangle.height() - height;
+            int shortSide = Math.min(leftoverX, leftoverY);
+            int longSide = Math.max(leftoverX, leftoverY);
+
+            boolean better = shortSide < bestShortSide
+                    || (shortSide == bestShortSide && longSide < bestLongSide)
+                    || (shortSide == bestShortSide && longSide == bestLongSide && isLowerLeft(rectangle, best));
+
+            // Опору проверяем только для кандидатов, которые лучше текущего
+            if (better && loadStrategySupportChecker.hasEnoughSupport(
+                    slot.occupancy(), parcel, rectangle.x(), rectangle.y())) {
+                best = rectangle;
+                bestShortSide = shortSide;
+                bestLongSide = longSide;
+            }
+        }
+
+        return best == null ? null : new int[] {best.x(), best.y()};
+    }
+
+    /**
+     * Проверяет, лежит ли прямоугольник ниже (а при равной высоте - левее) текущего лучшего.
+     *
+     * @param rectangle прямоугольник-кандидат (не может быть null)
+     * @param best      текущий лучший прямоугольник (может быть null)
+     * @return true если кандидат ниже и левее
+     */
+    private boolean isLowerLeft(FreeRectangle rectangle, @Nullable FreeRectangle best) {
+        return best == null
+                || rectangle.y() < best.y()
+                || (rectangle.y() == best.y() && rectangle.x() < best.x());
+    }
+
+    /**
+     * Сортирует посылки по убыванию площади габаритов, затем по убыванию ширины.
+     *
+     * @param parcels список посылок (не может быть null)
+     * @return отсортированный список (не может быть null)
+     */
+    private List<Parcel> sortParcelsByArea(List<Parcel> parcels) {
+        return parcels.stream()
+                .sorted(Comparator.comparingInt((Parcel parcel) -> parcel.getWidth() * parcel.getHeight())
+                        .thenComparingInt(Parcel::getWidth)
+                        .reversed())
+                .toList();
+    }
+}
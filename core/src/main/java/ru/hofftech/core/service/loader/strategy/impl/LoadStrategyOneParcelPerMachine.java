@@ -5,8 +5,10 @@ import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Component;
 import ru.hofftech.core.model.core.LoadResult;
+import ru.hofftech.core.model.core.LoadSession;
 import ru.hofftech.core.model.core.LoadStrategyParcelInvalid;
 import ru.hofftech.core.model.core.Machine;
+import ru.hofftech.core.model.core.MachineSlot;
 import ru.hofftech.core.model.core.Parcel;
 import ru.hofftech.core.service.loader.strategy.LoadStrategy;
 import ru.hofftech.shared.model.enums.LoadStrategyParcelInvalidCauseType;
@@ -30,13 +32,13 @@ public class LoadStrategyOneParcelPerMachine implements LoadStrategy {
     @Override
     public LoadResult loadParcels(List<Parcel> parcels, List<Machine> machines) {
         List<LoadStrategyParcelInvalid> loadStrategyParcelInvalids = new ArrayList<>();
-        List<Machine> resultMachines = new ArrayList<>(machines);
+        LoadSession session = LoadSession.open(machines);
 
         for (Parcel parcel : parcels) {
+            LoadStrategy.checkInterrupted();
+
             // Проверяем, есть ли пустые машины
-            boolean emptyMachine =
-                    resultMachines.stream().anyMatch(m -> m.parcels().isEmpty());
-            if (!emptyMachine) {
+            if (!session.hasEmptySlot()) {
                 loadStrategyParcelInvalids.add(invalidParcel(
                         parcel,
                         LoadStrategyParcelInvalidCauseType.NO_MACHINE_SPACE,
@@ -47,13 +49,11 @@ public class LoadStrategyOneParcelPerMachine implements LoadStrategy {
             }
 
             // Ищем подходящую машину
-            Machine suitableMachine = findSuitableMachine(resultMachines, parcel);
+            MachineSlot suitableSlot = findSuitableSlot(session, parcel);
 
-            if (suitableMachine != null) {
+            if (suitableSlot != null) {
                 // Размещаем в существующей машине
-                int index = resultMachines.indexOf(suitableMachine);
-                Machine updatedMachine = suitableMachine.placeParcel(parcel, 0, 0);
-                resultMachines.set(index, updatedMachine);
+                suitableSlot.placeParcel(parcel, 0, 0);
 
                 log.debug(
                         "Посылка {}x{} размещена в существующей машине в позиции (0,0)",
@@ -69,6 +69,7 @@ public class LoadStrategyOneParcelPerMachine implements LoadStrategy {
             }
         }
 
+        List<Machine> resultMachines = session.toMachines();
         LoadResult result = LoadResult.builder()
                 .machines(resultMachines)
                 .loadStrategyParcelInvalids(loadStrategyParcelInvalids)
@@ -85,17 +86,15 @@ public class LoadStrategyOneParcelPerMachine implements LoadStrategy {
 
     /**
      * Находит подходящую пустую машину для посылки.
+     * Поиск выполняется по очередям пустых машин каждого размера.
      *
-     * @param machines список машин (не может быть null)
-     * @param parcel   посылка для размещения (не может быть null)
-     * @return подходящая машина или null, если не найдена
+     * @param session сессия погрузки (не может быть null)
+     * @param parcel  посылка для размещения (не может быть null)
+     * @return слот подходящей машины или null, если не найден
      */
     @Nullable
-    private Machine findSuitableMachine(List<Machine> machines, Parcel parcel) {
-        return machines.stream()
-                .filter(m -> m.parcels().isEmpty() && m.fitsInMachine(parcel))
-                .findFirst()
-                .orElse(null);
+    private MachineSlot findSuitableSlot(LoadSession session, Parcel parcel) {
+        return session.firstEmptySlot(parcel);
     }
 
     /**
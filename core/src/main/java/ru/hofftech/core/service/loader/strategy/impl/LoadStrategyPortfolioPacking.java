@@ -0,0 +1,249 @@
+package ru.hofftech.core.service.loader.strategy.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+import ru.hofftech.core.config.LoadPortfolioProperties;
+import ru.hofftech.core.exception.LoadException;
+import ru.hofftech.core.model.core.LoadOptions;
+import ru.hofftech.core.model.core.LoadResult;
+import ru.hofftech.core.model.core.Machine;
+import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.service.loader.strategy.LoadStrategy;
+import ru.hofftech.shared.model.enums.LoadStrategyType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Стратегия-портфель: параллельно запускает все зарегистрированные стратегии
+ * (или заданные в настройках) и возвращает лучший результат.
+ * <p>
+ * Стратегии выполняются в пуле потоков ограниченного размера и завершаются раньше срока портфеля
+ * на запас {@code load.portfolio.budget-margin-ms}. Стратегии, не успевшие завершиться к сроку,
+ * прерываются: каждая стратегия проверяет прерывание перед размещением очередной посылки.
+ * Лучшим считается результат с наибольшим количеством упакованных клеток, затем с наименьшим
+ * количеством машин, затем с наибольшим заполнением использованных машин. В результате указывается
+ * название выбранной стратегии.
+ */
+@Slf4j
+@NullMarked
+@Component
+@RequiredArgsConstructor
+public class LoadStrategyPortfolioPacking implements LoadStrategy {
+
+    /**
+     * Зарегистрированные стратегии (Spring не внедряет в список сам портфель).
+     */
+    private final List<LoadStrategy> strategies;
+
+    private final LoadPortfolioProperties loadPortfolioProperties;
+
+    private final ExecutorService loadPortfolioExecutor;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LoadStrategyType getAlgorithmType() {
+        return LoadStrategyType.PORTFOLIO_PACKING;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getAlgorithmName() {
+        return "Лучший результат среди всех стратегий";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LoadResult loadParcels(List<Parcel> parcels, List<Machine> machines) {
+        return loadParcels(parcels, machines, LoadOptions.defaults());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LoadResult loadParcels(List<Parcel> parcels, List<Machine> machines, LoadOptions options) {
+        Duration timeout = Duration.ofMillis(loadPortfolioProperties.getTimeoutMs());
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        // Шаг 1: Стратегии должны завершиться раньше срока портфеля, с запасом на передачу результата.
+        // Срок задаётся абсолютным значением: стратегия, стартовавшая позже из-за очереди пула,
+        // не получает полный бюджет заново
+        Duration margin = resolveMargin(timeout);
+        Duration strategyBudget = timeout.minus(margin);
+        long strategyDeadline = deadline - margin.toNanos();
+        LoadOptions strategyOptions = LoadOptions.builder()
+                .timeBudget(
+                        options.timeBudget() != null && options.timeBudget().compareTo(strategyBudget) > 0
+                                ? strategyBudget
+                                : options.timeBudget())
+                .deadline(strategyDeadline)
+                .build();
+
+        // Шаг 2: Запускаем стратегии параллельно, каждой - собственную копию входных списков.
+        // Посылки и машины неизменяемы, а изменяемое состояние погрузки каждая стратегия создаёт сама
+        List<LoadStrategy> selected = selectStrategies();
+        List<Future<LoadResult>> futures = new ArrayList<>(selected.size());
+        for (LoadStrategy strategy : selected) {
+            List<Parcel> parcelsCopy = List.copyOf(parcels);
+            List<Machine> machinesCopy = List.copyOf(machines);
+            futures.add(loadPortfolioExecutor.submit(() -> {
+                // Стратегия, дождавшаяся потока только после срока, не запускается
+                if (System.nanoTime() - strategyDeadline >= 0) {
+                    throw new LoadException("Стратегия не запущена до срока");
+                }
+                return strategy.loadParcels(parcelsCopy, machinesCopy, strategyOptions);
+            }));
+        }
+
+        // Шаг 3: Собираем результаты до срока и выбираем лучший
+        LoadResult best = null;
+        LoadStrategy bestStrategy = null;
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                LoadStrategy strategy = selected.get(i);
+                LoadResult result = awaitResult(strategy, futures.get(i), deadline);
+
+                if (result != null && (best == null || isBetter(result, best))) {
+                    best = result;
+                    bestStrategy = strategy;
+                }
+            }
+        } finally {
+            // Отменяем стратегии, не успевшие завершиться
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        if (best == null) {
+            throw new LoadException("Ни одна стратегия не завершилась за %d мс".formatted(timeout.toMillis()));
+        }
+
+        log.debug(
+                "Выбрана стратегия '{}': упаковано {} посылок в {} машин",
+                bestStrategy.getAlgorithmName(),
+                best.getTotalParcelsProcessed(),
+                best.getUsedMachinesCount());
+
+        return LoadResult.builder()
+                .inputParcels(best.inputParcels())
+                .loadStrategyParcelInvalids(best.loadStrategyParcelInvalids())
+                .machines(best.machines())
+                .errors(best.errors())
+                .iterations(best.iterations())
+                .winnerStrategy(bestStrategy.getAlgorithmName())
+                .build();
+    }
+
+    /**
+     * Ожидает результат стратегии до общего срока.
+     * Ошибки и превышение срока логируются, стратегия в этом случае не участвует в выборе.
+     *
+     * @param strategy стратегия (не может быть null)
+     * @param future   задача стратегии (не может быть null)
+     * @param deadline срок ожидания в наносекундах ({@link System#nanoTime()})
+     * @return результат стратегии или null, если он не получен
+     */
+    @Nullable
+    private LoadResult awaitResult(LoadStrategy strategy, Future<LoadResult> future, long deadline) {
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Стратегия '{}' не завершилась к сроку и будет отменена", strategy.getAlgorithmName());
+        } catch (ExecutionException e) {
+            log.warn(
+                    "Стратегия '{}' завершилась с ошибкой: {}",
+                    strategy.getAlgorithmName(),
+                    e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoadException("Ожидание результатов стратегий прервано", e);
+        }
+        return null;
+    }
+
+    /**
+     * Определяет запас времени между сроком стратегий и сроком портфеля.
+     * Запас не превышает половины срока портфеля.
+     *
+     * @param timeout срок портфеля (не может быть null)
+     * @return запас времени (не может быть null)
+     */
+    private Duration resolveMargin(Duration timeout) {
+        Duration margin = Duration.ofMillis(Math.max(0, loadPortfolioProperties.getBudgetMarginMs()));
+        Duration half = timeout.dividedBy(2);
+        return margin.compareTo(half) > 0 ? half : margin;
+    }
+
+    /**
+     * Отбирает стратегии для запуска: заданные в настройках или все, кроме самого портфеля.
+     *
+     * @return список стратегий (не может быть null)
+     */
+    private List<LoadStrategy> selectStrategies() {
+        List<LoadStrategyType> configured = loadPortfolioProperties.getStrategies();
+
+        List<LoadStrategy> selected = strategies.stream()
+                .filter(strategy -> strategy.getAlgorithmType() != LoadStrategyType.PORTFOLIO_PACKING)
+                .filter(strategy -> configured.isEmpty() || configured.contains(strategy.getAlgorithmType()))
+                .toList();
+
+        if (selected.isEmpty()) {
+            throw new LoadException("Не найдено ни одной стратегии для портфеля");
+        }
+        return selected;
+    }
+
+    /**
+     * Сравнивает результаты стратегий.
+     *
+     * @param candidate результат-кандидат (не может быть null)
+     * @param best      текущий лучший результат (не может быть null)
+     * @return true если кандидат лучше
+     */
+    private boolean isBetter(LoadResult candidate, LoadResult best) {
+        int byCells = Integer.compare(candidate.getTotalFilledCells(), best.getTotalFilledCells());
+        if (byCells != 0) {
+            return byCells > 0;
+        }
+
+        int byMachines = Integer.compare(best.getUsedMachinesCount(), candidate.getUsedMachinesCount());
+        if (byMachines != 0) {
+            return byMachines > 0;
+        }
+
+        // При равных клетках выше заполнение у результата с меньшей площадью использованных машин
+        return usedCapacity(candidate) < usedCapacity(best);
+    }
+
+    /**
+     * Подсчитывает суммарную площадь машин, в которых есть хотя бы одна посылка.
+     *
+     * @param result результат стратегии (не может быть null)
+     * @return суммарная площадь использованных машин
+     */
+    private long usedCapacity(LoadResult result) {
+        if (result.machines() == null) {
+            return 0;
+        }
+        return result.machines().stream()
+                .filter(machine -> !machine.parcels().isEmpty())
+                .mapToLong(machine -> (long) machine.width() * machine.height())
+                .sum();
+    }
+}
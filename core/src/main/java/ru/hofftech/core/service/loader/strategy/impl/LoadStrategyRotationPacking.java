@@ -0,0 +1,261 @@
+package ru.hofftech.core.service.loader.strategy.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+import ru.hofftech.core.model.core.LoadResult;
+import ru.hofftech.core.model.core.LoadSession;
+import ru.hofftech.core.model.core.LoadStrategyParcelInvalid;
+import ru.hofftech.core.model.core.Machine;
+import ru.hofftech.core.model.core.MachineSlot;
+import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.model.core.ParcelOrientation;
+import ru.hofftech.core.model.core.ParcelShape;
+import ru.hofftech.core.service.loader.LoadStrategyPositionFinder;
+import ru.hofftech.core.service.loader.strategy.LoadStrategy;
+import ru.hofftech.shared.model.enums.LoadStrategyParcelInvalidCauseType;
+import ru.hofftech.shared.model.enums.LoadStrategyType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Стратегия плотной упаковки с поворотами и отражениями посылок.
+ * Для каждой посылки перебираются различные ориентации её формы
+ * (вычисляются один раз на форму, симметричные дубликаты отброшены);
+ * повёрнутые посылки создаются один раз на форму и название и переиспользуются для всех копий.
+ * В первой машине, где посылка помещается хотя бы в одной ориентации,
+ * выбирается самое низкое и левое место среди всех ориентаций.
+ * Сортирует посылки по размеру (длинная сторона, большие сначала).
+ */
+@Slf4j
+@NullMarked
+@Component
+@RequiredArgsConstructor
+public class LoadStrategyRotationPacking implements LoadStrategy {
+
+    private final LoadStrategyPositionFinder loadStrategyPositionFinder;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LoadStrategyType getAlgorithmType() {
+        return LoadStrategyType.ROTATION_PACKING;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LoadResult loadParcels(List<Parcel> parcels, List<Machine> machines) {
+        List<LoadStrategyParcelInvalid> loadStrategyParcelInvalids = new ArrayList<>();
+        LoadSession session = LoadSession.open(machines);
+
+        // Шаг 1: Сортируем посылки по убыванию длинной стороны (самые крупные сначала)
+        List<Parcel> sortedParcels = sortParcelsBySize(parcels);
+
+        // Шаг 2: Обрабатываем каждую посылку
+        Set<ParcelShape> rejectedShapes = new HashSet<>();
+        Map<OrientedKey, List<OrientedParcel>> orientedByShape = new HashMap<>();
+        for (Parcel parcel : sortedParcels) {
+            LoadStrategy.checkInterrupted();
+            log.debug("Упаковка посылки {}x{} с символом '{}'", parcel.getWidth(), parcel.getHeight(), parcel.symbol());
+
+            List<OrientedParcel> oriented = orientedByShape.computeIfAbsent(
+                    new OrientedKey(parcel.shape(), parcel.name()), key -> orient(parcel));
+
+            // Пытаемся разместить в существующих машинах в любой ориентации
+            // Место в машинах только уменьшается: если копия формы не поместилась никуда,
+            // остальные копии той же формы не проверяются
+            boolean placed = !rejectedShapes.contains(parcel.shape()) && tryPlaceInExistingMachines(session, oriented);
+
+            if (!placed) {
+                rejectedShapes.add(parcel.shape());
+                // Проверяем, влезает ли посылка хотя бы в одну машину по габаритам в какой-либо ориентации
+                boolean fitsInAnyMachine =
+                        oriented.stream().anyMatch(candidate -> session.fitsInAnyMachine(candidate.parcel()));
+
+                if (fitsInAnyMachine) {
+                    // Посылка влезает, но не нашлось места ни в одной машине
+                    loadStrategyParcelInvalids.add(invalidParcel(
+                            parcel,
+                            LoadStrategyParcelInvalidCauseType.NO_MACHINE_SPACE,
+                            "Посылка не влезла в существующие машины, так как не нашлось места"));
+                } else {
+                    // Посылка не влезает ни в одну машину по габаритам
+                    loadStrategyParcelInvalids.add(invalidParcel(
+                            parcel,
+                            LoadStrategyParcelInvalidCauseType.PARCEL_OVERSIZED,
+                            String.format(
+                                    "Посылка %dx%d слишком велика для всех доступных машин и будет отложена",
+                                    parcel.getWidth(), parcel.getHeight())));
+                }
+            }
+        }
+
+        List<Machine> resultMachines = session.toMachines();
+        LoadResult result = LoadResult.builder()
+                .machines(resultMachines)
+                .loadStrategyParcelInvalids(loadStrategyParcelInvalids)
+                .build();
+
+        log.debug(
+                "Упаковано {} посылок в {} машин. Отложено {} посылок",
+                result.getTotalParcelsProcessed(),
+                resultMachines.size(),
+                loadStrategyParcelInvalids.size());
+
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getAlgorithmName() {
+        return "Плотная укладка с поворотами";
+    }
+
+    /**
+     * Создаёт объект ошибочной посылки с указанной причиной.
+     * Также автоматически логирует предупреждение.
+     *
+     * @param parcel    посылка, которую не удалось обработать (не может быть null)
+     * @param causeType тип ошибки (не может быть null)
+     * @param cause     текстовое описание причины (не может быть null)
+     * @return объект с информацией об ошибке (не может быть null)
+     */
+    private LoadStrategyParcelInvalid invalidParcel(
+            Parcel parcel, LoadStrategyParcelInvalidCauseType causeType, String cause) {
+        LoadStrategyParcelInvalid loadStrategyParcelInvalid = LoadStrategyParcelInvalid.builder()
+                .parcel(parcel)
+                .causeType(causeType)
+                .cause(cause)
+                .build();
+
+        log.warn(cause);
+
+        return loadStrategyParcelInvalid;
+    }
+
+    /**
+     * Создаёт посылку в каждой различной ориентации её формы.
+     *
+     * @param parcel посылка в исходной ориентации (не может быть null)
+     * @return повёрнутые посылки в порядке ориентаций формы (не может быть null)
+     */
+    private List<OrientedParcel> orient(Parcel parcel) {
+        return parcel.shape().orientations().stream()
+                .map(orientation -> new OrientedParcel(orientation.apply(parcel), orientation))
+                .toList();
+    }
+
+    /**
+     * Пытается разместить посылку в одной из существующих машин в лучшей ориентации.
+     *
+     * @param session  сессия погрузки (не может быть null)
+     * @param oriented посылка во всех различных ориентациях (не может быть null)
+     * @return true если посылка размещена
+     */
+    private boolean tryPlaceInExistingMachines(LoadSession session, List<OrientedParcel> oriented) {
+        for (MachineSlot slot : session.slots()) {
+            Placement best = findLowestPlacement(slot, oriented);
+
+            if (best != null) {
+                // Размещаем в этой машине в выбранной ориентации
+                slot.placeParcel(best.parcel(), best.x(), best.y(), best.orientation().type());
+
+                log.debug(
+                        "Посылка размещена в существующей машине #{} в позиции ({},{}), ориентация {}",
+                        slot.id() + 1,
+                        best.x(),
+                        best.y(),
+                        best.orientation().type());
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Находит самое низкое и левое место для посылки в машине среди всех ориентаций.
+     * При равенстве позиций предпочтение отдаётся ориентации, идущей раньше (исходной).
+     *
+     * @param slot     слот машины (не может быть null)
+     * @param oriented посылка во всех различных ориентациях (не может быть null)
+     * @return лучшее размещение или null, если посылка не помещается ни в одной ориентации
+     */
+    @Nullable
+    private Placement findLowestPlacement(MachineSlot slot, List<OrientedParcel> oriented) {
+        Placement best = null;
+
+        for (OrientedParcel candidate : oriented) {
+            Parcel parcel = candidate.parcel();
+
+            // Проверяем, влезает ли посылка в этой ориентации в машину по габаритам
+            if (!slot.fitsInMachine(parcel)) {
+                continue;
+            }
+
+            int[] position = loadStrategyPositionFinder.findBestPosition(slot, parcel);
+
+            if (position != null
+                    && (best == null
+                            || position[1] < best.y()
+                            || (position[1] == best.y() && position[0] < best.x()))) {
+                best = new Placement(parcel, candidate.orientation(), position[0], position[1]);
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Сортирует посылки по убыванию длинной стороны, затем по убыванию площади.
+     *
+     * @param parcels список посылок (не может быть null)
+     * @return отсортированный список (не может быть null)
+     */
+    private List<Parcel> sortParcelsBySize(List<Parcel> parcels) {
+        return parcels.stream()
+                .sorted(Comparator.comparingInt((Parcel parcel) -> Math.max(parcel.getWidth(), parcel.getHeight()))
+                        .thenComparingInt(Parcel::getFilledCellsCount)
+                        .reversed())
+                .toList();
+    }
+
+    /**
+     * Найденное размещение посылки.
+     *
+     * @param parcel      посылка в выбранной ориентации
+     * @param orientation выбранная ориентация
+     * @param x           координата X левого нижнего угла
+     * @param y           координата Y левого нижнего угла
+     */
+    private record Placement(Parcel parcel, ParcelOrientation orientation, int x, int y) {}
+
+    /**
+     * Посылка в одной из ориентаций формы.
+     *
+     * @param parcel      посылка в этой ориентации
+     * @param orientation ориентация формы
+     */
+    private record OrientedParcel(Parcel parcel, ParcelOrientation orientation) {}
+
+    /**
+     * Ключ повёрнутых посылок: форма и название исходной посылки.
+     *
+     * @param shape форма посылки
+     * @param name  название посылки
+     */
+    private record OrientedKey(ParcelShape shape, String name) {}
+}
@@ -4,6 +4,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NullMarked;
 import org.springframework.stereotype.Service;
 import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.model.core.ParcelShape;
 
 import java.util.List;
 
@@ -49,6 +50,40 @@ public class ParserParcelBuilder {
      * @return созданная посылка (не может быть null)
      */
     private Parcel buildFromLines(String name, List<String> normalizedLines, char symbol) {
+        // Форма компилируется один раз на каноническую форму и символ, повторные посылки берут её из интернированных
+        return buildFromShape(name, ParcelShape.of(buildGrid(normalizedLines), symbol));
+    }
+
+    /**
+     * Создаёт посылку по уже скомпилированной форме.
+     *
+     * @param name  название посылки (не может быть null)
+     * @param shape скомпилированная форма (не может быть null)
+     * @return созданная посылка (не может быть null)
+     */
+    public Parcel buildFromShape(String name, ParcelShape shape) {
+        char symbol = shape.symbol();
+        Parcel parcel = Parcel.builder()
+                .name(name)
+                .grid(shape.grid())
+                .symbol(symbol)
+                .width(shape.width())
+                .height(shape.height())
+                .shape(shape)
+                .build();
+
+        log.debug("Создана посылка {}x{} с символом '{}'", shape.width(), shape.height(), symbol);
+        return parcel;
+    }
+
+    /**
+     * Строит сетку посылки из нормализованных строк.
+     * Строки идут сверху вниз, в сетке - снизу вверх.
+     *
+     * @param normalizedLines нормализованные строки формы (не может быть null)
+     * @return сетка посылки (не может быть null)
+     */
+    private boolean[][] buildGrid(List<String> normalizedLines) {
         int height = normalizedLines.size();
         int width = normalizedLines.getFirst().length();
 
@@ -61,16 +96,7 @@ public class ParserParcelBuilder {
             }
         }
 
-        Parcel parcel = Parcel.builder()
-                .name(name)
-                .grid(grid)
-                .symbol(symbol)
-                .width(width)
-                .height(height)
-                .build();
-
-        log.debug("Создана посылка {}x{} с символом '{}'", width, height, symbol);
-        return parcel;
+        return grid;
     }
 
     /**
@@ -0,0 +1,251 @@
+package ru.hofftech.core.service.parcer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.stereotype.Service;
+import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.model.core.ParcelShape;
+import ru.hofftech.core.model.core.ParserParcelProcessorResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Однопроходный разбор текстовой формы посылки.
+ * <p>
+ * Текст формы просматривается один раз: разделители строк (в том числе экранированные {@code \n}),
+ * пустые строки и согласованность символов проверяются на лету, а заполненные клетки сразу
+ * записываются в строки сетки. Промежуточные списки строк, обрезка и дополнение пробелами не создаются.
+ * <p>
+ * Правила и тексты ошибок совпадают с последовательной обработкой: замена {@code \n},
+ * разбиение на строки ({@link String#lines()}), проверка пустых строк и символов,
+ * обрезка пробелов справа ({@link String#stripTrailing()}) и выравнивание строк по ширине.
+ */
+@Slf4j
+@NullMarked
+@Service
+@RequiredArgsConstructor
+public class ParserParcelFormScanner {
+    private static final int INITIAL_ROW_CAPACITY = 16;
+
+    private final ParserParcelBuilder parserParcelBuilder;
+
+    /**
+     * Разбирает форму посылки и создаёт посылку.
+     *
+     * @param name   название посылки (не может быть null)
+     * @param form   текст формы, строки сверху вниз (не может быть null)
+     * @param symbol символ посылки
+     * @return результат с посылкой или с ошибками разбора строк (не может быть null)
+     */
+    public ParserParcelProcessorResult scan(String name, String form, char symbol) {
+        int length = form.length();
+
+        // Состояние по строкам: границы в исходном тексте и флаги ошибок
+        List<boolean[]> rows = new ArrayList<>();
+        int[] lineStarts = new int[INITIAL_ROW_CAPACITY];
+        int[] lineEnds = new int[INITIAL_ROW_CAPACITY];
+        BitSet blankLines = new BitSet();
+        BitSet invalidLines = new BitSet();
+
+        // Состояние текущей строки
+        boolean[] rowBuffer = new boolean[INITIAL_ROW_CAPACITY];
+        int lineStart = 0;
+        int column = 0;
+        int strippedLength = 0;
+        boolean blank = true;
+        boolean invalid = false;
+
+        char firstSymbol = 0;
+        boolean hasFirstSymbol = false;
+        int width = 0;
+
+        int i = 0;
+        while (i < length) {
+            int breakLength = lineBreakLength(form, i);
+            if (breakLength == 0) {
+                char c = form.charAt(i);
+                // String.trim() отбрасывает символы с кодом не больше пробела
+                if (c > ' ') {
+                    blank = false;
+                }
+                if (!Character.isWhitespace(c)) {
+                    strippedLength = column + 1;
+                    if (!hasFirstSymbol) {
+                        firstSymbol = c;
+                        hasFirstSymbol = true;
+                    } else if (c != firstSymbol) {
+                        invalid = true;
+                    }
+                }
+                if (column == rowBuffer.length) {
+                    rowBuffer = Arrays.copyOf(rowBuffer, column * 2);
+                }
+                rowBuffer[column++] = c != ' ';
+                i++;
+                continue;
+            }
+
+            // Конец строки: сохраняем строку сетки без хвостовых пробелов
+            int line = rows.size();
+            if (line == lineStarts.length) {
+                lineStarts = Arrays.copyOf(lineStarts, line * 2);
+                lineEnds = Arrays.copyOf(lineEnds, line * 2);
+            }
+            lineStarts[line] = lineStart;
+            lineEnds[line] = i;
+            blankLines.set(line, blank);
+            invalidLines.set(line, invalid);
+            rows.add(Arrays.copyOf(rowBuffer, strippedLength));
+            width = Math.max(width, strippedLength);
+            Arrays.fill(rowBuffer, 0, column, false);
+
+            i += breakLength;
+            lineStart = i;
+            column = 0;
+            strippedLength = 0;
+            blank = true;
+            invalid = false;
+
+            // Как и String.lines(), не создаём пустую строку после завершающего разделителя
+            if (i == length) {
+                break;
+            }
+        }
+
+        if (column > 0) {
+            int line = rows.size();
+            if (line == lineStarts.length) {
+                lineStarts = Arrays.copyOf(lineStarts, line + 1);
+                lineEnds = Arrays.copyOf(lineEnds, line + 1);
+            }
+            lineStarts[line] = lineStart;
+            lineEnds[line] = length;
+            blankLines.set(line, blank);
+            invalidLines.set(line, invalid);
+            rows.add(Arrays.copyOf(rowBuffer, strippedLength));
+            width = Math.max(width, strippedLength);
+        }
+
+        List<String> errors = collectErrors(
+                form, rows.size(), lineStarts, lineEnds, blankLines, invalidLines, hasFirstSymbol, firstSymbol);
+        if (!errors.isEmpty()) {
+            return ParserParcelProcessorResult.builder()
+                    .parcels(List.of())
+                    .errors(List.of(String.format("Ошибки валидации строк: %s", errors)))
+                    .build();
+        }
+
+        // Строки формы идут сверху вниз, в сетке - снизу вверх; короткие строки дополняются пустыми клетками
+        int height = rows.size();
+        boolean[][] grid = new boolean[height][];
+        for (int line = 0; line < height; line++) {
+            boolean[] row = rows.get(line);
+            grid[height - 1 - line] = row.length == width ? row : Arrays.copyOf(row, width);
+        }
+
+        Parcel parcel = parserParcelBuilder.buildFromShape(name, ParcelShape.of(grid, symbol));
+        return ParserParcelProcessorResult.builder()
+                .parcels(List.of(parcel))
+                .errors(List.of())
+                .build();
+    }
+
+    /**
+     * Возвращает длину разделителя строк в указанной позиции.
+     * <p>
+     * Разделители: {@code \n}, {@code \r}, {@code \r\n} и экранированный {@code \n} (обратная косая черта и 'n').
+     *
+     * @param form  текст формы (не может быть null)
+     * @param index позиция в тексте
+     * @return длина разделителя или 0, если в позиции нет разделителя
+     */
+    private int lineBreakLength(String form, int index) {
+        char c = form.charAt(index);
+        if (c == '\n') {
+            return 1;
+        }
+        if (c == '\\') {
+            return isEscapedNewLine(form, index) ? 2 : 0;
+        }
+        if (c != '\r') {
+            return 0;
+        }
+
+        // \r, за которым следует перевод строки (в том числе экранированный), - один разделитель
+        int next = index + 1;
+        if (next < form.length() && form.charAt(next) == '\n') {
+            return 2;
+        }
+        return isEscapedNewLine(form, next) ? 3 : 1;
+    }
+
+    /**
+     * Проверяет, начинается ли в позиции экранированный перевод строки.
+     *
+     * @param form  текст формы (не может быть null)
+     * @param index позиция в тексте
+     * @return true если в позиции стоят обратная косая черта и 'n'
+     */
+    private boolean isEscapedNewLine(String form, int index) {
+        return index + 1 < form.length() && form.charAt(index) == '\\' && form.charAt(index + 1) == 'n';
+    }
+
+    /**
+     * Собирает ошибки строк в том же порядке, что и последовательная проверка:
+     * сначала пустые строки, затем отсутствие символов или недопустимые символы по строкам.
+     *
+     * @param form           текст формы (не может быть null)
+     * @param lineCount      количество строк
+     * @param lineStarts     начала строк в тексте формы (не может быть null)
+     * @param lineEnds       концы строк в тексте формы (не может быть null)
+     * @param blankLines     номера пустых строк (не может быть null)
+     * @param invalidLines   номера строк с недопустимыми символами (не может быть null)
+     * @param hasFirstSymbol найден ли в форме хотя бы один символ
+     * @param firstSymbol    первый символ формы
+     * @return список ошибок (не может быть null)
+     */
+    private List<String> collectErrors(
+            String form,
+            int lineCount,
+            int[] lineStarts,
+            int[] lineEnds,
+            BitSet blankLines,
+            BitSet invalidLines,
+            boolean hasFirstSymbol,
+            char firstSymbol) {
+        List<String> errors = new ArrayList<>();
+
+        if (lineCount == 0) {
+            errors.add("Посылка не содержит строк");
+            return errors;
+        }
+
+        for (int line = blankLines.nextSetBit(0); line >= 0; line = blankLines.nextSetBit(line + 1)) {
+            errors.add(String.format("Строка %d пустая", line + 1));
+        }
+
+        if (!hasFirstSymbol) {
+            errors.add("Посылка не содержит символов");
+            return errors;
+        }
+
+        for (int line = invalidLines.nextSetBit(0); line >= 0; line = invalidLines.nextSetBit(line + 1)) {
+            // Набор недопустимых символов строится только для ошибочных строк
+            Set<Character> invalidChars = form.substring(lineStarts[line], lineEnds[line])
+                    .chars()
+                    .mapToObj(c -> (char) c)
+                    .filter(c -> c != firstSymbol && !Character.isWhitespace(c))
+                    .collect(Collectors.toSet());
+            errors.add(String.format(
+                    "Строка %d содержит недопустимые символы %s (ожидался '%c')", line + 1, invalidChars, firstSymbol));
+        }
+
+        return errors;
+    }
+}
@@ -9,7 +9,6 @@ import ru.hofftech.core.exception.ParcelException;
 import ru.hofftech.core.model.core.Parcel;
 import ru.hofftech.core.model.core.ParserParcelProcessorResult;
 import ru.hofftech.core.validation.impl.ParcelGridValidator;
-import ru.hofftech.core.validation.impl.ParcelListStringValidator;
 import ru.hofftech.shared.model.dto.ParcelFormRequestDto;
 
 import java.util.ArrayList;
@@ -25,11 +24,7 @@ import java.util.List;
 @NullMarked
 @Service
 public class ParserParcelService {
-    private final ParcelListStringValidator stringValidator;
-
-    private final ParserParcelNormalizer normalizer;
-
-    private final ParserParcelBuilder parserParcelBuilder;
+    private final ParserParcelFormScanner formScanner;
 
     private final ParcelGridValidator gridValidator;
 
@@ -97,30 +92,15 @@ public class ParserParcelService {
         return createDefaultResult();
     }
 
-    /**
-     * Создаёт посылку из названия, нормализованных строк и символа.
-     *
-     * @param name            название посылки
-     * @param normalizedLines нормализованные строки формы
-     * @param symbol          символ посылки
-     * @return созданная посылка
-     * @throws ParcelException если произошла ошибка при создании
-     */
-    public Parcel buildParcel(String name, List<String> normalizedLines, String symbol) {
-        try {
-            return parserParcelBuilder.buildFromLines(name, normalizedLines, symbol);
-        } catch (Exception e) {
-            throw new ParcelException("Ошибка при создании посылки: " + e.getMessage(), e);
-        }
-    }
-
     /**
      * Трансформирует один DTO посылки в сущность с валидацией.
+     * <p>
+     * Не изменяет общего состояния и может вызываться из нескольких потоков одновременно.
      *
      * @param parcelFormRequestDto DTO с данными посылки
      * @return результат трансформации для одного элемента
      */
-    private ParserParcelProcessorResult transformSingle(ParcelFormRequestDto parcelFormRequestDto) {
+    public ParserParcelProcessorResult transformSingle(ParcelFormRequestDto parcelFormRequestDto) {
         // Шаг 1: Валидация названия
         ParserParcelProcessorResult resultValidateName = validateName(parcelFormRequestDto.name());
         if (resultValidateName.hasErrors()) {
@@ -133,29 +113,23 @@ public class ParserParcelService {
             return resultValidateSymbol;
         }
 
-        // Шаг 3: Нормализуем форму и получаем сырые блоки строк
-        String normalizedForm = parcelFormRequestDto.form().replace("\\n", "\n");
-        List<String> rawLines = normalizedForm.lines().toList();
-
-        // Шаг 4: Валидация сырых строк
-        List<String> stringErrors = stringValidator.validate(rawLines);
-        if (!stringErrors.isEmpty()) {
-            return createDefaultErrorResult(String.format("Ошибки валидации строк: %s", stringErrors));
-        }
-
-        // Шаг 5: Нормализация
-        List<String> normalizedLines = normalizer.normalize(rawLines);
-
-        // Шаг 6: Создание посылки
-        Parcel parcel;
+        // Шаг 3: Разбор формы за один проход: строки, символы, выравнивание и сетка
+        ParserParcelProcessorResult scanResult;
         try {
-            parcel = buildParcel(parcelFormRequestDto.name(), normalizedLines, parcelFormRequestDto.symbol());
-        } catch (ParcelException e) {
+            scanResult = formScanner.scan(
+                    parcelFormRequestDto.name(),
+                    parcelFormRequestDto.form(),
+                    parcelFormRequestDto.symbol().charAt(0));
+        } catch (ParcelException | IllegalArgumentException e) {
             log.error(e.getMessage(), e);
-            return createDefaultErrorResult(e.getMessage());
+            return createDefaultErrorResult("Ошибка при создании посылки: " + e.getMessage());
+        }
+        if (scanResult.hasErrors()) {
+            return scanResult;
         }
+        Parcel parcel = scanResult.parcels().getFirst();
 
-        // Шаг 7: Валидация готовой посылки
+        // Шаг 4: Валидация связности готовой посылки
         List<String> gridErrors = gridValidator.validate(parcel);
         if (!gridErrors.isEmpty()) {
             return createDefaultErrorResult(String.format("Ошибки валидации формы: %s", gridErrors));
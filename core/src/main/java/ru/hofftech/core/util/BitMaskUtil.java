@@ -0,0 +1,226 @@
+package ru.hofftech.core.util;
+
+import lombok.experimental.UtilityClass;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Утилита для работы с битовыми масками строк.
+ * <p>
+ * Строка сетки хранится как массив long, где бит x соответствует клетке с координатой X.
+ * Маска посылки накладывается на строку машины со сдвигом на координату X без выделения памяти.
+ * <p>
+ * Для хранения в базе данных сетка посылки упаковывается в массив байт: строки снизу вверх,
+ * клетка (x, y) - бит {@code y * width + x}, младший бит байта первым.
+ */
+@NullMarked
+@UtilityClass
+public class BitMaskUtil {
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_MASK = Long.SIZE - 1;
+    private static final int BYTE_SHIFT = 3;
+    private static final int BYTE_MASK = Byte.SIZE - 1;
+
+    /**
+     * Возвращает количество слов long, необходимое для хранения указанного числа бит.
+     *
+     * @param bits количество бит
+     * @return количество слов
+     */
+    public int wordCount(int bits) {
+        return (bits + WORD_MASK) >>> WORD_SHIFT;
+    }
+
+    /**
+     * Преобразует строку клеток в битовую маску.
+     *
+     * @param row строка клеток (не может быть null)
+     * @return битовая маска строки (не может быть null)
+     */
+    public long[] toMask(boolean[] row) {
+        long[] mask = new long[wordCount(row.length)];
+        for (int x = 0; x < row.length; x++) {
+            if (row[x]) {
+                mask[x >>> WORD_SHIFT] |= 1L << (x & WORD_MASK);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Проверяет, установлен ли бит в строке.
+     *
+     * @param row битовая строка (не может быть null)
+     * @param x   номер бита
+     * @return true если бит установлен
+     */
+    public boolean isSet(long[] row, int x) {
+        return (row[x >>> WORD_SHIFT] & (1L << (x & WORD_MASK))) != 0;
+    }
+
+    /**
+     * Устанавливает бит в строке.
+     *
+     * @param row битовая строка (не может быть null)
+     * @param x   номер бита
+     */
+    public void set(long[] row, int x) {
+        row[x >>> WORD_SHIFT] |= 1L << (x & WORD_MASK);
+    }
+
+    /**
+     * Возвращает номер ближайшего установленного бита, начиная с указанного.
+     *
+     * @param row  битовая строка (не может быть null)
+     * @param from номер бита, с которого начинается поиск
+     * @return номер установленного бита или -1, если таких нет
+     */
+    public int nextSetBit(long[] row, int from) {
+        int wordIndex = from >>> WORD_SHIFT;
+        if (wordIndex >= row.length) {
+            return -1;
+        }
+
+        long word = row[wordIndex] & (-1L << (from & WORD_MASK));
+        while (true) {
+            if (word != 0) {
+                return (wordIndex << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+            }
+            if (++wordIndex == row.length) {
+                return -1;
+            }
+            word = row[wordIndex];
+        }
+    }
+
+    /**
+     * Проверяет пересечение строки с маской, сдвинутой на указанное количество бит.
+     *
+     * @param row   битовая строка (не может быть null)
+     * @param mask  маска (не может быть null)
+     * @param shift сдвиг маски (координата X)
+     * @return true если есть хотя бы один общий установленный бит
+     */
+    public boolean intersects(long[] row, long[] mask, int shift) {
+        int wordShift = shift >>> WORD_SHIFT;
+        int bitShift = shift & WORD_MASK;
+
+        for (int k = 0; k < mask.length; k++) {
+            long word = mask[k];
+            if (word == 0) {
+                continue;
+            }
+            int target = k + wordShift;
+            if (target < row.length && (row[target] & (word << bitShift)) != 0) {
+                return true;
+            }
+            if (bitShift != 0
+                    && target + 1 < row.length
+                    && (row[target + 1] & (word >>> (Long.SIZE - bitShift))) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Подсчитывает количество общих установленных бит строки и маски, сдвинутой на указанное количество бит.
+     *
+     * @param row   битовая строка (не может быть null)
+     * @param mask  маска (не может быть null)
+     * @param shift сдвиг маски (координата X)
+     * @return количество общих установленных бит
+     */
+    public int countIntersection(long[] row, long[] mask, int shift) {
+        int wordShift = shift >>> WORD_SHIFT;
+        int bitShift = shift & WORD_MASK;
+        int count = 0;
+
+        for (int k = 0; k < mask.length; k++) {
+            long word = mask[k];
+            if (word == 0) {
+                continue;
+            }
+            int target = k + wordShift;
+            if (target < row.length) {
+                count += Long.bitCount(row[target] & (word << bitShift));
+            }
+            if (bitShift != 0 && target + 1 < row.length) {
+                count += Long.bitCount(row[target + 1] & (word >>> (Long.SIZE - bitShift)));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Добавляет в строку маску, сдвинутую на указанное количество бит.
+     *
+     * @param row   битовая строка (не может быть null)
+     * @param mask  маска (не может быть null)
+     * @param shift сдвиг маски (координата X)
+     */
+    public void or(long[] row, long[] mask, int shift) {
+        int wordShift = shift >>> WORD_SHIFT;
+        int bitShift = shift & WORD_MASK;
+
+        for (int k = 0; k < mask.length; k++) {
+            long word = mask[k];
+            if (word == 0) {
+                continue;
+            }
+            int target = k + wordShift;
+            if (target < row.length) {
+                row[target] |= word << bitShift;
+            }
+            if (bitShift != 0 && target + 1 < row.length) {
+                row[target + 1] |= word >>> (Long.SIZE - bitShift);
+            }
+        }
+    }
+
+    /**
+     * Упаковывает сетку посылки в массив байт.
+     *
+     * @param grid сетка посылки, строки снизу вверх (не может быть null)
+     * @return упакованная маска (не может быть null)
+     */
+    public byte[] packGrid(boolean[][] grid) {
+        int height = grid.length;
+        int width = height == 0 ? 0 : grid[0].length;
+
+        byte[] packed = new byte[(width * height + BYTE_MASK) >>> BYTE_SHIFT];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (grid[y][x]) {
+                    int bit = y * width + x;
+                    packed[bit >>> BYTE_SHIFT] |= (byte) (1 << (bit & BYTE_MASK));
+                }
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Распаковывает сетку посылки из массива байт.
+     *
+     * @param packed упакованная маска (не может быть null)
+     * @param width  ширина посылки
+     * @param height высота посылки
+     * @return сетка посылки, строки снизу вверх (не может быть null)
+     * @throws IllegalArgumentException если длина маски не соответствует габаритам
+     */
+    public boolean[][] unpackGrid(byte[] packed, int width, int height) {
+        if (packed.length != (width * height + BYTE_MASK) >>> BYTE_SHIFT) {
+            throw new IllegalArgumentException(
+                    "Длина маски %d байт не соответствует габаритам %dx%d".formatted(packed.length, width, height));
+        }
+
+        boolean[][] grid = new boolean[height][width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int bit = y * width + x;
+                grid[y][x] = (packed[bit >>> BYTE_SHIFT] & (1 << (bit & BYTE_MASK))) != 0;
+            }
+        }
+        return grid;
+    }
+}
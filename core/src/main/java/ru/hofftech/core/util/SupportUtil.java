@@ -3,6 +3,7 @@ package ru.hofftech.core.util;
 import lombok.experimental.UtilityClass;
 import org.jspecify.annotations.NullMarked;
 import ru.hofftech.core.model.core.Machine;
+import ru.hofftech.core.model.core.OccupancyGrid;
 import ru.hofftech.core.model.core.Parcel;
 
 /**
@@ -24,6 +25,19 @@ public class SupportUtil {
      * @return строка с информацией об опоре
      */
     public String getSupportInfo(Machine machine, Parcel parcel, int x, int y) {
+        return getSupportInfo(machine.occupancy(), parcel, x, y);
+    }
+
+    /**
+     * Возвращает информацию об опоре для отладки по карте занятости.
+     *
+     * @param occupancy карта занятости машины
+     * @param parcel    размещаемая посылка
+     * @param x         координата X левого нижнего угла
+     * @param y         координата Y левого нижнего угла
+     * @return строка с информацией об опоре
+     */
+    public String getSupportInfo(OccupancyGrid occupancy, Parcel parcel, int x, int y) {
         if (y == 0) {
             return "на полу";
         }
@@ -38,7 +52,7 @@ public class SupportUtil {
         for (int i = 0; i < width; i++) {
             if (parcelGrid[parcel.getHeight() - 1][i]) {
                 totalBottomCells++;
-                boolean hasSupport = machine.grid()[y - 1][x + i] != ' ';
+                boolean hasSupport = occupancy.isOccupied(x + i, y - 1);
                 if (hasSupport) {
                     supportedCells++;
                 }
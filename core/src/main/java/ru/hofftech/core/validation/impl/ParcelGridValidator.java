@@ -5,9 +5,11 @@ import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
 import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.util.BitMaskUtil;
 import ru.hofftech.core.validation.Validator;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -20,6 +22,12 @@ import java.util.List;
 @NullMarked
 @Service
 public class ParcelGridValidator implements Validator<Parcel> {
+    /**
+     * Максимальный размер посылки в клетках, для которого буферы обхода сохраняются в потоке.
+     */
+    private static final int MAX_RETAINED_CELLS = 1 << 20;
+
+    private static final ThreadLocal<FloodFillBuffers> BUFFERS = ThreadLocal.withInitial(FloodFillBuffers::new);
 
     /**
      * {@inheritDoc}
@@ -100,7 +108,7 @@ public class ParcelGridValidator implements Validator<Parcel> {
         int totalCells = countFilledCells(grid);
 
         // Считаем количество клеток в основном компоненте
-        int connectedCount = countConnectedCells(grid, startY, startX);
+        int connectedCount = countConnectedCells(grid, width, startY, startX);
 
         if (connectedCount != totalCells) {
             errors.add(String.format(
@@ -127,45 +135,116 @@ public class ParcelGridValidator implements Validator<Parcel> {
 
     /**
      * Подсчитывает количество клеток в компоненте связности.
+     * <p>
+     * Обход в ширину без рекурсии: размер стека вызовов не зависит от размера посылки.
+     * Посещённые клетки хранятся в битовой маске, а очередь обхода - в массиве индексов клеток;
+     * оба буфера переиспользуются потоком между проверками.
      *
      * @param grid   сетка посылки (не может быть null)
+     * @param width  ширина посылки
      * @param startY начальная координата Y
      * @param startX начальная координата X
      * @return количество клеток в компоненте
      */
-    private int countConnectedCells(boolean[][] grid, int startY, int startX) {
-        int height = grid.length;
-        int width = grid[0].length;
-        boolean[][] visited = new boolean[height][width];
+    private int countConnectedCells(boolean[][] grid, int width, int startY, int startX) {
+        int cellCount = grid.length * width;
+        FloodFillBuffers buffers = BUFFERS.get();
+        long[] visited = buffers.visited(cellCount);
+        int[] queue = buffers.queue(cellCount);
+
+        // Клетка отмечается при постановке в очередь, поэтому попадает в неё не более одного раза
+        int tail = 0;
+        int start = startY * width + startX;
+        BitMaskUtil.set(visited, start);
+        queue[tail++] = start;
+
+        int head = 0;
+        while (head < tail) {
+            int cell = queue[head++];
+            int y = cell / width;
+            int x = cell - y * width;
+
+            tail = enqueue(grid, visited, queue, tail, width, y - 1, x);
+            tail = enqueue(grid, visited, queue, tail, width, y + 1, x);
+            tail = enqueue(grid, visited, queue, tail, width, y, x - 1);
+            tail = enqueue(grid, visited, queue, tail, width, y, x + 1);
+        }
 
-        return dfs(grid, visited, startY, startX);
+        // Каждая клетка очереди посещена ровно один раз
+        return tail;
     }
 
     /**
-     * Рекурсивный обход графа для поиска связных клеток.
+     * Ставит клетку в очередь обхода, если она заполнена и ещё не посещена.
      *
      * @param grid    сетка посылки (не может быть null)
-     * @param visited массив посещённых клеток (не может быть null)
-     * @param y       текущая координата Y
-     * @param x       текущая координата X
-     * @return количество посещённых клеток
+     * @param visited битовая маска посещённых клеток (не может быть null)
+     * @param queue   очередь обхода (не может быть null)
+     * @param tail    текущий конец очереди
+     * @param width   ширина посылки
+     * @param y       координата Y клетки
+     * @param x       координата X клетки
+     * @return новый конец очереди
      */
-    private int dfs(boolean[][] grid, boolean[][] visited, int y, int x) {
-        if (y < 0 || y >= grid.length || x < 0 || x >= grid[0].length) {
-            return 0;
+    private int enqueue(boolean[][] grid, long[] visited, int[] queue, int tail, int width, int y, int x) {
+        // Строки другой ширины уже отмечены как ошибка, клетки за пределами ширины посылки не учитываются
+        if (y < 0 || y >= grid.length || x < 0 || x >= width || x >= grid[y].length || !grid[y][x]) {
+            return tail;
         }
-        if (!grid[y][x] || visited[y][x]) {
-            return 0;
+
+        int cell = y * width + x;
+        if (BitMaskUtil.isSet(visited, cell)) {
+            return tail;
         }
 
-        visited[y][x] = true;
-        int count = 1;
+        BitMaskUtil.set(visited, cell);
+        queue[tail] = cell;
+        return tail + 1;
+    }
 
-        count += dfs(grid, visited, y - 1, x);
-        count += dfs(grid, visited, y + 1, x);
-        count += dfs(grid, visited, y, x - 1);
-        count += dfs(grid, visited, y, x + 1);
+    /**
+     * Буферы обхода, переиспользуемые потоком между проверками.
+     * <p>
+     * Буферы больше {@link #MAX_RETAINED_CELLS} клеток не сохраняются, чтобы редкая
+     * огромная посылка не удерживала память потока.
+     */
+    private static final class FloodFillBuffers {
+        private long[] visited = new long[0];
+        private int[] queue = new int[0];
+
+        /**
+         * Возвращает очищенную битовую маску не меньше указанного количества клеток.
+         *
+         * @param cellCount количество клеток
+         * @return битовая маска посещённых клеток (не может быть null)
+         */
+        long[] visited(int cellCount) {
+            int words = BitMaskUtil.wordCount(cellCount);
+            if (cellCount > MAX_RETAINED_CELLS) {
+                return new long[words];
+            }
+            if (visited.length < words) {
+                visited = new long[words];
+            } else {
+                Arrays.fill(visited, 0, words, 0L);
+            }
+            return visited;
+        }
 
-        return count;
+        /**
+         * Возвращает массив очереди не меньше указанного количества клеток.
+         *
+         * @param cellCount количество клеток
+         * @return массив очереди (не может быть null)
+         */
+        int[] queue(int cellCount) {
+            if (cellCount > MAX_RETAINED_CELLS) {
+                return new int[cellCount];
+            }
+            if (queue.length < cellCount) {
+                queue = new int[cellCount];
+            }
+            return queue;
+        }
     }
 }
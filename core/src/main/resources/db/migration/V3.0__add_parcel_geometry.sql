@@ -0,0 +1,49 @@
+ALTER TABLE parcel ADD COLUMN IF NOT EXISTS width          INT;
+ALTER TABLE parcel ADD COLUMN IF NOT EXISTS height         INT;
+ALTER TABLE parcel ADD COLUMN IF NOT EXISTS filled_count   INT;
+ALTER TABLE parcel ADD COLUMN IF NOT EXISTS mask           BYTEA;
+
+COMMENT ON COLUMN parcel.width IS 'Ширина габаритного прямоугольника посылки';
+COMMENT ON COLUMN parcel.height IS 'Высота габаритного прямоугольника посылки';
+COMMENT ON COLUMN parcel.filled_count IS 'Количество заполненных клеток посылки';
+COMMENT ON COLUMN parcel.mask IS 'Упакованная битовая маска клеток: строки снизу вверх, бит (y * width + x), младший бит байта первым';
+
+-- Заполнение геометрии для существующих посылок по тексту формы (строки сверху вниз).
+-- Нумерация бит set_bit совпадает с раскладкой маски в приложении.
+DO $$
+DECLARE
+    r               RECORD;
+    form_lines      TEXT[];
+    form_line       TEXT;
+    parcel_width    INT;
+    parcel_height   INT;
+    parcel_filled   INT;
+    parcel_mask     BYTEA;
+BEGIN
+    FOR r IN SELECT parcel_key, form FROM parcel WHERE mask IS NULL LOOP
+        form_lines := regexp_split_to_array(r.form, E'\r?\n');
+        parcel_height := array_length(form_lines, 1);
+        parcel_width := (SELECT max(length(l)) FROM unnest(form_lines) AS l);
+        parcel_mask := decode(repeat('00', (parcel_width * parcel_height + 7) / 8), 'hex');
+        parcel_filled := 0;
+
+        FOR i IN 1..parcel_height LOOP
+            form_line := form_lines[i];
+            FOR x IN 1..length(form_line) LOOP
+                IF substr(form_line, x, 1) <> ' ' THEN
+                    parcel_mask := set_bit(parcel_mask, (parcel_height - i) * parcel_width + (x - 1), 1);
+                    parcel_filled := parcel_filled + 1;
+                END IF;
+            END LOOP;
+        END LOOP;
+
+        UPDATE parcel
+        SET width = parcel_width, height = parcel_height, filled_count = parcel_filled, mask = parcel_mask
+        WHERE parcel_key = r.parcel_key;
+    END LOOP;
+END $$;
+
+ALTER TABLE parcel ALTER COLUMN width SET NOT NULL;
+ALTER TABLE parcel ALTER COLUMN height SET NOT NULL;
+ALTER TABLE parcel ALTER COLUMN filled_count SET NOT NULL;
+ALTER TABLE parcel ALTER COLUMN mask SET NOT NULL;
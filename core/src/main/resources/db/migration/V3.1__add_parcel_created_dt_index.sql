@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_parcel_created_dt_parcel_key ON parcel(created_dt, parcel_key);
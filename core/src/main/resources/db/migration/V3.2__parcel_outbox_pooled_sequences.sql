@@ -0,0 +1,5 @@
+-- Шаг последовательностей совпадает с allocationSize в сущностях (оптимизатор pooled-lo):
+-- Hibernate получает значение последовательности и сам выдаёт следующие 49 ключей без обращения к базе.
+-- Значение по умолчанию (nextval) у колонок сохраняется для вставок в обход Hibernate.
+ALTER SEQUENCE IF EXISTS parcel_parcel_key_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS billing_outbox_outbox_key_seq INCREMENT BY 50;
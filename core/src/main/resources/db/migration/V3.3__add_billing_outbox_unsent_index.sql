@@ -0,0 +1,2 @@
+-- Частичный индекс для выборки неотправленных событий пачками в порядке создания
+CREATE INDEX IF NOT EXISTS idx_billing_outbox_unsent ON billing_outbox(created_dt, outbox_key) WHERE sent_dt IS NULL;
@@ -0,0 +1,17 @@
+-- Оповещение слушателей о новых событиях outbox.
+-- Триггер уровня оператора с пустым сообщением: одинаковые оповещения одной транзакции
+-- PostgreSQL объединяет, поэтому пакетная вставка порождает одно оповещение при фиксации.
+CREATE OR REPLACE FUNCTION billing_outbox_notify_inserted() RETURNS TRIGGER AS
+$$
+BEGIN
+    PERFORM pg_notify('billing_outbox_inserted', '');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_billing_outbox_notify_inserted ON billing_outbox;
+
+CREATE TRIGGER trg_billing_outbox_notify_inserted
+    AFTER INSERT ON billing_outbox
+    FOR EACH STATEMENT
+EXECUTE FUNCTION billing_outbox_notify_inserted();
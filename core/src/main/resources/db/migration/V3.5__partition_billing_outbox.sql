@@ -0,0 +1,86 @@
+-- Секционирование billing_outbox по дате создания (по суткам).
+-- Полностью отправленные секции старше срока хранения удаляет задание очистки,
+-- поэтому таблица и индексы не растут бесконечно, а выборка неотправленных событий
+-- за последние дни затрагивает только свежие секции.
+
+ALTER TABLE billing_outbox RENAME TO billing_outbox_legacy;
+ALTER INDEX billing_outbox_pkey RENAME TO billing_outbox_legacy_pkey;
+DROP INDEX IF EXISTS idx_billing_outbox_sent_dt;
+DROP INDEX IF EXISTS idx_billing_outbox_unsent;
+DROP TRIGGER IF EXISTS trg_billing_outbox_notify_inserted ON billing_outbox_legacy;
+
+-- Последовательность ключей переходит к новой таблице и не удаляется вместе со старой
+ALTER SEQUENCE billing_outbox_outbox_key_seq OWNED BY NONE;
+
+-- Ключ секции обязан входить в первичный ключ; уникальность outbox_key обеспечивает последовательность
+CREATE TABLE billing_outbox (
+                                outbox_key    BIGINT          NOT NULL DEFAULT nextval('billing_outbox_outbox_key_seq'),
+                                payload       TEXT            NOT NULL,
+                                sent_dt       TIMESTAMP,
+                                created_dt    TIMESTAMP       NOT NULL DEFAULT (now() AT TIME ZONE 'UTC')::TIMESTAMP,
+                                modified_dt   TIMESTAMP       NOT NULL DEFAULT (now() AT TIME ZONE 'UTC')::TIMESTAMP,
+                                PRIMARY KEY (outbox_key, created_dt)
+) PARTITION BY RANGE (created_dt);
+
+ALTER SEQUENCE billing_outbox_outbox_key_seq OWNED BY billing_outbox.outbox_key;
+
+-- Секция по умолчанию принимает события, для дня которых секция ещё не создана
+CREATE TABLE billing_outbox_default PARTITION OF billing_outbox DEFAULT;
+
+-- Создаёт секцию за указанный день, если её ещё нет
+CREATE OR REPLACE FUNCTION billing_outbox_create_partition(p_day DATE) RETURNS TEXT AS
+$$
+DECLARE
+    partition_name TEXT := 'billing_outbox_p' || to_char(p_day, 'YYYYMMDD');
+BEGIN
+    EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF billing_outbox FOR VALUES FROM (%L) TO (%L)',
+            partition_name, p_day::TIMESTAMP, (p_day + 1)::TIMESTAMP);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Создаёт секции с текущего дня (UTC) на указанное количество дней вперёд
+CREATE OR REPLACE FUNCTION billing_outbox_create_partitions(p_days_ahead INTEGER) RETURNS INTEGER AS
+$$
+DECLARE
+    today DATE := (now() AT TIME ZONE 'UTC')::DATE;
+BEGIN
+    FOR i IN 0..p_days_ahead LOOP
+        PERFORM billing_outbox_create_partition(today + i);
+    END LOOP;
+    RETURN p_days_ahead + 1;
+END;
+$$ LANGUAGE plpgsql;
+
+DO
+$$
+DECLARE
+    d DATE;
+BEGIN
+    FOR d IN SELECT DISTINCT created_dt::DATE FROM billing_outbox_legacy LOOP
+        PERFORM billing_outbox_create_partition(d);
+    END LOOP;
+    PERFORM billing_outbox_create_partitions(7);
+END;
+$$;
+
+INSERT INTO billing_outbox (outbox_key, payload, sent_dt, created_dt, modified_dt)
+SELECT outbox_key, payload, sent_dt, created_dt, modified_dt FROM billing_outbox_legacy;
+
+DROP TABLE billing_outbox_legacy;
+
+-- Частичный индекс для выборки неотправленных событий создаётся в каждой секции
+CREATE INDEX IF NOT EXISTS idx_billing_outbox_unsent ON billing_outbox(created_dt, outbox_key) WHERE sent_dt IS NULL;
+
+CREATE TRIGGER trg_billing_outbox_notify_inserted
+    AFTER INSERT ON billing_outbox
+    FOR EACH STATEMENT
+EXECUTE FUNCTION billing_outbox_notify_inserted();
+
+COMMENT ON TABLE billing_outbox IS 'Таблица для паттерна Transactional Outbox - хранение событий перед отправкой в Kafka (секции по дням created_dt)';
+COMMENT ON COLUMN billing_outbox.outbox_key IS 'Уникальный идентификатор события';
+COMMENT ON COLUMN billing_outbox.payload IS 'JSON с данными события (BillingDto)';
+COMMENT ON COLUMN billing_outbox.sent_dt IS 'Дата отправки в Kafka (NULL - не отправлено)';
+COMMENT ON COLUMN billing_outbox.created_dt IS 'Дата и время создания записи (UTC), ключ секционирования';
+COMMENT ON COLUMN billing_outbox.modified_dt IS 'Дата и время последнего обновления записи (UTC)';
@@ -0,0 +1,59 @@
+-- Создание секции за день, строки которого уже попали в секцию по умолчанию
+-- (например, если задание обслуживания секций долго не запускалось).
+-- Такие строки переносятся в новую секцию до её присоединения: иначе PostgreSQL
+-- не позволит создать секцию, диапазон которой пересекается со строками секции по умолчанию.
+CREATE OR REPLACE FUNCTION billing_outbox_create_partition(p_day DATE) RETURNS TEXT AS
+$$
+DECLARE
+    partition_name TEXT := 'billing_outbox_p' || to_char(p_day, 'YYYYMMDD');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN partition_name;
+    END IF;
+
+    -- Блокируем вставку в секцию по умолчанию, пока строки дня переносятся
+    LOCK TABLE billing_outbox_default IN EXCLUSIVE MODE;
+
+    IF EXISTS (SELECT 1
+               FROM billing_outbox_default
+               WHERE created_dt >= p_day::TIMESTAMP
+                 AND created_dt < (p_day + 1)::TIMESTAMP) THEN
+        EXECUTE format('CREATE TABLE %I (LIKE billing_outbox INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                       partition_name);
+        EXECUTE format(
+                'WITH moved AS (DELETE FROM billing_outbox_default WHERE created_dt >= %L AND created_dt < %L RETURNING *) '
+                    || 'INSERT INTO %I SELECT * FROM moved',
+                p_day::TIMESTAMP, (p_day + 1)::TIMESTAMP, partition_name);
+        EXECUTE format('ALTER TABLE billing_outbox ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, p_day::TIMESTAMP, (p_day + 1)::TIMESTAMP);
+    ELSE
+        EXECUTE format(
+                'CREATE TABLE IF NOT EXISTS %I PARTITION OF billing_outbox FOR VALUES FROM (%L) TO (%L)',
+                partition_name, p_day::TIMESTAMP, (p_day + 1)::TIMESTAMP);
+    END IF;
+
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Создаёт секции с текущего дня (UTC) на указанное количество дней вперёд
+-- и секции для всех дней, строки которых лежат в секции по умолчанию
+CREATE OR REPLACE FUNCTION billing_outbox_create_partitions(p_days_ahead INTEGER) RETURNS INTEGER AS
+$$
+DECLARE
+    today DATE := (now() AT TIME ZONE 'UTC')::DATE;
+    d     DATE;
+    total INTEGER := 0;
+BEGIN
+    FOR d IN SELECT DISTINCT created_dt::DATE FROM billing_outbox_default LOOP
+        PERFORM billing_outbox_create_partition(d);
+        total := total + 1;
+    END LOOP;
+
+    FOR i IN 0..p_days_ahead LOOP
+        PERFORM billing_outbox_create_partition(today + i);
+        total := total + 1;
+    END LOOP;
+    RETURN total;
+END;
+$$ LANGUAGE plpgsql;
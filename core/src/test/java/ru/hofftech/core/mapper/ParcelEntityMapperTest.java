@@ -0,0 +1,51 @@
+package ru.hofftech.core.mapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.model.entity.ParcelEntity;
+import ru.hofftech.core.service.parcer.ParserParcelBuilder;
+import ru.hofftech.core.service.parcer.ParserParcelService;
+import ru.hofftech.core.util.BitMaskUtil;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@DisplayName("Маппер сущностей посылок")
+class ParcelEntityMapperTest {
+    private ParserParcelService parserParcelService;
+    private ParserParcelBuilder parcelBuilder;
+    private ParcelEntityMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        parserParcelService = mock(ParserParcelService.class);
+        parcelBuilder = new ParserParcelBuilder();
+        mapper = new ParcelEntityMapper(parserParcelService, parcelBuilder, mock(CoreMapper.class));
+    }
+
+    @Test
+    @DisplayName("Должен сохранить геометрию посылки и восстановить её без разбора формы")
+    void toParcel_StoredGeometry_RestoresParcelWithoutParsing() {
+        // Arrange
+        Parcel parcel = parcelBuilder.buildFromLines("geometry", List.of("5555 ", "5  5 ", "55555"));
+
+        // Act
+        ParcelEntity entity = mapper.toParcelEntity(parcel);
+        Parcel restored = mapper.toParcel(entity);
+
+        // Assert
+        assertThat(entity.getWidth()).isEqualTo(parcel.width());
+        assertThat(entity.getHeight()).isEqualTo(parcel.height());
+        assertThat(entity.getFilledCount()).isEqualTo(parcel.getFilledCellsCount());
+        assertThat(BitMaskUtil.unpackGrid(entity.getMask(), entity.getWidth(), entity.getHeight()))
+                .isDeepEqualTo(parcel.grid());
+        assertThat(restored).isEqualTo(parcel);
+        assertThat(restored.getForm()).isEqualTo(parcel.getForm());
+        verifyNoInteractions(parserParcelService);
+    }
+}
@@ -0,0 +1,75 @@
+package ru.hofftech.core.schedule;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import ru.hofftech.core.config.BillingOutboxProperties;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("Слушатель оповещений о новых событиях outbox")
+class BillingOutboxNotificationListenerTest {
+    private BillingOutboxScheduler billingOutboxScheduler;
+    private BillingOutboxNotificationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        billingOutboxScheduler = mock(BillingOutboxScheduler.class);
+        BillingOutboxProperties billingOutboxProperties = new BillingOutboxProperties();
+        billingOutboxProperties.setNotifyListenerEnabled(false);
+        listener = new BillingOutboxNotificationListener(
+                billingOutboxScheduler, billingOutboxProperties, new DataSourceProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.stop();
+    }
+
+    @Test
+    @DisplayName("Должен объединить поток оповещений во время отправки в один повторный запуск")
+    void onNotification_BurstDuringSend_CoalescesToOneRerun() throws InterruptedException {
+        // Arrange
+        CountDownLatch sendStarted = new CountDownLatch(1);
+        CountDownLatch releaseSend = new CountDownLatch(1);
+        doAnswer(invocation -> {
+                    sendStarted.countDown();
+                    releaseSend.await(5, TimeUnit.SECONDS);
+                    return null;
+                })
+                .when(billingOutboxScheduler)
+                .sendRecent();
+
+        // Act
+        listener.onNotification();
+        assertThat(sendStarted.await(2, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 1000; i++) {
+            listener.onNotification();
+        }
+        releaseSend.countDown();
+
+        // Assert
+        verify(billingOutboxScheduler, timeout(2000).times(2)).sendRecent();
+        verify(billingOutboxScheduler, after(200).times(2)).sendRecent();
+    }
+
+    @Test
+    @DisplayName("Не должен подключаться, если слушатель отключён")
+    void start_Disabled_DoesNotRun() {
+        // Act
+        listener.start();
+
+        // Assert
+        assertThat(listener.isRunning()).isFalse();
+    }
+}
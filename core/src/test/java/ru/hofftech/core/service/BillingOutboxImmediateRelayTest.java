@@ -0,0 +1,67 @@
+package ru.hofftech.core.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.hofftech.core.config.BillingOutboxProperties;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@DisplayName("Немедленная отправка событий outbox")
+class BillingOutboxImmediateRelayTest {
+    private BillingOutboxProperties billingOutboxProperties;
+    private BillingOutboxRelayQueue relayQueue;
+    private BillingOutboxService billingOutboxService;
+    private BillingOutboxImmediateRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        billingOutboxProperties = new BillingOutboxProperties();
+        billingOutboxProperties.setChunkSize(10);
+        relayQueue = new BillingOutboxRelayQueue(billingOutboxProperties);
+        billingOutboxService = mock(BillingOutboxService.class);
+        relay = new BillingOutboxImmediateRelay(relayQueue, billingOutboxService, billingOutboxProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.stop();
+    }
+
+    @Test
+    @DisplayName("Должен отправить события из очереди одной пачкой")
+    void start_QueuedEvents_RelaysBatch() {
+        // Arrange
+        relayQueue.offer(1L);
+        relayQueue.offer(2L);
+
+        // Act
+        relay.start();
+
+        // Assert
+        verify(billingOutboxService, timeout(2000)).relayKeys(List.of(1L, 2L));
+        assertThat(relay.isRunning()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Не должен запускаться, если немедленная отправка отключена")
+    void start_Disabled_DoesNotRun() {
+        // Arrange
+        billingOutboxProperties.setImmediateRelayEnabled(false);
+        relayQueue.offer(1L);
+
+        // Act
+        relay.start();
+
+        // Assert
+        assertThat(relay.isRunning()).isFalse();
+        verifyNoInteractions(billingOutboxService);
+    }
+}
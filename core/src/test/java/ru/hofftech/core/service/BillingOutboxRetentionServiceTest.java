@@ -0,0 +1,105 @@
+package ru.hofftech.core.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.hofftech.core.config.BillingOutboxRetentionProperties;
+import ru.hofftech.core.repository.BillingOutboxPartitionRepository;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Сервис обслуживания секций outbox биллинга")
+class BillingOutboxRetentionServiceTest {
+    private BillingOutboxPartitionRepository partitionRepository;
+    private BillingOutboxRetentionService service;
+
+    @BeforeEach
+    void setUp() {
+        partitionRepository = mock(BillingOutboxPartitionRepository.class);
+        BillingOutboxRetentionProperties retentionProperties = new BillingOutboxRetentionProperties();
+        retentionProperties.setRetentionDays(30);
+        retentionProperties.setPrecreateDays(7);
+
+        service = new BillingOutboxRetentionService(
+                partitionRepository,
+                retentionProperties,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    @DisplayName("Должен удалить только отправленные секции старше срока хранения")
+    void maintain_OldSentPartitions_Dropped() {
+        // Arrange
+        String expired = partition(31);
+        String expiredWithUnsent = partition(40);
+        String recent = partition(29);
+        when(partitionRepository.findDailyPartitions()).thenReturn(List.of(expiredWithUnsent, expired, recent));
+        when(partitionRepository.hasUnsent(expiredWithUnsent)).thenReturn(true);
+
+        // Act
+        int dropped = service.maintain();
+
+        // Assert
+        assertThat(dropped).isEqualTo(1);
+        verify(partitionRepository).createPartitions(7);
+        verify(partitionRepository).detachAndDrop(expired);
+        verify(partitionRepository, never()).detachAndDrop(expiredWithUnsent);
+        verify(partitionRepository, never()).detachAndDrop(recent);
+        verify(partitionRepository, never()).hasUnsent(recent);
+    }
+
+    @Test
+    @DisplayName("Должен только создать секции, если устаревших секций нет")
+    void maintain_NoExpiredPartitions_OnlyCreates() {
+        // Arrange
+        when(partitionRepository.findDailyPartitions()).thenReturn(List.of(partition(0), partition(-1)));
+
+        // Act
+        int dropped = service.maintain();
+
+        // Assert
+        assertThat(dropped).isZero();
+        verify(partitionRepository).createPartitions(7);
+        verify(partitionRepository, never()).detachAndDrop(anyString());
+    }
+
+    @Test
+    @DisplayName("Должен удалить устаревшие секции, даже если создание секций завершилось ошибкой")
+    void maintain_CreateFails_StillPurges() {
+        // Arrange
+        String expired = partition(31);
+        doThrow(new IllegalStateException("boom")).when(partitionRepository).createPartitions(7);
+        when(partitionRepository.findDailyPartitions()).thenReturn(List.of(expired));
+
+        // Act
+        int dropped = service.maintain();
+
+        // Assert
+        assertThat(dropped).isEqualTo(1);
+        verify(partitionRepository).detachAndDrop(expired);
+    }
+
+    /**
+     * Возвращает имя секции за день, отстоящий от текущего на указанное количество дней.
+     *
+     * @param daysAgo количество дней назад
+     * @return имя дневной секции
+     */
+    private String partition(int daysAgo) {
+        LocalDate day = LocalDate.now(ZoneOffset.UTC).minusDays(daysAgo);
+        return "billing_outbox_p" + day.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+}
@@ -0,0 +1,225 @@
+package ru.hofftech.core.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.hofftech.core.config.BillingOutboxProperties;
+import ru.hofftech.core.model.entity.BillingOutboxEntity;
+import ru.hofftech.core.repository.BillingOutboxRepository;
+import ru.hofftech.core.util.JsonUtil;
+import ru.hofftech.shared.model.dto.BillingDto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Сервис outbox биллинга")
+class BillingOutboxServiceTest {
+    private static final LocalDateTime CREATED_DT = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private BillingOutboxRepository outboxRepository;
+    private KafkaService kafkaService;
+    private BillingOutboxProperties billingOutboxProperties;
+    private ExecutorService executor;
+    private BillingOutboxRelayQueue relayQueue;
+    private BillingOutboxService service;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(BillingOutboxRepository.class);
+        kafkaService = mock(KafkaService.class);
+        billingOutboxProperties = new BillingOutboxProperties();
+        billingOutboxProperties.setChunkSize(2);
+        billingOutboxProperties.setRelayWorkers(2);
+        billingOutboxProperties.setAckTimeoutMs(200);
+        executor = Executors.newFixedThreadPool(2);
+        when(kafkaService.sendMessageAsync(eq("billingOutbox"), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        relayQueue = new BillingOutboxRelayQueue(billingOutboxProperties);
+
+        service = new BillingOutboxService(
+                outboxRepository,
+                kafkaService,
+                billingOutboxProperties,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                executor,
+                relayQueue);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Должен отправлять пачки, пока не получит неполную пачку")
+    void handle_Backlog_DrainsInChunks() {
+        // Arrange
+        when(outboxRepository.lockUnsentChunk(eq(2), any()))
+                .thenReturn(events(1, 2))
+                .thenReturn(events(3, 4))
+                .thenReturn(events(5))
+                .thenReturn(List.of());
+
+        // Act
+        service.handle();
+
+        // Assert
+        verify(kafkaService, times(5)).sendMessageAsync(eq("billingOutbox"), anyString(), any());
+        verify(outboxRepository, atLeast(3)).lockUnsentChunk(anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Должен отметить подтверждённые события одним запросом")
+    void handle_Chunk_MarksAcknowledgedEventsSent() {
+        // Arrange
+        when(outboxRepository.lockUnsentChunk(eq(2), any()))
+                .thenReturn(events(1, 2))
+                .thenReturn(List.of());
+
+        // Act
+        service.handle();
+
+        // Assert
+        verify(outboxRepository).markSent(eq(List.of(1L, 2L)), any(), eq(CREATED_DT.plusMinutes(1)));
+        verify(outboxRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Должен оставить неподтверждённые события неотправленными и прекратить разбор")
+    void handle_FailedAndUnacknowledged_StayPending() {
+        // Arrange
+        billingOutboxProperties.setRelayWorkers(1);
+        when(outboxRepository.lockUnsentChunk(eq(2), any()))
+                .thenReturn(events(1, 2))
+                .thenReturn(events(3, 4))
+                .thenReturn(List.of());
+        when(kafkaService.sendMessageAsync(eq("billingOutbox"), eq("1"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        CompletableFuture<Void> neverAcked = new CompletableFuture<>();
+        when(kafkaService.sendMessageAsync(eq("billingOutbox"), eq("2"), any())).thenReturn(neverAcked);
+
+        // Act
+        service.handle();
+
+        // Assert
+        verify(outboxRepository, times(1)).lockUnsentChunk(eq(2), any());
+        verify(outboxRepository, never()).markSent(anyCollection(), any(), any());
+        assertThat(neverAcked).isCancelled();
+    }
+
+    @Test
+    @DisplayName("Должен отметить только подтверждённые события пачки")
+    void handle_PartiallyAcknowledged_MarksOnlyAcknowledged() {
+        // Arrange
+        when(outboxRepository.lockUnsentChunk(eq(2), any()))
+                .thenReturn(events(1, 2))
+                .thenReturn(List.of());
+        when(kafkaService.sendMessageAsync(eq("billingOutbox"), eq("2"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        // Act
+        service.handle();
+
+        // Assert
+        verify(outboxRepository).markSent(eq(List.of(1L)), any(), any());
+    }
+
+    @Test
+    @DisplayName("Должен ограничивать выборку глубиной только при обычной отправке, а не при полной")
+    void handleAll_IgnoresLookback() {
+        // Arrange
+        billingOutboxProperties.setRelayLookbackDays(7);
+        when(outboxRepository.lockUnsentChunk(eq(2), any())).thenReturn(List.of());
+        LocalDateTime weekAgo = LocalDateTime.now(ZoneOffset.UTC).minusDays(7);
+
+        // Act
+        service.handle();
+        service.handleAll();
+
+        // Assert
+        verify(outboxRepository, atLeast(1))
+                .lockUnsentChunk(eq(2), argThat(since -> !since.isBefore(weekAgo.minusMinutes(1))));
+        verify(outboxRepository, atLeast(1))
+                .lockUnsentChunk(eq(2), argThat(since -> since.isBefore(weekAgo.minusYears(1))));
+    }
+
+    @Test
+    @DisplayName("Должен передать событие в очередь немедленной отправки только после фиксации транзакции")
+    void saveEvent_AfterCommit_OffersKeyToRelayQueue() throws InterruptedException {
+        // Arrange
+        when(outboxRepository.save(any(BillingOutboxEntity.class))).thenAnswer(invocation -> {
+            BillingOutboxEntity entity = invocation.getArgument(0);
+            entity.setOutboxKey(42L);
+            return entity;
+        });
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        service.saveEvent(BillingDto.builder().userId("user").build());
+        int beforeCommit = relayQueue.size();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertThat(beforeCommit).isZero();
+        assertThat(relayQueue.take(10, 0, TimeUnit.MILLISECONDS)).containsExactly(42L);
+    }
+
+    @Test
+    @DisplayName("Должен немедленно отправить только захваченные неотправленные события")
+    void relayKeys_UnsentEvents_SendsAndMarks() {
+        // Arrange
+        when(outboxRepository.lockUnsentByKeys(eq(List.of(1L, 2L, 3L)), any())).thenReturn(events(1, 3));
+
+        // Act
+        int sent = service.relayKeys(List.of(1L, 2L, 3L));
+
+        // Assert
+        assertThat(sent).isEqualTo(2);
+        verify(outboxRepository).markSent(eq(List.of(1L, 3L)), any(), any());
+    }
+
+    /**
+     * Создаёт неотправленные события с указанными ключами.
+     *
+     * @param keys ключи событий
+     * @return список событий
+     */
+    private List<BillingOutboxEntity> events(long... keys) {
+        String payload = JsonUtil.toJson(BillingDto.builder().userId("user").build());
+        return LongStream.of(keys)
+                .mapToObj(key -> BillingOutboxEntity.builder()
+                        .outboxKey(key)
+                        .payload(payload)
+                        .createdDt(CREATED_DT.plusMinutes(key))
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,91 @@
+package ru.hofftech.core.service;
+
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.support.ErrorMessage;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Реестр ожидающих подтверждения отправок в Kafka")
+class KafkaSendTrackerTest {
+    private KafkaSendTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new KafkaSendTracker();
+    }
+
+    @Test
+    @DisplayName("Должен завершить отправку по метаданным записи и удалить её из реестра")
+    void onRecordMetadata_Acknowledged_CompletesSend() {
+        // Arrange
+        KafkaSendTracker.PendingSend pendingSend = tracker.register();
+        RecordMetadata metadata = new RecordMetadata(new TopicPartition("topic", 0), 0, 0, 0, 0, 0);
+
+        // Act
+        tracker.onRecordMetadata(MessageBuilder.withPayload("payload")
+                .setHeader(KafkaSendTracker.CORRELATION_HEADER, pendingSend.correlationId())
+                .setHeader(KafkaHeaders.RECORD_METADATA, metadata)
+                .build());
+
+        // Assert
+        assertThat(pendingSend.ack()).isCompleted();
+        assertThat(tracker.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Должен удалить отменённое ожидание и игнорировать позднее подтверждение")
+    void onRecordMetadata_AfterCancel_Ignored() {
+        // Arrange
+        KafkaSendTracker.PendingSend pendingSend = tracker.register();
+        pendingSend.ack().cancel(false);
+
+        // Act
+        tracker.onRecordMetadata(MessageBuilder.withPayload("payload")
+                .setHeader(KafkaSendTracker.CORRELATION_HEADER, pendingSend.correlationId())
+                .build());
+
+        // Assert
+        assertThat(pendingSend.ack()).isCancelled();
+        assertThat(tracker.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Должен завершить отправку с ошибкой по сообщению из канала ошибок")
+    void onSendFailure_FailedSend_CompletesExceptionally() {
+        // Arrange
+        KafkaSendTracker.PendingSend pendingSend = tracker.register();
+        Message<String> failed = MessageBuilder.withPayload("payload")
+                .setHeader(KafkaSendTracker.CORRELATION_HEADER, pendingSend.correlationId())
+                .build();
+
+        // Act
+        tracker.onSendFailure(new ErrorMessage(new MessagingException(failed, "broker unavailable")));
+
+        // Assert
+        assertThat(pendingSend.ack()).isCompletedExceptionally();
+        assertThat(tracker.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Должен пропустить ошибку сообщения без идентификатора корреляции")
+    void onSendFailure_UntrackedMessage_Ignored() {
+        // Arrange
+        KafkaSendTracker.PendingSend pendingSend = tracker.register();
+        Message<String> failed = MessageBuilder.withPayload("payload").build();
+
+        // Act
+        tracker.onSendFailure(new ErrorMessage(new MessagingException(failed, "broker unavailable")));
+
+        // Assert
+        assertThat(pendingSend.ack()).isNotDone();
+        assertThat(tracker.pendingCount()).isEqualTo(1);
+    }
+}
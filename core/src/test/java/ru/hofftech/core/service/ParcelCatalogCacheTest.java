@@ -0,0 +1,81 @@
+package ru.hofftech.core.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.hofftech.core.config.ParcelCatalogCacheProperties;
+import ru.hofftech.core.mapper.ParcelEntityMapper;
+import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.model.entity.ParcelEntity;
+import ru.hofftech.core.repository.ParcelRepository;
+import ru.hofftech.core.service.parcer.ParserParcelBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Кэш каталога посылок")
+class ParcelCatalogCacheTest {
+    private ParcelRepository parcelRepository;
+    private ParcelCatalogCache cache;
+    private ParcelEntity boxEntity;
+
+    @BeforeEach
+    void setUp() {
+        parcelRepository = mock(ParcelRepository.class);
+        ParcelEntityMapper parcelEntityMapper = mock(ParcelEntityMapper.class);
+
+        boxEntity = ParcelEntity.builder().name("box").form("11\n11").symbol('1').build();
+        Parcel box = new ParserParcelBuilder().buildFromLines("box", List.of("11", "11"));
+        when(parcelEntityMapper.toParcel(any(ParcelEntity.class))).thenReturn(box);
+
+        cache = new ParcelCatalogCache(parcelRepository, parcelEntityMapper, new ParcelCatalogCacheProperties());
+    }
+
+    @Test
+    @DisplayName("Должен загрузить промахи одним запросом и отдавать повторные запросы из памяти")
+    void getAll_RepeatedNames_LoadsOnce() {
+        // Arrange
+        when(parcelRepository.findByNameIn(anyCollection())).thenReturn(List.of(boxEntity));
+
+        // Act
+        Map<String, Parcel> first = cache.getAll(List.of("box", "box", "unknown"));
+        Map<String, Parcel> second = cache.getAll(List.of("box", "unknown"));
+
+        // Assert
+        assertThat(first).containsOnlyKeys("box");
+        assertThat(second).containsOnlyKeys("box");
+        verify(parcelRepository, times(1)).findByNameIn(anyCollection());
+        assertThat(cache.stats().hitCount()).isEqualTo(2);
+        assertThat(cache.stats().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Должен кэшировать отсутствие посылки до инвалидации")
+    void get_UnknownName_CachedUntilInvalidated() {
+        // Arrange
+        when(parcelRepository.findByName("box"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(boxEntity));
+
+        // Act
+        Optional<Parcel> missing = cache.get("box");
+        Optional<Parcel> stillMissing = cache.get("box");
+        cache.invalidate("box");
+        Optional<Parcel> found = cache.get("box");
+
+        // Assert
+        assertThat(missing).isEmpty();
+        assertThat(stillMissing).isEmpty();
+        assertThat(found).isPresent();
+        verify(parcelRepository, times(2)).findByName("box");
+    }
+}
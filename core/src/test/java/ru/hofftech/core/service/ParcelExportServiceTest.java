@@ -0,0 +1,75 @@
+package ru.hofftech.core.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.hofftech.core.mapper.ParcelEntityMapper;
+import ru.hofftech.core.model.entity.ParcelEntity;
+import ru.hofftech.core.repository.ParcelRepository;
+import ru.hofftech.shared.model.dto.ParcelDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Сервис выгрузки каталога посылок")
+class ParcelExportServiceTest {
+
+    @Test
+    @DisplayName("Должен записать каждую посылку отдельной строкой и отсоединить прочитанные сущности")
+    void exportAll_Catalog_WritesNdjson() throws IOException {
+        // Arrange
+        ParcelRepository parcelRepository = mock(ParcelRepository.class);
+        ParcelEntityMapper parcelEntityMapper = mock(ParcelEntityMapper.class);
+        EntityManager entityManager = mock(EntityManager.class);
+
+        ParcelEntity box = ParcelEntity.builder().name("box").build();
+        ParcelEntity tube = ParcelEntity.builder().name("tube").build();
+        when(parcelRepository.streamAll()).thenReturn(Stream.of(box, tube));
+        when(parcelEntityMapper.toDto(box)).thenReturn(ParcelDto.builder().name("box").build());
+        when(parcelEntityMapper.toDto(tube)).thenReturn(ParcelDto.builder().name("tube").build());
+
+        ParcelExportService service =
+                new ParcelExportService(parcelRepository, parcelEntityMapper, new ObjectMapper(), entityManager);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        long count = service.exportAll(output);
+
+        // Assert
+        assertThat(count).isEqualTo(2);
+        assertThat(output.toString(StandardCharsets.UTF_8).lines().toList())
+                .hasSize(2)
+                .satisfiesExactly(
+                        line -> assertThat(line).contains("\"box\""), line -> assertThat(line).contains("\"tube\""));
+        verify(entityManager).detach(box);
+        verify(entityManager).detach(tube);
+    }
+
+    @Test
+    @DisplayName("Не должен закрывать выходной поток после выгрузки")
+    void exportAll_Finished_KeepsOutputOpen() throws IOException {
+        // Arrange
+        ParcelRepository parcelRepository = mock(ParcelRepository.class);
+        when(parcelRepository.streamAll()).thenReturn(Stream.empty());
+
+        ParcelExportService service = new ParcelExportService(
+                parcelRepository, mock(ParcelEntityMapper.class), new ObjectMapper(), mock(EntityManager.class));
+        OutputStream output = mock(OutputStream.class);
+
+        // Act
+        service.exportAll(output);
+
+        // Assert
+        verify(output, never()).close();
+    }
+}
@@ -0,0 +1,202 @@
+package ru.hofftech.core.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import ru.hofftech.core.config.ParcelImportProperties;
+import ru.hofftech.core.exception.ParcelException;
+import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.repository.ParcelBatchRepository;
+import ru.hofftech.core.repository.ParcelRepository;
+import ru.hofftech.core.service.parcer.ParserParcelBuilder;
+import ru.hofftech.core.service.parcer.ParserParcelFormScanner;
+import ru.hofftech.core.service.parcer.ParserParcelService;
+import ru.hofftech.core.validation.impl.ParcelGridValidator;
+import ru.hofftech.shared.model.dto.ParcelFormRequestDto;
+import ru.hofftech.shared.model.dto.ParcelImportResponseDto;
+import ru.hofftech.shared.model.dto.ParcelImportRowDto;
+import ru.hofftech.shared.model.enums.ParcelImportConflictPolicy;
+import ru.hofftech.shared.model.enums.ParcelImportRowStatus;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Сервис массового импорта посылок")
+class ParcelImportServiceTest {
+    private ParcelRepository parcelRepository;
+    private ParcelBatchRepository parcelBatchRepository;
+    private ValidatorFactory validatorFactory;
+    private ParcelImportService service;
+
+    @BeforeEach
+    void setUp() {
+        parcelRepository = mock(ParcelRepository.class);
+        parcelBatchRepository = mock(ParcelBatchRepository.class);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+
+        ParserParcelService parserParcelService = new ParserParcelService(
+                new ParserParcelFormScanner(new ParserParcelBuilder()), new ParcelGridValidator());
+
+        service = new ParcelImportService(
+                parcelRepository,
+                parcelBatchRepository,
+                parserParcelService,
+                mock(ParcelCatalogCache.class),
+                new ParcelImportProperties(),
+                validatorFactory.getValidator(),
+                new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Должен вернуть результат по каждой записи и записать только новые посылки")
+    void importParcels_SkipPolicy_ReturnsPerRowResults() {
+        // Arrange
+        when(parcelRepository.findExistingNames(anyCollection())).thenReturn(List.of("old"));
+        when(parcelBatchRepository.upsertAll(anyList(), any(), anyInt()))
+                .thenReturn(new ParcelBatchRepository.UpsertResult(Set.of("new"), Set.of()));
+
+        List<ParcelFormRequestDto> parcels = List.of(
+                form("new", "11\\n11", "1"),
+                form("old", "22\\n22", "2"),
+                form("new", "33\\n33", "3"),
+                form("broken", "", "4"));
+
+        // Act
+        ParcelImportResponseDto response = service.importParcels(parcels, ParcelImportConflictPolicy.SKIP);
+
+        // Assert
+        assertThat(response.rows())
+                .extracting(ParcelImportRowDto::status)
+                .containsExactly(
+                        ParcelImportRowStatus.CREATED,
+                        ParcelImportRowStatus.SKIPPED,
+                        ParcelImportRowStatus.FAILED,
+                        ParcelImportRowStatus.FAILED);
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.skipped()).isEqualTo(1);
+        assertThat(response.failed()).isEqualTo(2);
+        verify(parcelBatchRepository)
+                .upsertAll(
+                        argThat((List<Parcel> written) -> written.size() == 1
+                                && written.getFirst().name().equals("new")),
+                        eq(ParcelImportConflictPolicy.SKIP),
+                        anyInt());
+    }
+
+    @Test
+    @DisplayName("Должен отменить импорт при политике FAIL, если посылка уже существует")
+    void importParcels_FailPolicy_ThrowsException() {
+        // Arrange
+        when(parcelRepository.findExistingNames(anyCollection())).thenReturn(List.of("old"));
+
+        List<ParcelFormRequestDto> parcels = List.of(form("new", "11", "1"), form("old", "22", "2"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.importParcels(parcels, ParcelImportConflictPolicy.FAIL))
+                .isInstanceOf(ParcelException.class)
+                .hasMessageContaining("old");
+        verify(parcelBatchRepository, never()).upsertAll(anyList(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Должен разобрать NDJSON и обновить существующие посылки")
+    void importNdjson_UpdatePolicy_UpdatesExisting() {
+        // Arrange
+        when(parcelRepository.findExistingNames(anyCollection())).thenReturn(List.of("old"));
+
+        String ndjson =
+                """
+                {"name":"old","form":"22","symbol":"2"}
+                {"name":"new","form":"1","symbol":"1"}
+                """;
+        when(parcelBatchRepository.upsertAll(anyList(), any(), anyInt()))
+                .thenReturn(new ParcelBatchRepository.UpsertResult(Set.of("new"), Set.of("old")));
+
+        // Act
+        ParcelImportResponseDto response = service.importNdjson(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ParcelImportConflictPolicy.UPDATE);
+
+        // Assert
+        assertThat(response.updated()).isEqualTo(1);
+        assertThat(response.created()).isEqualTo(1);
+        verify(parcelBatchRepository)
+                .upsertAll(
+                        argThat((List<Parcel> written) -> written.size() == 2),
+                        eq(ParcelImportConflictPolicy.UPDATE),
+                        anyInt());
+    }
+
+    @Test
+    @DisplayName("Должен пропустить запись, если посылка создана параллельно до записи")
+    void importParcels_ConcurrentInsert_MarksSkipped() {
+        // Arrange
+        when(parcelRepository.findExistingNames(anyCollection())).thenReturn(List.of());
+        when(parcelBatchRepository.upsertAll(anyList(), any(), anyInt()))
+                .thenReturn(new ParcelBatchRepository.UpsertResult(Set.of("first"), Set.of()));
+
+        List<ParcelFormRequestDto> parcels = List.of(form("first", "11", "1"), form("second", "22", "2"));
+
+        // Act
+        ParcelImportResponseDto response = service.importParcels(parcels, ParcelImportConflictPolicy.SKIP);
+
+        // Assert
+        assertThat(response.rows())
+                .extracting(ParcelImportRowDto::status)
+                .containsExactly(ParcelImportRowStatus.CREATED, ParcelImportRowStatus.SKIPPED);
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.skipped()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Должен отменить импорт при политике FAIL, если посылка создана параллельно")
+    void importParcels_FailPolicyConcurrentInsert_ThrowsParcelException() {
+        // Arrange
+        when(parcelRepository.findExistingNames(anyCollection())).thenReturn(List.of());
+        when(parcelBatchRepository.upsertAll(anyList(), any(), anyInt()))
+                .thenThrow(new DuplicateKeyException("duplicate key value violates unique constraint"));
+
+        List<ParcelFormRequestDto> parcels = List.of(form("new", "11", "1"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.importParcels(parcels, ParcelImportConflictPolicy.FAIL))
+                .isInstanceOf(ParcelException.class)
+                .hasMessageContaining("уже существуют");
+    }
+
+    /**
+     * Создаёт запись посылки для импорта.
+     *
+     * @param name   название
+     * @param form   форма
+     * @param symbol символ
+     * @return запись посылки
+     */
+    private ParcelFormRequestDto form(String name, String form, String symbol) {
+        return ParcelFormRequestDto.builder().name(name).form(form).symbol(symbol).build();
+    }
+}
@@ -0,0 +1,89 @@
+package ru.hofftech.core.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import ru.hofftech.core.exception.ParcelException;
+import ru.hofftech.core.mapper.ParcelEntityMapper;
+import ru.hofftech.core.model.entity.ParcelEntity;
+import ru.hofftech.core.repository.ParcelRepository;
+import ru.hofftech.shared.model.dto.CursorPageDto;
+import ru.hofftech.shared.model.dto.ParcelDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Сервис посылок")
+class ParcelServiceTest {
+    private static final LocalDateTime CREATED_DT = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_456_000);
+
+    private ParcelRepository parcelRepository;
+    private ParcelService parcelService;
+
+    @BeforeEach
+    void setUp() {
+        parcelRepository = mock(ParcelRepository.class);
+        ParcelEntityMapper parcelEntityMapper = mock(ParcelEntityMapper.class);
+        when(parcelEntityMapper.toDto(any(ParcelEntity.class))).thenReturn(ParcelDto.builder().build());
+
+        parcelService = new ParcelService(parcelRepository, parcelEntityMapper, mock(ParcelCatalogCache.class));
+    }
+
+    @Test
+    @DisplayName("Должен вернуть токен следующей страницы и продолжить чтение с последней посылки")
+    void readAllByCursor_NextPage_SeeksFromLastParcel() {
+        // Arrange
+        when(parcelRepository.findAllByOrderByCreatedDtDescParcelKeyDesc(Limit.of(3)))
+                .thenReturn(List.of(entity(30), entity(20), entity(10)));
+        when(parcelRepository.findPageBefore(CREATED_DT, 20, Limit.of(3))).thenReturn(List.of(entity(10)));
+
+        // Act
+        CursorPageDto<ParcelDto> first = parcelService.readAllByCursor(null, 2);
+        CursorPageDto<ParcelDto> second = parcelService.readAllByCursor(first.nextCursor(), 2);
+
+        // Assert
+        assertThat(first.content()).hasSize(2);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.nextCursor()).isNotBlank();
+        assertThat(second.content()).hasSize(1);
+        assertThat(second.hasNext()).isFalse();
+        assertThat(second.nextCursor()).isNull();
+        verify(parcelRepository).findPageBefore(CREATED_DT, 20, Limit.of(3));
+    }
+
+    @Test
+    @DisplayName("Должен выбросить исключение при некорректном токене страницы")
+    void readAllByCursor_InvalidCursor_ThrowsException() {
+        // Act & Assert
+        assertThatThrownBy(() -> parcelService.readAllByCursor("not-a-cursor", 2))
+                .isInstanceOf(ParcelException.class);
+    }
+
+    @Test
+    @DisplayName("Должен выбросить исключение при размере страницы больше максимального")
+    void readAllByCursor_SizeAboveMax_ThrowsException() {
+        // Act & Assert
+        assertThatThrownBy(() -> parcelService.readAllByCursor(null, Integer.MAX_VALUE))
+                .isInstanceOf(ParcelException.class);
+        verifyNoInteractions(parcelRepository);
+    }
+
+    /**
+     * Создаёт сущность посылки с общей датой создания.
+     *
+     * @param parcelKey первичный ключ
+     * @return сущность посылки
+     */
+    private ParcelEntity entity(long parcelKey) {
+        return ParcelEntity.builder().parcelKey(parcelKey).createdDt(CREATED_DT).build();
+    }
+}
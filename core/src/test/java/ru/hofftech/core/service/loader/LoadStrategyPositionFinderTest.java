@@ -93,4 +93,23 @@ class LoadStrategyPositionFinderTest {
         // Assert
         assertThat(position).isNull(); // не должно найти место из-за недостатка опоры
     }
+
+    @Test
+    @DisplayName("Должен найти позицию над заполненным рядом в широкой машине")
+    void findBestPosition_FullBottomRowInWideMachine_FindsPositionOnTop() {
+        // Arrange
+        Machine machine = new Machine(50, 50);
+
+        Parcel rowParcel = parcelBuilder.buildFromLines("Name", List.of("1".repeat(50))); // 50x1
+
+        machine = machine.placeParcel(rowParcel, 0, 0);
+
+        Parcel newParcel = parcelBuilder.buildFromLines("Name", List.of("22", "22")); // 2x2
+
+        // Act
+        int[] position = positionFinder.findBestPosition(machine, newParcel);
+
+        // Assert
+        assertThat(position).isEqualTo(new int[] {0, 1});
+    }
 }
@@ -3,18 +3,23 @@ package ru.hofftech.core.service.loader.strategy.impl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import ru.hofftech.core.exception.LoadException;
 import ru.hofftech.core.model.core.LoadResult;
 import ru.hofftech.core.model.core.Machine;
 import ru.hofftech.core.model.core.Parcel;
 import ru.hofftech.core.model.core.PlacedParcel;
 import ru.hofftech.core.service.loader.LoadStrategyPositionFinder;
+import ru.hofftech.core.service.loader.LoadStrategySlotPlacer;
 import ru.hofftech.core.service.loader.LoadStrategySupportChecker;
 import ru.hofftech.core.service.parcer.ParserParcelBuilder;
 import ru.hofftech.shared.model.enums.LoadStrategyType;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DisplayName("Стратегия упаковки посылок: Плотная упаковка")
 class LoadStrategyDensePackingTest {
@@ -26,8 +31,9 @@ class LoadStrategyDensePackingTest {
         LoadStrategySupportChecker loadStrategySupportChecker = new LoadStrategySupportChecker();
         LoadStrategyPositionFinder loadStrategyPositionFinder =
                 new LoadStrategyPositionFinder(loadStrategySupportChecker);
+        LoadStrategySlotPlacer loadStrategySlotPlacer = new LoadStrategySlotPlacer(loadStrategyPositionFinder);
 
-        strategy = new LoadStrategyDensePacking(loadStrategyPositionFinder);
+        strategy = new LoadStrategyDensePacking(loadStrategySlotPlacer);
         parcelBuilder = new ParserParcelBuilder();
     }
 
@@ -241,6 +247,61 @@ class LoadStrategyDensePackingTest {
         assertThat(result.getTotalParcelsProcessed()).isEqualTo(1);
     }
 
+    @Test
+    @DisplayName("Должен занимать машины по порядку в большом парке из машин разных размеров")
+    void loadParcels_LargeFleetOfThreeSizes_FillsMachinesInOrder() {
+        // Arrange
+        List<Machine> machines = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            machines.add(switch (i % 3) {
+                case 0 -> new Machine(3, 3);
+                case 1 -> new Machine(6, 6);
+                default -> new Machine(9, 3);
+            });
+        }
+
+        List<Parcel> parcels = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            parcels.add(parcelBuilder.buildFromLines("name", List.of("8888", "8888", "8888", "8888"))); // 4x4
+        }
+
+        // Act
+        LoadResult result = strategy.loadParcels(parcels, machines);
+
+        // Assert
+        assertThat(result.loadStrategyParcelInvalids()).isEmpty();
+        assertThat(result.getTotalParcelsProcessed()).isEqualTo(100);
+
+        // Посылка 4x4 помещается только в машины 6x6 (каждая третья, начиная с индекса 1), по одной
+        for (int i = 0; i < 100; i++) {
+            assertThat(result.machines().get(1 + i * 3).parcels()).hasSize(1);
+        }
+        assertThat(result.machines().get(0).parcels()).isEmpty();
+        assertThat(result.machines().get(2).parcels()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Должен упаковать группу одинаковых посылок и отложить не поместившиеся")
+    void loadParcels_GroupOfIdenticalParcels_PacksUntilMachinesAreFull() {
+        // Arrange
+        Parcel box = parcelBuilder.buildFromLines("name", List.of("333", "333", "333")); // 3x3
+        List<Parcel> parcels = Collections.nCopies(5000, box);
+
+        List<Machine> machines = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            machines.add(new Machine(6, 6));
+        }
+
+        // Act
+        LoadResult result = strategy.loadParcels(parcels, machines);
+
+        // Assert
+        // В каждую машину 6x6 помещается 4 посылки 3x3
+        assertThat(result.getTotalParcelsProcessed()).isEqualTo(400);
+        assertThat(result.getUsedMachinesCount()).isEqualTo(100);
+        assertThat(result.loadStrategyParcelInvalids()).hasSize(4600);
+    }
+
     @Test
     @DisplayName("Должен вернуть правильный тип алгоритма")
     void getAlgorithmType_ReturnsCorrectType() {
@@ -248,4 +309,21 @@ class LoadStrategyDensePackingTest {
         assertThat(strategy.getAlgorithmType()).isEqualTo(LoadStrategyType.DENSE_PACKING);
         assertThat(strategy.getAlgorithmName()).isEqualTo("Плотная упаковка");
     }
+
+    @Test
+    @DisplayName("Должен прекратить упаковку, если поток прерван")
+    void loadParcels_InterruptedThread_ThrowsException() {
+        // Arrange
+        Parcel parcel = parcelBuilder.buildFromLines("name", List.of("11", "11")); // 2x2
+        List<Machine> machines = List.of(new Machine(6, 6));
+        Thread.currentThread().interrupt();
+
+        // Act & Assert
+        try {
+            assertThatThrownBy(() -> strategy.loadParcels(List.of(parcel), machines))
+                    .isInstanceOf(LoadException.class);
+        } finally {
+            Thread.interrupted();
+        }
+    }
 }
@@ -0,0 +1,164 @@
+package ru.hofftech.core.service.loader.strategy.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.hofftech.core.config.LoadOptimizerProperties;
+import ru.hofftech.core.model.core.LoadOptions;
+import ru.hofftech.core.model.core.LoadResult;
+import ru.hofftech.core.model.core.Machine;
+import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.service.loader.LoadStrategyPositionFinder;
+import ru.hofftech.core.service.loader.LoadStrategySlotPlacer;
+import ru.hofftech.core.service.loader.LoadStrategySupportChecker;
+import ru.hofftech.core.service.parcer.ParserParcelBuilder;
+import ru.hofftech.shared.model.enums.LoadStrategyParcelInvalidCauseType;
+import ru.hofftech.shared.model.enums.LoadStrategyType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Стратегия упаковки посылок: Оптимизация локальным поиском")
+class LoadStrategyLocalSearchPackingTest {
+    private LoadStrategyLocalSearchPacking strategy;
+    private LoadStrategyDensePacking densePacking;
+    private ParserParcelBuilder parcelBuilder;
+
+    @BeforeEach
+    void setUp() {
+        LoadStrategySupportChecker loadStrategySupportChecker = new LoadStrategySupportChecker();
+        LoadStrategyPositionFinder loadStrategyPositionFinder =
+                new LoadStrategyPositionFinder(loadStrategySupportChecker);
+        LoadStrategySlotPlacer loadStrategySlotPlacer = new LoadStrategySlotPlacer(loadStrategyPositionFinder);
+
+        LoadOptimizerProperties loadOptimizerProperties = new LoadOptimizerProperties();
+        loadOptimizerProperties.setDefaultTimeBudgetMs(50);
+        loadOptimizerProperties.setMaxTimeBudgetMs(200);
+
+        strategy = new LoadStrategyLocalSearchPacking(loadStrategySlotPlacer, loadOptimizerProperties);
+        densePacking = new LoadStrategyDensePacking(loadStrategySlotPlacer);
+        parcelBuilder = new ParserParcelBuilder();
+    }
+
+    @Test
+    @DisplayName("Должен упаковать не хуже плотной упаковки")
+    void loadParcels_MixedParcels_NotWorseThanDense() {
+        // Arrange
+        List<Parcel> parcels = List.of(
+                parcelBuilder.buildFromLines("name", List.of("999", "999", "999")), // 3x3
+                parcelBuilder.buildFromLines("name", List.of("8888", "8888")), // 4x2
+                parcelBuilder.buildFromLines("name", List.of("7  ", "777")), // 3x2, угол
+                parcelBuilder.buildFromLines("name", List.of("66", "66")), // 2x2
+                parcelBuilder.buildFromLines("name", List.of("55555")), // 5x1
+                parcelBuilder.buildFromLines("name", List.of("4", "4", "4")), // 1x3
+                parcelBuilder.buildFromLines("name", List.of("333")), // 3x1
+                parcelBuilder.buildFromLines("name", List.of("22")), // 2x1
+                parcelBuilder.buildFromLines("name", List.of("1"))); // 1x1
+
+        List<Machine> machines = List.of(new Machine(6, 6), new Machine(6, 6));
+
+        // Act
+        LoadResult dense = densePacking.loadParcels(parcels, machines);
+        LoadResult result = strategy.loadParcels(parcels, machines);
+
+        // Assert
+        assertThat(result.getTotalFilledCells()).isGreaterThanOrEqualTo(dense.getTotalFilledCells());
+        if (result.getTotalFilledCells() == dense.getTotalFilledCells()) {
+            assertThat(result.getUsedMachinesCount()).isLessThanOrEqualTo(dense.getUsedMachinesCount());
+        }
+        assertThat(result.iterations()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Должен упаковать все копии общего экземпляра посылки не хуже плотной упаковки")
+    void loadParcels_SharedParcelCopies_NotWorseThanDense() {
+        // Arrange
+        Parcel box = parcelBuilder.buildFromLines("name", List.of("999", "999")); // 3x2
+        Parcel bar = parcelBuilder.buildFromLines("name", List.of("1111")); // 4x1
+        List<Parcel> parcels = new ArrayList<>(Collections.nCopies(7, box));
+        parcels.addAll(Collections.nCopies(5, bar));
+
+        List<Machine> machines = List.of(new Machine(6, 6), new Machine(6, 6));
+
+        // Act
+        LoadResult dense = densePacking.loadParcels(parcels, machines);
+        LoadResult result = strategy.loadParcels(parcels, machines);
+
+        // Assert
+        assertThat(result.getTotalParcelsProcessed() + result.loadStrategyParcelInvalids().size())
+                .isEqualTo(parcels.size());
+        assertThat(result.getTotalFilledCells()).isGreaterThanOrEqualTo(dense.getTotalFilledCells());
+    }
+
+    @Test
+    @DisplayName("Должен остановиться сразу, если решение уже оптимально")
+    void loadParcels_SingleMachineEnough_StopsEarly() {
+        // Arrange
+        Parcel parcel1 = parcelBuilder.buildFromLines("name", List.of("111", "111", "111")); // 3x3
+        Parcel parcel2 = parcelBuilder.buildFromLines("name", List.of("222", "222", "222")); // 3x3
+
+        List<Machine> machines = List.of(new Machine(6, 6), new Machine(6, 6));
+        LoadOptions options = LoadOptions.builder().timeBudget(Duration.ofSeconds(10)).build();
+
+        // Act
+        LoadResult result = strategy.loadParcels(List.of(parcel1, parcel2), machines, options);
+
+        // Assert
+        assertThat(result.loadStrategyParcelInvalids()).isEmpty();
+        assertThat(result.getUsedMachinesCount()).isEqualTo(1);
+        assertThat(result.iterations()).isZero();
+    }
+
+    @Test
+    @DisplayName("Должен отложить посылку, которая не влезает ни в одну машину")
+    void loadParcels_OversizedParcel_ReturnsOversized() {
+        // Arrange
+        Parcel parcel = parcelBuilder.buildFromLines("name", List.of("7777777")); // 7x1
+
+        List<Machine> machines = List.of(new Machine(6, 6));
+
+        // Act
+        LoadResult result = strategy.loadParcels(List.of(parcel), machines);
+
+        // Assert
+        assertThat(result.getTotalParcelsProcessed()).isZero();
+        assertThat(result.loadStrategyParcelInvalids()).hasSize(1);
+        assertThat(result.loadStrategyParcelInvalids().getFirst().causeType())
+                .isEqualTo(LoadStrategyParcelInvalidCauseType.PARCEL_OVERSIZED);
+    }
+
+    @Test
+    @DisplayName("Должен вернуть правильный тип алгоритма")
+    void getAlgorithmType_ReturnsCorrectType() {
+        // Act & Assert
+        assertThat(strategy.getAlgorithmType()).isEqualTo(LoadStrategyType.LOCAL_SEARCH_PACKING);
+        assertThat(strategy.getAlgorithmName()).isEqualTo("Оптимизация локальным поиском");
+    }
+
+    @Test
+    @DisplayName("Должен завершиться к сроку запроса, даже если бюджет больше")
+    void loadParcels_DeadlineBeforeBudget_StopsAtDeadline() {
+        // Arrange
+        Parcel parcel = parcelBuilder.buildFromLines("name", List.of("11", "11")); // 2x2
+        Parcel oversized = parcelBuilder.buildFromLines("name", List.of("7777777")); // 7x1
+
+        List<Machine> machines = List.of(new Machine(6, 6));
+        LoadOptions options = LoadOptions.builder()
+                .timeBudget(Duration.ofSeconds(10))
+                .deadline(System.nanoTime())
+                .build();
+
+        // Act
+        long start = System.nanoTime();
+        LoadResult result = strategy.loadParcels(List.of(parcel, oversized), machines, options);
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Assert
+        assertThat(result.iterations()).isZero();
+        assertThat(elapsedMs).isLessThan(1000);
+    }
+}
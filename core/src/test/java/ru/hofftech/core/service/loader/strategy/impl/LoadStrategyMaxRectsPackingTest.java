@@ -0,0 +1,136 @@
+package ru.hofftech.core.service.loader.strategy.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.hofftech.core.model.core.LoadResult;
+import ru.hofftech.core.model.core.Machine;
+import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.service.loader.LoadStrategyPositionFinder;
+import ru.hofftech.core.service.loader.LoadStrategySupportChecker;
+import ru.hofftech.core.service.parcer.ParserParcelBuilder;
+import ru.hofftech.shared.model.enums.LoadStrategyParcelInvalidCauseType;
+import ru.hofftech.shared.model.enums.LoadStrategyType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Стратегия упаковки посылок: Укладка по свободным прямоугольникам")
+class LoadStrategyMaxRectsPackingTest {
+    private LoadStrategyMaxRectsPacking strategy;
+    private ParserParcelBuilder parcelBuilder;
+
+    @BeforeEach
+    void setUp() {
+        LoadStrategySupportChecker loadStrategySupportChecker = new LoadStrategySupportChecker();
+        LoadStrategyPositionFinder loadStrategyPositionFinder =
+                new LoadStrategyPositionFinder(loadStrategySupportChecker);
+
+        strategy = new LoadStrategyMaxRectsPacking(loadStrategyPositionFinder, loadStrategySupportChecker);
+        parcelBuilder = new ParserParcelBuilder();
+    }
+
+    @Test
+    @DisplayName("Должен упаковать посылки 3x3, 3x3 и 6x3 в одну машину 6x6 без пустот")
+    void loadParcels_ParcelsFillMachineExactly_PacksInOneMachine() {
+        // Arrange
+        Parcel parcel1 = parcelBuilder.buildFromLines("name", List.of("111", "111", "111")); // 3x3
+        Parcel parcel2 = parcelBuilder.buildFromLines("name", List.of("222", "222", "222")); // 3x3
+        Parcel parcel3 = parcelBuilder.buildFromLines("name", List.of("333333", "333333", "333333")); // 6x3
+
+        List<Machine> machines = List.of(new Machine(6, 6));
+
+        // Act
+        LoadResult result = strategy.loadParcels(List.of(parcel1, parcel2, parcel3), machines);
+
+        // Assert
+        assertThat(result.loadStrategyParcelInvalids()).isEmpty();
+        assertThat(result.getTotalParcelsProcessed()).isEqualTo(3);
+        assertThat(result.machines().getFirst().getLines()).noneMatch(line -> line.contains(" "));
+    }
+
+    @Test
+    @DisplayName("Должен отложить все лишние копии одной посылки с одной причиной")
+    void loadParcels_IdenticalCopiesOverflow_RejectsRestOfGroup() {
+        // Arrange
+        Parcel box = parcelBuilder.buildFromLines("name", List.of("11", "11")); // 2x2
+        List<Parcel> parcels = Collections.nCopies(10, box);
+
+        List<Machine> machines = List.of(new Machine(4, 4));
+
+        // Act
+        LoadResult result = strategy.loadParcels(parcels, machines);
+
+        // Assert
+        assertThat(result.getTotalParcelsProcessed()).isEqualTo(4);
+        assertThat(result.loadStrategyParcelInvalids())
+                .hasSize(6)
+                .allMatch(invalid -> invalid.causeType() == LoadStrategyParcelInvalidCauseType.NO_MACHINE_SPACE);
+    }
+
+    @Test
+    @DisplayName("Должен использовать свободные клетки рядом с непрямоугольной посылкой")
+    void loadParcels_NonRectangularParcel_LeavesFreeCellsForOthers() {
+        // Arrange
+        Parcel corner = parcelBuilder.buildFromLines("name", List.of("5  ", "555")); // 3x2, угол
+        Parcel bar = parcelBuilder.buildFromLines("name", List.of("11")); // 2x1
+
+        List<Machine> machines = List.of(new Machine(3, 2));
+
+        // Act
+        LoadResult result = strategy.loadParcels(List.of(bar, corner), machines);
+
+        // Assert
+        assertThat(result.loadStrategyParcelInvalids()).isEmpty();
+        assertThat(result.getTotalParcelsProcessed()).isEqualTo(2);
+        assertThat(result.machines().getFirst().getLines()).containsExactly("511", "555");
+    }
+
+    @Test
+    @DisplayName("Должен быстро упаковать много посылок в очень большую машину")
+    void loadParcels_ManyParcelsInHugeMachine_PacksAll() {
+        // Arrange
+        List<Parcel> parcels = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            parcels.add(parcelBuilder.buildFromLines("name", List.of("9999", "9999"))); // 4x2
+        }
+
+        List<Machine> machines = List.of(new Machine(400, 400));
+
+        // Act
+        LoadResult result = strategy.loadParcels(parcels, machines);
+
+        // Assert
+        assertThat(result.loadStrategyParcelInvalids()).isEmpty();
+        assertThat(result.getTotalParcelsProcessed()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("Должен отложить посылку, которая не влезает ни в одну машину")
+    void loadParcels_OversizedParcel_ReturnsOversized() {
+        // Arrange
+        Parcel parcel = parcelBuilder.buildFromLines("name", List.of("7777777")); // 7x1
+
+        List<Machine> machines = List.of(new Machine(6, 6));
+
+        // Act
+        LoadResult result = strategy.loadParcels(List.of(parcel), machines);
+
+        // Assert
+        assertThat(result.getTotalParcelsProcessed()).isZero();
+        assertThat(result.loadStrategyParcelInvalids()).hasSize(1);
+        assertThat(result.loadStrategyParcelInvalids().getFirst().causeType())
+                .isEqualTo(LoadStrategyParcelInvalidCauseType.PARCEL_OVERSIZED);
+    }
+
+    @Test
+    @DisplayName("Должен вернуть правильный тип алгоритма")
+    void getAlgorithmType_ReturnsCorrectType() {
+        // Act & Assert
+        assertThat(strategy.getAlgorithmType()).isEqualTo(LoadStrategyType.MAX_RECTS_PACKING);
+        assertThat(strategy.getAlgorithmName()).isEqualTo("Укладка по свободным прямоугольникам");
+    }
+}
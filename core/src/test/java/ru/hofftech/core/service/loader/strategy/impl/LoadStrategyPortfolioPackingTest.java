@@ -0,0 +1,198 @@
+package ru.hofftech.core.service.loader.strategy.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.hofftech.core.config.LoadOptimizerProperties;
+import ru.hofftech.core.config.LoadPortfolioProperties;
+import ru.hofftech.core.exception.LoadException;
+import ru.hofftech.core.model.core.LoadOptions;
+import ru.hofftech.core.model.core.LoadResult;
+import ru.hofftech.core.model.core.Machine;
+import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.service.loader.LoadStrategyPositionFinder;
+import ru.hofftech.core.service.loader.LoadStrategySlotPlacer;
+import ru.hofftech.core.service.loader.LoadStrategySupportChecker;
+import ru.hofftech.core.service.loader.strategy.LoadStrategy;
+import ru.hofftech.core.service.parcer.ParserParcelBuilder;
+import ru.hofftech.shared.model.enums.LoadStrategyType;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Стратегия упаковки посылок: Лучший результат среди всех стратегий")
+class LoadStrategyPortfolioPackingTest {
+    private LoadStrategyOneParcelPerMachine oneParcelPerMachine;
+    private LoadStrategyDensePacking densePacking;
+    private LoadStrategyLocalSearchPacking localSearchPacking;
+    private LoadPortfolioProperties loadPortfolioProperties;
+    private ExecutorService executor;
+    private ParserParcelBuilder parcelBuilder;
+
+    @BeforeEach
+    void setUp() {
+        LoadStrategySupportChecker loadStrategySupportChecker = new LoadStrategySupportChecker();
+        LoadStrategyPositionFinder loadStrategyPositionFinder =
+                new LoadStrategyPositionFinder(loadStrategySupportChecker);
+        LoadStrategySlotPlacer loadStrategySlotPlacer = new LoadStrategySlotPlacer(loadStrategyPositionFinder);
+
+        oneParcelPerMachine = new LoadStrategyOneParcelPerMachine();
+        densePacking = new LoadStrategyDensePacking(loadStrategySlotPlacer);
+        localSearchPacking =
+                new LoadStrategyLocalSearchPacking(loadStrategySlotPlacer, new LoadOptimizerProperties());
+
+        loadPortfolioProperties = new LoadPortfolioProperties();
+        loadPortfolioProperties.setTimeoutMs(1000);
+
+        executor = Executors.newFixedThreadPool(2);
+        parcelBuilder = new ParserParcelBuilder();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Должен выбрать результат с наименьшим количеством машин")
+    void loadParcels_SeveralStrategies_ReturnsFewestMachines() {
+        // Arrange
+        LoadStrategyPortfolioPacking strategy = new LoadStrategyPortfolioPacking(
+                List.of(oneParcelPerMachine, densePacking), loadPortfolioProperties, executor);
+
+        Parcel parcel1 = parcelBuilder.buildFromLines("name", List.of("11", "11")); // 2x2
+        Parcel parcel2 = parcelBuilder.buildFromLines("name", List.of("22", "22")); // 2x2
+
+        List<Machine> machines = List.of(new Machine(6, 6), new Machine(6, 6));
+
+        // Act
+        LoadResult result = strategy.loadParcels(List.of(parcel1, parcel2), machines);
+
+        // Assert
+        assertThat(result.getTotalParcelsProcessed()).isEqualTo(2);
+        assertThat(result.getUsedMachinesCount()).isEqualTo(1);
+        assertThat(result.winnerStrategy()).isEqualTo(densePacking.getAlgorithmName());
+    }
+
+    @Test
+    @DisplayName("Должен учитывать только стратегии из настроек")
+    void loadParcels_ConfiguredSubset_RunsOnlyConfigured() {
+        // Arrange
+        loadPortfolioProperties.setStrategies(List.of(LoadStrategyType.ONE_PARCEL_PER_MACHINE));
+        LoadStrategyPortfolioPacking strategy = new LoadStrategyPortfolioPacking(
+                List.of(oneParcelPerMachine, densePacking), loadPortfolioProperties, executor);
+
+        Parcel parcel1 = parcelBuilder.buildFromLines("name", List.of("11", "11")); // 2x2
+        Parcel parcel2 = parcelBuilder.buildFromLines("name", List.of("22", "22")); // 2x2
+
+        List<Machine> machines = List.of(new Machine(6, 6), new Machine(6, 6));
+
+        // Act
+        LoadResult result = strategy.loadParcels(List.of(parcel1, parcel2), machines);
+
+        // Assert
+        assertThat(result.getUsedMachinesCount()).isEqualTo(2);
+        assertThat(result.winnerStrategy()).isEqualTo(oneParcelPerMachine.getAlgorithmName());
+    }
+
+    @Test
+    @DisplayName("Должен отменить стратегию, не успевшую к сроку, и вернуть результат остальных")
+    void loadParcels_SlowStrategy_IsCancelled() {
+        // Arrange
+        loadPortfolioProperties.setTimeoutMs(200);
+        LoadStrategyPortfolioPacking strategy = new LoadStrategyPortfolioPacking(
+                List.of(slowStrategy(), densePacking), loadPortfolioProperties, executor);
+
+        Parcel parcel = parcelBuilder.buildFromLines("name", List.of("11", "11")); // 2x2
+
+        List<Machine> machines = List.of(new Machine(6, 6));
+
+        // Act
+        LoadResult result = strategy.loadParcels(List.of(parcel), machines);
+
+        // Assert
+        assertThat(result.getTotalParcelsProcessed()).isEqualTo(1);
+        assertThat(result.winnerStrategy()).isEqualTo(densePacking.getAlgorithmName());
+    }
+
+    @Test
+    @DisplayName("Должен успеть получить результат оптимизации, если запрошенный бюджет не меньше срока портфеля")
+    void loadParcels_BudgetAboveTimeout_OptimizerFinishesBeforeDeadline() {
+        // Arrange
+        loadPortfolioProperties.setTimeoutMs(400);
+        LoadStrategyPortfolioPacking strategy = new LoadStrategyPortfolioPacking(
+                List.of(localSearchPacking, densePacking), loadPortfolioProperties, executor);
+
+        // Посылка, не влезающая ни в одну машину, не даёт локальному поиску остановиться досрочно
+        Parcel parcel1 = parcelBuilder.buildFromLines("name", List.of("11", "11")); // 2x2
+        Parcel parcel2 = parcelBuilder.buildFromLines("name", List.of("7777777")); // 7x1
+
+        List<Machine> machines = List.of(new Machine(6, 6));
+        LoadOptions options = LoadOptions.builder().timeBudget(Duration.ofSeconds(5)).build();
+
+        // Act
+        LoadResult result = strategy.loadParcels(List.of(parcel1, parcel2), machines, options);
+
+        // Assert
+        assertThat(result.winnerStrategy()).isEqualTo(localSearchPacking.getAlgorithmName());
+    }
+
+    @Test
+    @DisplayName("Должен выбросить исключение, если ни одна стратегия не завершилась")
+    void loadParcels_NoStrategyFinished_ThrowsException() {
+        // Arrange
+        loadPortfolioProperties.setTimeoutMs(100);
+        LoadStrategyPortfolioPacking strategy =
+                new LoadStrategyPortfolioPacking(List.of(slowStrategy()), loadPortfolioProperties, executor);
+
+        Parcel parcel = parcelBuilder.buildFromLines("name", List.of("1")); // 1x1
+
+        List<Machine> machines = List.of(new Machine(6, 6));
+
+        // Act & Assert
+        assertThatThrownBy(() -> strategy.loadParcels(List.of(parcel), machines))
+                .isInstanceOf(LoadException.class);
+    }
+
+    @Test
+    @DisplayName("Должен вернуть правильный тип алгоритма")
+    void getAlgorithmType_ReturnsCorrectType() {
+        // Arrange
+        LoadStrategyPortfolioPacking strategy =
+                new LoadStrategyPortfolioPacking(List.of(densePacking), loadPortfolioProperties, executor);
+
+        // Act & Assert
+        assertThat(strategy.getAlgorithmType()).isEqualTo(LoadStrategyType.PORTFOLIO_PACKING);
+        assertThat(strategy.getAlgorithmName()).isEqualTo("Лучший результат среди всех стратегий");
+    }
+
+    /**
+     * Создаёт стратегию, которая выполняется дольше срока портфеля.
+     *
+     * @return медленная стратегия
+     */
+    private LoadStrategy slowStrategy() {
+        return new LoadStrategy() {
+            @Override
+            public LoadResult loadParcels(List<Parcel> parcels, List<Machine> machines) {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return LoadResult.builder().machines(machines).build();
+            }
+
+            @Override
+            public LoadStrategyType getAlgorithmType() {
+                return LoadStrategyType.BALANCED_PACKING;
+            }
+        };
+    }
+}
@@ -0,0 +1,118 @@
+package ru.hofftech.core.service.loader.strategy.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.hofftech.core.model.core.LoadResult;
+import ru.hofftech.core.model.core.Machine;
+import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.model.core.PlacedParcel;
+import ru.hofftech.core.service.loader.LoadStrategyPositionFinder;
+import ru.hofftech.core.service.loader.LoadStrategySupportChecker;
+import ru.hofftech.core.service.parcer.ParserParcelBuilder;
+import ru.hofftech.shared.model.enums.LoadStrategyParcelInvalidCauseType;
+import ru.hofftech.shared.model.enums.LoadStrategyType;
+import ru.hofftech.shared.model.enums.ParcelOrientationType;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Стратегия упаковки посылок: Плотная укладка с поворотами")
+class LoadStrategyRotationPackingTest {
+    private LoadStrategyRotationPacking strategy;
+    private ParserParcelBuilder parcelBuilder;
+
+    @BeforeEach
+    void setUp() {
+        LoadStrategySupportChecker loadStrategySupportChecker = new LoadStrategySupportChecker();
+        LoadStrategyPositionFinder loadStrategyPositionFinder =
+                new LoadStrategyPositionFinder(loadStrategySupportChecker);
+
+        strategy = new LoadStrategyRotationPacking(loadStrategyPositionFinder);
+        parcelBuilder = new ParserParcelBuilder();
+    }
+
+    @Test
+    @DisplayName("Должен разместить квадратную посылку в исходной ориентации")
+    void loadParcels_SymmetricParcel_PlacesInOriginalOrientation() {
+        // Arrange
+        Parcel parcel = parcelBuilder.buildFromLines("name", List.of("44", "44")); // 2x2
+
+        List<Machine> machines = List.of(new Machine(6, 6));
+
+        // Act
+        LoadResult result = strategy.loadParcels(List.of(parcel), machines);
+
+        // Assert
+        assertThat(result.loadStrategyParcelInvalids()).isEmpty();
+
+        PlacedParcel placed = result.machines().getFirst().parcels().getFirst();
+        assertThat(placed.orientation()).isEqualTo(ParcelOrientationType.ORIGINAL);
+        assertThat(placed.parcel()).isEqualTo(parcel);
+        assertThat(placed.x()).isZero();
+        assertThat(placed.y()).isZero();
+    }
+
+    @Test
+    @DisplayName("Должен повернуть высокую посылку, которая иначе не влезает в машину")
+    void loadParcels_TallParcelInLowMachine_PlacesRotated() {
+        // Arrange
+        Parcel parcel = parcelBuilder.buildFromLines("name", List.of("1", "1", "1")); // 1x3
+
+        List<Machine> machines = List.of(new Machine(3, 1));
+
+        // Act
+        LoadResult result = strategy.loadParcels(List.of(parcel), machines);
+
+        // Assert
+        assertThat(result.loadStrategyParcelInvalids()).isEmpty();
+        assertThat(result.getTotalParcelsProcessed()).isEqualTo(1);
+
+        PlacedParcel placed = result.machines().getFirst().parcels().getFirst();
+        assertThat(placed.orientation()).isEqualTo(ParcelOrientationType.ROTATE_90);
+        assertThat(placed.parcel().getWidth()).isEqualTo(3);
+        assertThat(placed.parcel().getHeight()).isEqualTo(1);
+        assertThat(result.machines().getFirst().getLines()).containsExactly("111");
+    }
+
+    @Test
+    @DisplayName("Должен отбросить симметричные дубликаты ориентаций")
+    void orientations_SymmetricShapes_AreDeduplicated() {
+        // Arrange
+        Parcel square = parcelBuilder.buildFromLines("name", List.of("44", "44"));
+        Parcel line = parcelBuilder.buildFromLines("name", List.of("333"));
+        Parcel corner = parcelBuilder.buildFromLines("name", List.of("5 ", "55"));
+
+        // Act & Assert
+        assertThat(square.shape().orientations()).hasSize(1);
+        assertThat(line.shape().orientations()).hasSize(2);
+        assertThat(corner.shape().orientations()).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Должен отложить посылку, которая не влезает ни в одной ориентации")
+    void loadParcels_ParcelOversizedInAllOrientations_ReturnsOversized() {
+        // Arrange
+        Parcel parcel = parcelBuilder.buildFromLines("name", List.of("7777777")); // 7x1
+
+        List<Machine> machines = List.of(new Machine(6, 6));
+
+        // Act
+        LoadResult result = strategy.loadParcels(List.of(parcel), machines);
+
+        // Assert
+        assertThat(result.getTotalParcelsProcessed()).isZero();
+        assertThat(result.loadStrategyParcelInvalids()).hasSize(1);
+        assertThat(result.loadStrategyParcelInvalids().getFirst().causeType())
+                .isEqualTo(LoadStrategyParcelInvalidCauseType.PARCEL_OVERSIZED);
+    }
+
+    @Test
+    @DisplayName("Должен вернуть правильный тип алгоритма")
+    void getAlgorithmType_ReturnsCorrectType() {
+        // Act & Assert
+        assertThat(strategy.getAlgorithmType()).isEqualTo(LoadStrategyType.ROTATION_PACKING);
+        assertThat(strategy.getAlgorithmName()).isEqualTo("Плотная укладка с поворотами");
+    }
+}
@@ -0,0 +1,69 @@
+package ru.hofftech.core.service.parcer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.model.core.ParcelShape;
+import ru.hofftech.core.model.core.ParserParcelProcessorResult;
+import ru.hofftech.core.util.BitMaskUtil;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Однопроходный разбор формы посылки")
+class ParserParcelFormScannerTest {
+    private final ParserParcelFormScanner scanner = new ParserParcelFormScanner(new ParserParcelBuilder());
+
+    @Test
+    @DisplayName("Должен разобрать форму с экранированными переводами строк и выровнять строки")
+    void scan_EscapedLineBreaks_BuildsAlignedGrid() {
+        // Act
+        ParserParcelProcessorResult result = scanner.scan("name", "9 9  \\n999\r\\n9", '9');
+
+        // Assert
+        assertThat(result.hasErrors()).isFalse();
+        Parcel parcel = result.parcels().getFirst();
+        assertThat(parcel.width()).isEqualTo(3);
+        assertThat(parcel.height()).isEqualTo(3);
+        assertThat(parcel.getForm()).isEqualTo("9 9\n999\n9  ");
+    }
+
+    @Test
+    @DisplayName("Должен вернуть ошибки пустых строк и недопустимых символов в прежнем формате")
+    void scan_InvalidLines_ReturnsErrors() {
+        // Act
+        ParserParcelProcessorResult result = scanner.scan("name", "11\n  \n1a1", '1');
+
+        // Assert
+        assertThat(result.getErrorsAsString())
+                .isEqualTo("Ошибки валидации строк: [Строка 2 пустая, "
+                        + "Строка 3 содержит недопустимые символы [a] (ожидался '1')]");
+    }
+
+    @Test
+    @DisplayName("Должен вернуть ошибку для формы без строк")
+    void scan_EmptyForm_ReturnsError() {
+        // Act
+        ParserParcelProcessorResult result = scanner.scan("name", "", '1');
+
+        // Assert
+        assertThat(result.getErrorsAsString()).isEqualTo("Ошибки валидации строк: [Посылка не содержит строк]");
+    }
+
+    @Test
+    @DisplayName("Должен вернуть один экземпляр формы для текста, строк и маски из базы данных")
+    void scan_SameShapeFromDifferentSources_ReturnsSameInstance() {
+        // Arrange
+        ParserParcelBuilder builder = new ParserParcelBuilder();
+
+        // Act
+        ParcelShape scanned = scanner.scan("name", "7 7\n777", '7').parcels().getFirst().shape();
+        ParcelShape fromLines = builder.buildFromLines("name", List.of("A A", "AAA"), "7").shape();
+        ParcelShape fromMask = ParcelShape.fromMask(BitMaskUtil.packGrid(scanned.grid()), 3, 2, '7');
+
+        // Assert
+        assertThat(fromLines).isSameAs(scanned);
+        assertThat(fromMask).isSameAs(scanned);
+    }
+}
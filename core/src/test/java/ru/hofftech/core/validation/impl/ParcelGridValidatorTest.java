@@ -0,0 +1,62 @@
+package ru.hofftech.core.validation.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.hofftech.core.model.core.Parcel;
+import ru.hofftech.core.service.parcer.ParserParcelBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Валидатор формы посылки")
+class ParcelGridValidatorTest {
+    private final ParcelGridValidator validator = new ParcelGridValidator();
+    private final ParserParcelBuilder parcelBuilder = new ParserParcelBuilder();
+
+    @Test
+    @DisplayName("Должен принять связную посылку произвольной формы")
+    void validate_ConnectedShape_NoErrors() {
+        // Arrange
+        Parcel parcel = parcelBuilder.buildFromLines("name", List.of("8888", "8   ", "8888", "   8", "8888"));
+
+        // Act & Assert
+        assertThat(validator.validate(parcel)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Должен найти несвязную посылку и количество связанных клеток")
+    void validate_DisconnectedShape_ReturnsError() {
+        // Arrange
+        Parcel parcel = parcelBuilder.buildFromLines("name", List.of("11 1", "1  1"));
+
+        // Act
+        List<String> errors = validator.validate(parcel);
+
+        // Assert
+        assertThat(errors).singleElement().asString().contains("Найдено 5 клеток, но только 3 из них связаны");
+    }
+
+    @Test
+    @DisplayName("Должен проверить длинную извилистую посылку без переполнения стека")
+    void validate_LongSerpentine_NoStackOverflow() {
+        // Arrange: змейка 1001x1000, путь обхода проходит через ~500 тысяч клеток подряд
+        int width = 1000;
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 1001; i++) {
+            if (i % 2 == 0) {
+                lines.add("1".repeat(width));
+            } else if (i % 4 == 1) {
+                lines.add(" ".repeat(width - 1) + "1");
+            } else {
+                lines.add("1" + " ".repeat(width - 1));
+            }
+        }
+        Parcel parcel = parcelBuilder.buildFromLines("name", lines);
+
+        // Act & Assert
+        assertThat(validator.validate(parcel)).isEmpty();
+        assertThat(validator.validate(parcel)).isEmpty();
+    }
+}
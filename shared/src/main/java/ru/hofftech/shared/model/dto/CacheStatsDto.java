@@ -0,0 +1,17 @@
+package ru.hofftech.shared.model.dto;
+
+import lombok.Builder;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * DTO статистики кэша.
+ *
+ * @param size          текущее количество записей
+ * @param hitCount      количество попаданий
+ * @param missCount     количество промахов
+ * @param hitRate       доля попаданий (от 0 до 1)
+ * @param evictionCount количество вытесненных записей
+ */
+@Builder
+@NullMarked
+public record CacheStatsDto(long size, long hitCount, long missCount, double hitRate, long evictionCount) {}
@@ -0,0 +1,22 @@
+package ru.hofftech.shared.model.dto;
+
+import lombok.Builder;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * DTO для ответа с курсорной пагинацией.
+ * <p>
+ * В отличие от {@link PageDto} не содержит общего количества элементов:
+ * следующая страница запрашивается по токену из предыдущего ответа.
+ *
+ * @param content    содержимое текущей страницы
+ * @param pageSize   размер страницы
+ * @param hasNext    есть ли следующая страница
+ * @param nextCursor токен следующей страницы (null, если следующей страницы нет)
+ */
+@NullMarked
+@Builder
+public record CursorPageDto<T>(List<T> content, int pageSize, boolean hasNext, @Nullable String nextCursor) {}
@@ -8,11 +8,13 @@ import ru.hofftech.shared.model.enums.LoadStrategyParcelInvalidCauseType;
  * DTO проблемной посылки при загрузке.
  * <p>
  * Используется для передачи информации о посылках,
- * которые не удалось загрузить в машины.
+ * которые не удалось загрузить в машины. Одинаковые посылки
+ * с одной причиной передаются одной записью с количеством.
  *
  * @param parcel    DTO посылки
  * @param causeType тип причины проблемы
+ * @param quantity  количество одинаковых посылок с этой причиной (не меньше 1)
  */
 @Builder
 @NullMarked
-public record LoadParcelInvalidDto(ParcelDto parcel, LoadStrategyParcelInvalidCauseType causeType) {}
+public record LoadParcelInvalidDto(ParcelDto parcel, LoadStrategyParcelInvalidCauseType causeType, int quantity) {}
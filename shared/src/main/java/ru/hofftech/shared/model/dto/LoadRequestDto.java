@@ -3,9 +3,11 @@ package ru.hofftech.shared.model.dto;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.Builder;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import ru.hofftech.shared.model.enums.LoadStrategyType;
 
 import java.util.List;
@@ -19,6 +21,7 @@ import java.util.List;
  * @param machines     список форм машин
  * @param userId       идентификатор пользователя (для биллинга)
  * @param loadStrategy стратегия загрузки
+ * @param timeBudgetMs бюджет времени на оптимизацию в миллисекундах (null - значение по умолчанию сервиса)
  */
 @NullMarked
 @Builder
@@ -26,4 +29,5 @@ public record LoadRequestDto(
         @Valid @Size(min = 1, message = "Должна быть указана хотя бы одна посылка") List<ParcelNameRequestDto> parcels,
         @Valid @Size(min = 1, message = "Должна быть указана хотя бы одна машина") List<MachineFormRequestDto> machines,
         @NotBlank(message = "Пользователь должен быть указан") String userId,
-        @NotNull(message = "Стратегия должна быть указана") LoadStrategyType loadStrategy) {}
+        @NotNull(message = "Стратегия должна быть указана") LoadStrategyType loadStrategy,
+        @Nullable @PositiveOrZero(message = "Бюджет времени не может быть отрицательным") Long timeBudgetMs) {}
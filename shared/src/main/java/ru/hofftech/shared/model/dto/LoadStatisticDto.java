@@ -18,6 +18,8 @@ import java.util.List;
  * @param totalUsedMachines          количество использованных машин
  * @param priceSegment               цена за один сегмент
  * @param totalAmount                общая стоимость загрузки
+ * @param iterations                 количество итераций оптимизации (null - стратегия без оптимизации)
+ * @param winnerStrategy             стратегия, результат которой выбран (null - запрошена конкретная стратегия)
  */
 @Builder
 @NullMarked
@@ -29,4 +31,6 @@ public record LoadStatisticDto(
         Integer totalSegments,
         Integer totalUsedMachines,
         BigDecimal priceSegment,
-        BigDecimal totalAmount) {}
+        BigDecimal totalAmount,
+        @Nullable Integer iterations,
+        @Nullable String winnerStrategy) {}
@@ -0,0 +1,33 @@
+package ru.hofftech.shared.model.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Builder;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import ru.hofftech.shared.model.enums.ParcelImportConflictPolicy;
+
+import java.util.List;
+
+/**
+ * DTO запроса на массовый импорт посылок.
+ * <p>
+ * Записи валидируются на сервере по отдельности: ошибка в одной записи не отменяет импорт остальных.
+ *
+ * @param parcels        посылки для импорта
+ * @param conflictPolicy политика для уже существующих посылок (по умолчанию {@link ParcelImportConflictPolicy#SKIP})
+ */
+@NullMarked
+@Builder
+public record ParcelImportRequestDto(
+        @NotEmpty(message = "Список посылок для импорта не может быть пустым") List<ParcelFormRequestDto> parcels,
+        @Nullable ParcelImportConflictPolicy conflictPolicy) {
+
+    /**
+     * Подставляет политику по умолчанию, если она не указана.
+     */
+    public ParcelImportRequestDto {
+        if (conflictPolicy == null) {
+            conflictPolicy = ParcelImportConflictPolicy.SKIP;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package ru.hofftech.shared.model.dto;
+
+import lombok.Builder;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.List;
+
+/**
+ * DTO ответа на массовый импорт посылок.
+ *
+ * @param created количество созданных посылок
+ * @param updated количество обновлённых посылок
+ * @param skipped количество пропущенных посылок
+ * @param failed  количество записей с ошибками
+ * @param rows    результаты по каждой записи в порядке запроса
+ */
+@NullMarked
+@Builder
+public record ParcelImportResponseDto(
+        int created, int updated, int skipped, int failed, List<ParcelImportRowDto> rows) {}
@@ -0,0 +1,19 @@
+package ru.hofftech.shared.model.dto;
+
+import lombok.Builder;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import ru.hofftech.shared.model.enums.ParcelImportRowStatus;
+
+/**
+ * DTO результата импорта одной записи посылки.
+ *
+ * @param row     номер записи в запросе (начиная с 1)
+ * @param name    название посылки
+ * @param status  результат импорта
+ * @param message описание ошибки (null, если ошибки нет)
+ */
+@NullMarked
+@Builder
+public record ParcelImportRowDto(
+        int row, @Nullable String name, ParcelImportRowStatus status, @Nullable String message) {}
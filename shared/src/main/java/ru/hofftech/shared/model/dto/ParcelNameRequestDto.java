@@ -1,14 +1,45 @@
 package ru.hofftech.shared.model.dto;
 
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import lombok.Builder;
 import org.jspecify.annotations.NullMarked;
 
 /**
  * DTO для передачи названия посылки.
  *
- * @param name название посылки
+ * @param name     название посылки
+ * @param quantity количество одинаковых посылок (если не указано - 1, не больше {@value #MAX_QUANTITY})
  */
 @NullMarked
 @Builder
-public record ParcelNameRequestDto(@NotBlank(message = "Название посылки не может быть пустым") String name) {}
+public record ParcelNameRequestDto(
+        @NotBlank(message = "Название посылки не может быть пустым") String name,
+        @Positive(message = "Количество посылок должно быть положительным")
+                @Max(value = MAX_QUANTITY, message = "Количество посылок не может быть больше " + MAX_QUANTITY)
+                Integer quantity) {
+
+    /**
+     * Максимальное количество одинаковых посылок в одной позиции запроса.
+     */
+    public static final int MAX_QUANTITY = 100_000;
+
+    /**
+     * Подставляет количество по умолчанию, если оно не указано.
+     */
+    public ParcelNameRequestDto {
+        if (quantity == null) {
+            quantity = 1;
+        }
+    }
+
+    /**
+     * Создаёт DTO для одной посылки.
+     *
+     * @param name название посылки
+     */
+    public ParcelNameRequestDto(String name) {
+        this(name, 1);
+    }
+}
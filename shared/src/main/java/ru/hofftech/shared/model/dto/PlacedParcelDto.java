@@ -2,16 +2,19 @@ package ru.hofftech.shared.model.dto;
 
 import lombok.Builder;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import ru.hofftech.shared.model.enums.ParcelOrientationType;
 
 /**
  * DTO для передачи данных о размещённой в машине посылке.
  * <p>
  * Содержит информацию о посылке и её координатах внутри машины.
  *
- * @param parcel DTO посылки
- * @param x      координата X левого нижнего угла посылки в машине
- * @param y      координата Y левого нижнего угла посылки в машине
+ * @param parcel      DTO посылки
+ * @param x           координата X левого нижнего угла посылки в машине
+ * @param y           координата Y левого нижнего угла посылки в машине
+ * @param orientation ориентация, в которой посылка размещена (null - исходная)
  */
 @NullMarked
 @Builder
-public record PlacedParcelDto(ParcelDto parcel, int x, int y) {}
+public record PlacedParcelDto(ParcelDto parcel, int x, int y, @Nullable ParcelOrientationType orientation) {}
@@ -19,7 +19,11 @@ import java.util.stream.Collectors;
 public enum LoadStrategyType {
     ONE_PARCEL_PER_MACHINE(1, "Одна посылка на машину"),
     DENSE_PACKING(2, "Плотная укладка"),
-    BALANCED_PACKING(3, "Равномерная погрузка");
+    BALANCED_PACKING(3, "Равномерная погрузка"),
+    ROTATION_PACKING(4, "Плотная укладка с поворотами"),
+    MAX_RECTS_PACKING(5, "Укладка по свободным прямоугольникам"),
+    LOCAL_SEARCH_PACKING(6, "Оптимизация локальным поиском"),
+    PORTFOLIO_PACKING(7, "Лучший результат среди всех стратегий");
 
     private final int id;
 
@@ -28,7 +32,8 @@ public enum LoadStrategyType {
     /**
      * Находит стратегию по имени enum.
      *
-     * @param name имя стратегии (ONE_PARCEL_PER_MACHINE, DENSE_PACKING, BALANCED_PACKING)
+     * @param name имя стратегии (ONE_PARCEL_PER_MACHINE, DENSE_PACKING, BALANCED_PACKING, ROTATION_PACKING,
+     *             MAX_RECTS_PACKING, LOCAL_SEARCH_PACKING, PORTFOLIO_PACKING)
      * @return найденная стратегия или null, если стратегия не найдена
      */
     @Nullable
@@ -0,0 +1,19 @@
+package ru.hofftech.shared.model.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Политика обработки посылок, уже существующих в каталоге, при массовом импорте.
+ */
+@Getter
+@RequiredArgsConstructor
+@NullMarked
+public enum ParcelImportConflictPolicy {
+    SKIP("Пропустить существующие посылки"),
+    UPDATE("Обновить существующие посылки"),
+    FAIL("Отменить импорт при наличии существующих посылок");
+
+    private final String description;
+}
@@ -0,0 +1,20 @@
+package ru.hofftech.shared.model.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Результат импорта одной записи посылки.
+ */
+@Getter
+@RequiredArgsConstructor
+@NullMarked
+public enum ParcelImportRowStatus {
+    CREATED("Создана"),
+    UPDATED("Обновлена"),
+    SKIPPED("Пропущена"),
+    FAILED("Ошибка");
+
+    private final String description;
+}
@@ -0,0 +1,27 @@
+package ru.hofftech.shared.model.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Ориентации посылки при размещении в машине.
+ * <p>
+ * Поворот указывается по часовой стрелке; зеркальные ориентации
+ * получаются отражением исходной формы слева направо с последующим поворотом.
+ */
+@Getter
+@RequiredArgsConstructor
+@NullMarked
+public enum ParcelOrientationType {
+    ORIGINAL("Исходная ориентация"),
+    ROTATE_90("Поворот на 90°"),
+    ROTATE_180("Поворот на 180°"),
+    ROTATE_270("Поворот на 270°"),
+    MIRROR("Зеркальное отражение"),
+    MIRROR_ROTATE_90("Зеркальное отражение и поворот на 90°"),
+    MIRROR_ROTATE_180("Зеркальное отражение и поворот на 180°"),
+    MIRROR_ROTATE_270("Зеркальное отражение и поворот на 270°");
+
+    private final String description;
+}
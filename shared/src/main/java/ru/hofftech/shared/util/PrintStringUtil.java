@@ -13,10 +13,10 @@ import ru.hofftech.shared.model.dto.PlacedParcelDto;
 import ru.hofftech.shared.model.dto.UnloadResponseDto;
 import ru.hofftech.shared.model.dto.UnloadStatisticDto;
 import ru.hofftech.shared.model.enums.LoadStrategyParcelInvalidCauseType;
+import ru.hofftech.shared.model.enums.ParcelOrientationType;
 
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -54,6 +54,13 @@ public class PrintStringUtil {
                             calcParcelPlacedMaxX(parcel, placed),
                             calcParcelPlacedMaxY(parcel, placed)))
                     .append("\n");
+
+            // Ориентация, если посылка размещена не в исходном виде
+            ParcelOrientationType orientation = placed.orientation();
+            if (orientation != null && orientation != ParcelOrientationType.ORIGINAL) {
+                sb.append(String.format("Ориентация: %s", orientation.getDescription()))
+                        .append("\n");
+            }
         }
 
         // Рендер посылки
@@ -232,6 +239,9 @@ public class PrintStringUtil {
                     parcels.forEach(invalid -> {
                         ParcelDto parcel = invalid.parcel();
                         sb.append(invalid.causeType().getDescription()).append("\n");
+                        if (invalid.quantity() > 1) {
+                            sb.append(String.format("Количество: %d%n", invalid.quantity()));
+                        }
                         sb.append(PrintStringUtil.parcelRender(parcel));
                         sb.append("\n");
                     });
@@ -253,21 +263,10 @@ public class PrintStringUtil {
 
         sb.append("\nСТАТИСТИКА:\n");
 
-        Long invalidCount = Optional.ofNullable(importParcelInvalids)
-                .map(invalids -> invalids.stream()
-                        .filter(p -> p.causeType() == LoadStrategyParcelInvalidCauseType.PARCEL_INVALID)
-                        .count())
-                .orElse(0L);
-        Long oversizedCount = Optional.ofNullable(importParcelInvalids)
-                .map(invalids -> invalids.stream()
-                        .filter(p -> p.causeType() == LoadStrategyParcelInvalidCauseType.PARCEL_OVERSIZED)
-                        .count())
-                .orElse(0L);
-        Long noMachineCount = Optional.ofNullable(importParcelInvalids)
-                .map(invalids -> invalids.stream()
-                        .filter(p -> p.causeType() == LoadStrategyParcelInvalidCauseType.NO_MACHINE_SPACE)
-                        .count())
-                .orElse(0L);
+        // Одинаковые посылки объединены в одну запись, поэтому считаем по количеству
+        int invalidCount = countParcels(importParcelInvalids, LoadStrategyParcelInvalidCauseType.PARCEL_INVALID);
+        int oversizedCount = countParcels(importParcelInvalids, LoadStrategyParcelInvalidCauseType.PARCEL_OVERSIZED);
+        int noMachineCount = countParcels(importParcelInvalids, LoadStrategyParcelInvalidCauseType.NO_MACHINE_SPACE);
 
         sb.append(String.format("Всего обработано посылок: %d. Из них: %n", statistic.totalInputParcels()));
         sb.append(String.format("Не прошли валидацию: %d%n", invalidCount));
@@ -275,6 +274,12 @@ public class PrintStringUtil {
         sb.append(String.format("Не хватило машин: %d%n", noMachineCount));
         sb.append(String.format("Успешно упаковано: %d%n", statistic.totalSuccessLoadParcels()));
         sb.append(String.format("Использовано машин: %d%n", statistic.totalUsedMachines()));
+        if (statistic.iterations() != null) {
+            sb.append(String.format("Итераций оптимизации: %d%n", statistic.iterations()));
+        }
+        if (statistic.winnerStrategy() != null) {
+            sb.append(String.format("Выбранная стратегия: %s%n", statistic.winnerStrategy()));
+        }
 
         sb.append("\nБИЛЛИНГ:\n");
         sb.append(String.format("Загружено сегментов: %d%n", statistic.totalSegments()));
@@ -284,6 +289,24 @@ public class PrintStringUtil {
         return sb.toString();
     }
 
+    /**
+     * Считает проблемные посылки с указанной причиной с учётом количества в каждой записи.
+     *
+     * @param invalidParcels проблемные посылки (может быть null)
+     * @param causeType      причина проблемы
+     * @return количество посылок
+     */
+    private int countParcels(
+            @Nullable List<LoadParcelInvalidDto> invalidParcels, LoadStrategyParcelInvalidCauseType causeType) {
+        if (invalidParcels == null) {
+            return 0;
+        }
+        return invalidParcels.stream()
+                .filter(invalid -> invalid.causeType() == causeType)
+                .mapToInt(LoadParcelInvalidDto::quantity)
+                .sum();
+    }
+
     /**
      * Форматирует список названий посылок в текстовый формат.
      *
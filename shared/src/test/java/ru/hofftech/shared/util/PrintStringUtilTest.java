@@ -0,0 +1,69 @@
+package ru.hofftech.shared.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.hofftech.shared.model.dto.LoadParcelInvalidDto;
+import ru.hofftech.shared.model.dto.LoadStatisticDto;
+import ru.hofftech.shared.model.dto.ParcelDto;
+import ru.hofftech.shared.model.enums.LoadStrategyParcelInvalidCauseType;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Утилита форматирования результатов")
+class PrintStringUtilTest {
+
+    @Test
+    @DisplayName("Должен считать проблемные посылки по количеству в объединённых записях")
+    void renderLoadStatistic_GroupedInvalids_SumsQuantity() {
+        // Arrange
+        ParcelDto box = ParcelDto.builder()
+                .name("box")
+                .coordinates(List.of())
+                .form("1")
+                .symbol('1')
+                .height(1)
+                .width(1)
+                .build();
+
+        LoadStatisticDto statistic = LoadStatisticDto.builder()
+                .invalidParcels(List.of(
+                        invalid(box, LoadStrategyParcelInvalidCauseType.NO_MACHINE_SPACE, 4600),
+                        invalid(box, LoadStrategyParcelInvalidCauseType.PARCEL_OVERSIZED, 2),
+                        invalid(box, LoadStrategyParcelInvalidCauseType.NO_MACHINE_SPACE, 1)))
+                .totalInputParcels(4700)
+                .totalSuccessLoadParcels(97)
+                .totalSegments(97)
+                .totalUsedMachines(1)
+                .priceSegment(BigDecimal.ONE)
+                .totalAmount(BigDecimal.valueOf(97))
+                .build();
+
+        // Act
+        String rendered = PrintStringUtil.renderLoadStatistic(statistic);
+
+        // Assert
+        assertThat(rendered)
+                .contains("Не прошли валидацию: 0")
+                .contains("Не поместились в машину: 2")
+                .contains("Не хватило машин: 4601");
+    }
+
+    /**
+     * Создаёт запись проблемной посылки.
+     *
+     * @param parcel    посылка
+     * @param causeType причина проблемы
+     * @param quantity  количество одинаковых посылок
+     * @return запись проблемной посылки
+     */
+    private LoadParcelInvalidDto invalid(ParcelDto parcel, LoadStrategyParcelInvalidCauseType causeType, int quantity) {
+        return LoadParcelInvalidDto.builder()
+                .parcel(parcel)
+                .causeType(causeType)
+                .quantity(quantity)
+                .build();
+    }
+}